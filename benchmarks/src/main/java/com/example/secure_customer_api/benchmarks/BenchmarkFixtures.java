@@ -0,0 +1,57 @@
+package com.example.secure_customer_api.benchmarks;
+
+import com.example.secure_customer_api.entity.Customer;
+import com.example.secure_customer_api.security.JwtTokenProvider;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+// Builds the beans under test without a Spring context
+final class BenchmarkFixtures {
+
+    static final String JWT_SECRET = "mySecretKeyForJWTTokenGenerationAndValidationMustBeLongEnough256Bits";
+
+    private BenchmarkFixtures() {
+    }
+
+    static JwtTokenProvider jwtTokenProvider() {
+        JwtTokenProvider provider = new JwtTokenProvider();
+        ReflectionTestUtils.setField(provider, "jwtSecret", JWT_SECRET);
+        ReflectionTestUtils.setField(provider, "jwtExpiration", 86_400_000L);
+        return provider;
+    }
+
+    static UserDetails userDetails(String username) {
+        return new User(username, "{noop}unused", List.of(new SimpleGrantedAuthority("ROLE_USER")));
+    }
+
+    static Authentication authentication(String username) {
+        UserDetails user = userDetails(username);
+        return new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities());
+    }
+
+    static List<Customer> customers(int count) {
+        List<Customer> customers = new ArrayList<>(count);
+        LocalDateTime createdAt = LocalDateTime.of(2025, 1, 1, 12, 0);
+        for (int i = 0; i < count; i++) {
+            Customer customer = new Customer(
+                    String.format("C%05d", i),
+                    "Customer Number " + i,
+                    "customer" + i + "@example.com",
+                    "+8490000" + String.format("%04d", i),
+                    i + " Nguyen Van Linh Street, District 7, Ho Chi Minh City");
+            customer.setId((long) i + 1);
+            customer.setCreatedAt(createdAt.plusMinutes(i));
+            customer.setUpdatedAt(createdAt.plusMinutes(i));
+            customers.add(customer);
+        }
+        return customers;
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.secure_customer_api.benchmarks;
+
+import com.example.secure_customer_api.dto.CustomerPageDTO;
+import com.example.secure_customer_api.dto.CustomerResponseDTO;
+import com.example.secure_customer_api.dto.UserResponseDTO;
+import com.example.secure_customer_api.entity.Customer;
+import com.fasterxml.jackson.core.util.JsonRecyclerPools;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serializes customer pages and user lists the way the controllers return them.
+ * {@code mapper=reflection} is Boot's default ObjectMapper; {@code mapper=tuned}
+ * adds what JacksonConfig installs (Blackbird, shared buffer pool). The map*
+ * benchmarks use the old HashMap envelope, the typed* ones CustomerPageDTO.
+ * Output goes to a discarding stream, as it would go straight to the servlet
+ * response, so the numbers exclude building a byte[].
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CustomerJsonBenchmark {
+
+    @Param({"10", "100", "1000"})
+    private int pageSize;
+
+    @Param({"reflection", "tuned"})
+    private String mapper;
+
+    private ObjectMapper objectMapper;
+    private Map<String, Object> mapPage;
+    private CustomerPageDTO<CustomerResponseDTO> typedPage;
+    private List<UserResponseDTO> users;
+
+    @Setup
+    public void setUp() {
+        // Mirrors Boot's default ObjectMapper configuration for java.time
+        objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        if (mapper.equals("tuned")) {
+            objectMapper.getFactory().setRecyclerPool(JsonRecyclerPools.sharedConcurrentDequePool());
+            objectMapper.registerModule(new BlackbirdModule());
+        }
+
+        List<CustomerResponseDTO> customers = BenchmarkFixtures.customers(pageSize).stream()
+                .map(CustomerJsonBenchmark::toDto)
+                .toList();
+
+        mapPage = new HashMap<>();
+        mapPage.put("customers", customers);
+        mapPage.put("currentPage", 0);
+        mapPage.put("totalItems", pageSize * 10L);
+        mapPage.put("totalPages", 10);
+
+        typedPage = new CustomerPageDTO<>(customers, 0, pageSize * 10L, 10);
+
+        users = new ArrayList<>(pageSize);
+        LocalDateTime createdAt = LocalDateTime.of(2024, 1, 1, 12, 0);
+        for (int i = 0; i < pageSize; i++) {
+            users.add(new UserResponseDTO((long) i, "user" + i, "user" + i + "@example.com",
+                    "User " + i, "USER", true, createdAt.plusMinutes(i)));
+        }
+    }
+
+    @Benchmark
+    public void mapPage() throws Exception {
+        objectMapper.writeValue(OutputStream.nullOutputStream(), mapPage);
+    }
+
+    @Benchmark
+    public void typedPage() throws Exception {
+        objectMapper.writeValue(OutputStream.nullOutputStream(), typedPage);
+    }
+
+    @Benchmark
+    public void userList() throws Exception {
+        objectMapper.writeValue(OutputStream.nullOutputStream(), users);
+    }
+
+    private static CustomerResponseDTO toDto(Customer customer) {
+        return new CustomerResponseDTO(customer.getId(), customer.getCustomerCode(), customer.getFullName(),
+                customer.getEmail(), customer.getPhone(), customer.getAddress(),
+                customer.getStatus().name(), customer.getCreatedAt());
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.secure_customer_api.benchmarks;
+
+import com.example.secure_customer_api.dto.CustomerResponseDTO;
+import com.example.secure_customer_api.entity.Customer;
+import com.example.secure_customer_api.repository.CustomerRepository;
+import com.example.secure_customer_api.repository.JpaCustomerStore;
+import com.example.secure_customer_api.service.CustomerServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures CustomerServiceImpl.convertToResponseDTO through getAllCustomers,
+ * with a repository stub that returns a prebuilt page.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CustomerMappingBenchmark {
+
+    @Param({"10", "100", "1000"})
+    private int pageSize;
+
+    private CustomerServiceImpl customerService;
+    private Pageable pageable;
+
+    @Setup
+    public void setUp() {
+        List<Customer> customers = BenchmarkFixtures.customers(pageSize);
+        pageable = PageRequest.of(0, pageSize);
+        Page<Customer> page = new PageImpl<>(customers, pageable, pageSize * 10L);
+
+        CustomerRepository repository = (CustomerRepository) Proxy.newProxyInstance(
+                CustomerRepository.class.getClassLoader(),
+                new Class<?>[] { CustomerRepository.class },
+                (proxy, method, args) -> {
+                    if (method.getName().equals("findAll") && args != null && args.length == 1
+                            && args[0] instanceof Pageable) {
+                        return page;
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+
+        // Collaborators other than the repository are not used by getAllCustomers
+        customerService = new CustomerServiceImpl(new JpaCustomerStore(repository), null, null, null, null,
+                new SimpleMeterRegistry());
+    }
+
+    @Benchmark
+    public Page<CustomerResponseDTO> convertPage() {
+        return customerService.getAllCustomers(pageable);
+    }
+}
@@ -0,0 +1,116 @@
+package com.example.secure_customer_api.benchmarks;
+
+import com.example.secure_customer_api.dto.ErrorResponseDTO;
+import com.example.secure_customer_api.exception.GlobalExceptionHandler;
+import com.example.secure_customer_api.exception.ResourceNotFoundException;
+import com.example.secure_customer_api.security.JwtAuthenticationEntryPoint;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.InsufficientAuthenticationException;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the 404 and 401 paths, current implementation vs. the previous one
+ * (reproduced here as legacy*). Run with {@code -prof gc} and compare
+ * gc.alloc.rate.norm (bytes per operation) as well as time.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ErrorResponseBenchmark {
+
+    // Roughly the depth of a controller call below the servlet and security filter chains
+    private static final int CALL_DEPTH = 120;
+
+    private final GlobalExceptionHandler handler = new GlobalExceptionHandler();
+    private final JwtAuthenticationEntryPoint entryPoint = new JwtAuthenticationEntryPoint();
+    private final InsufficientAuthenticationException authException =
+            new InsufficientAuthenticationException("Full authentication is required");
+
+    private MockHttpServletRequest request;
+
+    @Setup
+    public void setUp() {
+        request = new MockHttpServletRequest("GET", "/api/customers/424242");
+    }
+
+    @Benchmark
+    public RuntimeException notFoundException() {
+        return throwAt(CALL_DEPTH, false);
+    }
+
+    @Benchmark
+    public RuntimeException legacyNotFoundException() {
+        return throwAt(CALL_DEPTH, true);
+    }
+
+    @Benchmark
+    public ResponseEntity<ErrorResponseDTO> notFoundResponse() {
+        return handler.handleResourceNotFoundException(
+                new ResourceNotFoundException("Customer not found with id: 424242"), request);
+    }
+
+    @Benchmark
+    public ResponseEntity<ErrorResponseDTO> legacyNotFoundResponse() {
+        ErrorResponseDTO error = new ErrorResponseDTO(
+                HttpStatus.NOT_FOUND.value(),
+                "Not Found",
+                new LegacyResourceNotFoundException("Customer not found with id: 424242").getMessage(),
+                new ServletWebRequest(request).getDescription(false).replace("uri=", ""));
+        return new ResponseEntity<>(error, HttpStatus.NOT_FOUND);
+    }
+
+    @Benchmark
+    public MockHttpServletResponse unauthorized() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        entryPoint.commence(request, response, authException);
+        return response;
+    }
+
+    @Benchmark
+    public MockHttpServletResponse legacyUnauthorized() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        response.setContentType("application/json;charset=UTF-8");
+        response.setStatus(401);
+
+        Map<String, Object> data = new HashMap<>();
+        data.put("timestamp", LocalDateTime.now().toString());
+        data.put("status", 401);
+        data.put("error", "Unauthorized");
+        data.put("message", "Authentication required. Please provide valid JWT token.");
+        data.put("path", request.getRequestURI());
+
+        ObjectMapper objectMapper = new ObjectMapper();
+        response.getWriter().write(objectMapper.writeValueAsString(data));
+        return response;
+    }
+
+    // Builds the exception below a realistic number of frames; stack capture cost scales with depth
+    private static RuntimeException throwAt(int depth, boolean legacy) {
+        if (depth > 0) {
+            return throwAt(depth - 1, legacy);
+        }
+        return legacy
+                ? new LegacyResourceNotFoundException("Customer not found with id: 424242")
+                : new ResourceNotFoundException("Customer not found with id: 424242");
+    }
+
+    // The exception as it was before stack capture was disabled
+    private static class LegacyResourceNotFoundException extends RuntimeException {
+        LegacyResourceNotFoundException(String message) {
+            super(message);
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.secure_customer_api.benchmarks;
+
+import com.example.secure_customer_api.dto.CustomerPageDTO;
+import com.example.secure_customer_api.dto.CustomerResponseDTO;
+import com.example.secure_customer_api.entity.Customer;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Encode (server side) and decode (client side) cost of a customer page in each
+ * negotiable format, with and without gzip. Payload sizes are printed during setup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ResponseFormatBenchmark {
+
+    @Param({"10", "1000"})
+    private int pageSize;
+
+    @Param({"json", "cbor", "smile"})
+    private String format;
+
+    @Param({"false", "true"})
+    private boolean gzip;
+
+    private ObjectMapper objectMapper;
+    private CustomerPageDTO<CustomerResponseDTO> page;
+    private byte[] payload;
+    private JavaType pageType;
+
+    @Setup
+    public void setUp() throws IOException {
+        JsonFactory factory = switch (format) {
+            case "cbor" -> new CBORFactory();
+            case "smile" -> new SmileFactory();
+            default -> new JsonFactory();
+        };
+        objectMapper = new ObjectMapper(factory)
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        pageType = objectMapper.getTypeFactory()
+                .constructParametricType(CustomerPageDTO.class, CustomerResponseDTO.class);
+
+        List<CustomerResponseDTO> customers = BenchmarkFixtures.customers(pageSize).stream()
+                .map(ResponseFormatBenchmark::toDto)
+                .toList();
+        page = new CustomerPageDTO<>(customers, 0, pageSize * 10L, 10);
+
+        payload = encode();
+        System.out.printf("%n[payload] format=%s gzip=%s pageSize=%d bytes=%d%n", format, gzip, pageSize, payload.length);
+    }
+
+    @Benchmark
+    public byte[] encode() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(8192);
+        try (OutputStream out = gzip ? new GZIPOutputStream(bytes) : bytes) {
+            objectMapper.writeValue(out, page);
+        }
+        return bytes.toByteArray();
+    }
+
+    @Benchmark
+    public CustomerPageDTO<CustomerResponseDTO> decode() throws IOException {
+        try (InputStream in = gzip ? new GZIPInputStream(new ByteArrayInputStream(payload))
+                : new ByteArrayInputStream(payload)) {
+            return objectMapper.readValue(in, pageType);
+        }
+    }
+
+    private static CustomerResponseDTO toDto(Customer customer) {
+        return new CustomerResponseDTO(customer.getId(), customer.getCustomerCode(), customer.getFullName(),
+                customer.getEmail(), customer.getPhone(), customer.getAddress(),
+                customer.getStatus().name(), customer.getCreatedAt());
+    }
+}
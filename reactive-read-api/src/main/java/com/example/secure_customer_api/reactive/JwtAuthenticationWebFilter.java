@@ -0,0 +1,68 @@
+package com.example.secure_customer_api.reactive;
+
+import com.example.secure_customer_api.security.JwtTokenProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
+/**
+ * Rejects requests without a valid JWT, using the same {@link JwtTokenProvider}
+ * as the servlet API. Like the servlet filter, the token's user is then looked
+ * up (without blocking) so deleted or deactivated accounts lose access before
+ * their token expires.
+ */
+@Component
+public class JwtAuthenticationWebFilter implements WebFilter {
+
+    @Autowired
+    private JwtTokenProvider tokenProvider;
+
+    @Autowired
+    private ReactiveUserRepository userRepository;
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        String jwt = getJwtFromRequest(exchange);
+        if (!StringUtils.hasText(jwt) || !tokenProvider.validateToken(jwt)) {
+            return unauthorized(exchange);
+        }
+        return userRepository.findByUsername(tokenProvider.getUsernameFromToken(jwt))
+                .filter(user -> Boolean.TRUE.equals(user.getIsActive()))
+                .hasElement()
+                .flatMap(active -> active ? chain.filter(exchange) : unauthorized(exchange));
+    }
+
+    private String getJwtFromRequest(ServerWebExchange exchange) {
+        String bearerToken = exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+
+        if (StringUtils.hasText(bearerToken) && bearerToken.startsWith("Bearer ")) {
+            return bearerToken.substring(7);
+        }
+
+        return null;
+    }
+
+    private Mono<Void> unauthorized(ServerWebExchange exchange) {
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(HttpStatus.UNAUTHORIZED);
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        String body = "{\"timestamp\":\"" + LocalDateTime.now() + "\",\"status\":401,"
+                + "\"error\":\"Unauthorized\","
+                + "\"message\":\"Authentication required. Please provide valid JWT token.\","
+                + "\"path\":\"" + exchange.getRequest().getPath().value().replace("\"", "") + "\"}";
+        DataBuffer buffer = response.bufferFactory().wrap(body.getBytes(StandardCharsets.UTF_8));
+        return response.writeWith(Mono.just(buffer));
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.secure_customer_api.reactive;
+
+import com.example.secure_customer_api.dto.CustomerPageDTO;
+import com.example.secure_customer_api.dto.CustomerResponseDTO;
+import com.example.secure_customer_api.entity.CustomerStatus;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Set;
+
+@RestController
+@RequestMapping("/api/customers")
+@CrossOrigin(origins = "*")
+public class ReactiveCustomerController {
+
+    private static final Set<String> SORTABLE_FIELDS =
+            Set.of("id", "customerCode", "fullName", "email", "status", "createdAt");
+
+    @Autowired
+    private ReactiveCustomerService customerService;
+
+    // GET - Same envelope as the servlet API
+    @GetMapping
+    public Mono<CustomerPageDTO<CustomerResponseDTO>> getAllCustomers(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "id") String sortBy,
+            @RequestParam(defaultValue = "asc") String sortDir) {
+
+        Sort.Direction direction = sortDir.equalsIgnoreCase("asc") ? Sort.Direction.ASC : Sort.Direction.DESC;
+        String sortField = SORTABLE_FIELDS.contains(sortBy) ? sortBy : "id";
+        Pageable pageable = PageRequest.of(page, size, Sort.by(direction, sortField));
+
+        return customerService.getAllCustomers(pageable).map(customerPage ->
+                new CustomerPageDTO<>(customerPage.getContent(), customerPage.getNumber(),
+                        customerPage.getTotalElements(), customerPage.getTotalPages()));
+    }
+
+    // GET by ID
+    @GetMapping("/{id}")
+    public Mono<CustomerResponseDTO> getCustomerById(@PathVariable Long id) {
+        return customerService.getCustomerById(id);
+    }
+
+    // SEARCH - streamed as a JSON array, or one object per line with Accept: application/x-ndjson
+    @GetMapping(value = "/search", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Flux<CustomerResponseDTO> searchCustomers(@RequestParam String keyword) {
+        return customerService.searchCustomers(keyword);
+    }
+
+    // GET by Status - streamed like search
+    @GetMapping(value = "/status/{status}", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Flux<CustomerResponseDTO> getCustomersByStatus(@PathVariable CustomerStatus status) {
+        return customerService.getCustomersByStatus(status.name());
+    }
+}
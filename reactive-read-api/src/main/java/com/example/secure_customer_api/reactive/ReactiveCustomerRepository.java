@@ -0,0 +1,22 @@
+package com.example.secure_customer_api.reactive;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+
+@Repository
+public interface ReactiveCustomerRepository extends R2dbcRepository<CustomerRow, Long> {
+    
+    Flux<CustomerRow> findAllBy(Pageable pageable);
+    
+    Flux<CustomerRow> findByStatus(String status);
+    
+    @Query("SELECT * FROM customers WHERE " +
+           "LOWER(full_name) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
+           "LOWER(email) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
+           "LOWER(customer_code) LIKE LOWER(CONCAT('%', :keyword, '%'))")
+    Flux<CustomerRow> searchCustomers(@Param("keyword") String keyword);
+}
@@ -0,0 +1,57 @@
+package com.example.secure_customer_api.reactive;
+
+import com.example.secure_customer_api.dto.CustomerResponseDTO;
+import com.example.secure_customer_api.exception.ResourceNotFoundException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Service
+public class ReactiveCustomerService {
+    
+    private final ReactiveCustomerRepository customerRepository;
+    
+    @Autowired
+    public ReactiveCustomerService(ReactiveCustomerRepository customerRepository) {
+        this.customerRepository = customerRepository;
+    }
+    
+    public Mono<Page<CustomerResponseDTO>> getAllCustomers(Pageable pageable) {
+        return customerRepository.findAllBy(pageable)
+                .map(this::convertToResponseDTO)
+                .collectList()
+                .zipWith(customerRepository.count())
+                .map(result -> new PageImpl<>(result.getT1(), pageable, result.getT2()));
+    }
+    
+    public Mono<CustomerResponseDTO> getCustomerById(Long id) {
+        return customerRepository.findById(id)
+                .map(this::convertToResponseDTO)
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("Customer not found with id: " + id)));
+    }
+    
+    // Rows are pulled from the driver only as fast as the client consumes them
+    public Flux<CustomerResponseDTO> searchCustomers(String keyword) {
+        return customerRepository.searchCustomers(keyword).map(this::convertToResponseDTO);
+    }
+    
+    public Flux<CustomerResponseDTO> getCustomersByStatus(String status) {
+        return customerRepository.findByStatus(status).map(this::convertToResponseDTO);
+    }
+    
+    private CustomerResponseDTO convertToResponseDTO(CustomerRow row) {
+        return new CustomerResponseDTO(
+                row.getId(),
+                row.getCustomerCode(),
+                row.getFullName(),
+                row.getEmail(),
+                row.getPhone(),
+                row.getAddress(),
+                row.getStatus(),
+                row.getCreatedAt());
+    }
+}
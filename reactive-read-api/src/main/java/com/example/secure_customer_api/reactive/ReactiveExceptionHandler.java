@@ -0,0 +1,29 @@
+package com.example.secure_customer_api.reactive;
+
+import com.example.secure_customer_api.dto.ErrorResponseDTO;
+import com.example.secure_customer_api.exception.ResourceNotFoundException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.server.ServerWebExchange;
+
+@RestControllerAdvice
+public class ReactiveExceptionHandler {
+    
+    // Handle ResourceNotFoundException (404) with the servlet API's error body
+    @ExceptionHandler(ResourceNotFoundException.class)
+    public ResponseEntity<ErrorResponseDTO> handleResourceNotFoundException(
+            ResourceNotFoundException ex,
+            ServerWebExchange exchange) {
+        
+        ErrorResponseDTO error = new ErrorResponseDTO(
+            HttpStatus.NOT_FOUND.value(),
+            "Not Found",
+            ex.getMessage(),
+            exchange.getRequest().getPath().value()
+        );
+        
+        return new ResponseEntity<>(error, HttpStatus.NOT_FOUND);
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.secure_customer_api.reactive;
+
+import com.example.secure_customer_api.security.JwtTokenProvider;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.Import;
+
+@SpringBootApplication
+@Import(JwtTokenProvider.class)
+public class ReactiveReadApiApplication {
+
+	public static void main(String[] args) {
+		SpringApplication.run(ReactiveReadApiApplication.class, args);
+	}
+
+}
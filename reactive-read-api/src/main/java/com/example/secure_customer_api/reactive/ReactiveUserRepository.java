@@ -0,0 +1,11 @@
+package com.example.secure_customer_api.reactive;
+
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+@Repository
+public interface ReactiveUserRepository extends R2dbcRepository<UserRow, Long> {
+    
+    Mono<UserRow> findByUsername(String username);
+}
@@ -0,0 +1,43 @@
+package com.example.secure_customer_api.reactive;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+// Read-only R2DBC mapping of the account columns the JWT filter checks
+@Table("users")
+public class UserRow {
+    
+    @Id
+    private Long id;
+    
+    private String username;
+    
+    @Column("is_active")
+    private Boolean isActive;
+    
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+    
+    public void setId(Long id) {
+        this.id = id;
+    }
+    
+    public String getUsername() {
+        return username;
+    }
+    
+    public void setUsername(String username) {
+        this.username = username;
+    }
+    
+    public Boolean getIsActive() {
+        return isActive;
+    }
+    
+    public void setIsActive(Boolean isActive) {
+        this.isActive = isActive;
+    }
+}
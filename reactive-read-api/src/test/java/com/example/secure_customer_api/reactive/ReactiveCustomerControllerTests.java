@@ -0,0 +1,85 @@
+package com.example.secure_customer_api.reactive;
+
+import com.example.secure_customer_api.dto.CustomerResponseDTO;
+import com.example.secure_customer_api.security.JwtTokenProvider;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@AutoConfigureWebTestClient
+class ReactiveCustomerControllerTests {
+
+	@Autowired
+	private WebTestClient webTestClient;
+
+	@Autowired
+	private JwtTokenProvider tokenProvider;
+
+	@Test
+	void streamsCustomersByStatusAsNdjson() {
+		List<CustomerResponseDTO> customers = webTestClient.get()
+				.uri("/api/customers/status/ACTIVE")
+				.header("Authorization", "Bearer " + token())
+				.accept(MediaType.APPLICATION_NDJSON)
+				.exchange()
+				.expectStatus().isOk()
+				.returnResult(CustomerResponseDTO.class)
+				.getResponseBody()
+				.collectList()
+				.block();
+
+		assertThat(customers).extracting(CustomerResponseDTO::getCustomerCode).containsExactlyInAnyOrder("C001", "C002");
+	}
+
+	@Test
+	void rejectsRequestsWithoutToken() {
+		webTestClient.get()
+				.uri("/api/customers/1")
+				.exchange()
+				.expectStatus().isUnauthorized();
+	}
+
+	@Test
+	void rejectsTokensOfDisabledOrUnknownUsers() {
+		webTestClient.get()
+				.uri("/api/customers/1")
+				.header("Authorization", "Bearer " + token("disabled"))
+				.exchange()
+				.expectStatus().isUnauthorized();
+
+		webTestClient.get()
+				.uri("/api/customers/1")
+				.header("Authorization", "Bearer " + token("deleted"))
+				.exchange()
+				.expectStatus().isUnauthorized();
+	}
+
+	@Test
+	void returnsNotFoundForMissingCustomer() {
+		webTestClient.get()
+				.uri("/api/customers/999")
+				.header("Authorization", "Bearer " + token())
+				.exchange()
+				.expectStatus().isNotFound()
+				.expectBody().jsonPath("$.message").isEqualTo("Customer not found with id: 999");
+	}
+
+	private String token() {
+		return token("admin");
+	}
+
+	private String token(String username) {
+		User principal = new User(username, "unused", List.of());
+		return tokenProvider.generateToken(new UsernamePasswordAuthenticationToken(principal, null, List.of()));
+	}
+}
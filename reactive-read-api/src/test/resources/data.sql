@@ -0,0 +1,9 @@
+DELETE FROM customers;
+DELETE FROM users;
+INSERT INTO customers (customer_code, full_name, email, status, created_at) VALUES
+    ('C001', 'John Doe', 'john.doe@example.com', 'ACTIVE', CURRENT_TIMESTAMP),
+    ('C002', 'Jane Smith', 'jane.smith@example.com', 'ACTIVE', CURRENT_TIMESTAMP),
+    ('C003', 'Bob Johnson', 'bob.johnson@example.com', 'INACTIVE', CURRENT_TIMESTAMP);
+INSERT INTO users (username, is_active) VALUES
+    ('admin', TRUE),
+    ('disabled', FALSE);
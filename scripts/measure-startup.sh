@@ -0,0 +1,49 @@
+#!/usr/bin/env bash
+# Measures time-to-first-request and resident memory for one startup mode.
+#
+#   scripts/measure-startup.sh jvm|aot|cds|aot-cds|native [runs]
+#
+# Build the matching artifact first:
+#   jvm      ./mvnw package
+#   aot      ./mvnw -Paot package
+#   cds      ./mvnw -Pcds package
+#   aot-cds  ./mvnw -Paot,cds package
+#   native   ./mvnw -Pnative native:compile
+# MySQL must be reachable with the settings in application.properties.
+set -euo pipefail
+
+MODE=${1:?mode: jvm|aot|cds|aot-cds|native}
+RUNS=${2:-5}
+PORT=${PORT:-8080}
+MANAGEMENT_PORT=${MANAGEMENT_PORT:-8090}
+URL="http://localhost:${MANAGEMENT_PORT}/actuator/health"
+JAR=$(ls target/secure-customer-api-*-exec.jar | head -n 1)
+CDS_JAR="target/cds/$(basename "$JAR")"
+
+case "$MODE" in
+  jvm)     CMD=(java -jar "$JAR") ;;
+  aot)     CMD=(java -Dspring.aot.enabled=true -jar "$JAR") ;;
+  cds)     CMD=(java -XX:SharedArchiveFile=target/cds/application.jsa -jar "$CDS_JAR") ;;
+  aot-cds) CMD=(java -XX:SharedArchiveFile=target/cds/application.jsa -Dspring.aot.enabled=true -jar "$CDS_JAR") ;;
+  native)  CMD=(target/secure-customer-api) ;;
+  *) echo "unknown mode: $MODE" >&2; exit 1 ;;
+esac
+
+echo "mode,run,time_to_first_request_ms,rss_mb"
+for run in $(seq 1 "$RUNS"); do
+  start=$(date +%s%N)
+  "${CMD[@]}" --server.port="$PORT" --management.server.port="$MANAGEMENT_PORT" > "target/startup-${MODE}-${run}.log" 2>&1 &
+  pid=$!
+  until curl -fs -o /dev/null "$URL"; do
+    if ! kill -0 "$pid" 2>/dev/null; then
+      echo "process exited, see target/startup-${MODE}-${run}.log" >&2
+      exit 1
+    fi
+    sleep 0.02
+  done
+  elapsed_ms=$(( ($(date +%s%N) - start) / 1000000 ))
+  rss_kb=$(awk '/VmRSS/ {print $2}' "/proc/${pid}/status")
+  echo "${MODE},${run},${elapsed_ms},$(( rss_kb / 1024 ))"
+  kill "$pid"
+  wait "$pid" 2>/dev/null || true
+done
@@ -0,0 +1,268 @@
+package com.example.secure_customer_api.loadtest;
+
+import ch.vorburger.mariadb4j.DB;
+import ch.vorburger.mariadb4j.DBConfiguration;
+import ch.vorburger.mariadb4j.DBConfigurationBuilder;
+import com.example.secure_customer_api.entity.Customer;
+import com.example.secure_customer_api.entity.Role;
+import com.example.secure_customer_api.entity.User;
+import com.example.secure_customer_api.repository.CustomerRepository;
+import com.example.secure_customer_api.repository.UserRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * End-to-end load test: boots the application on an embedded MariaDB whose
+ * schema is built by the Flyway migrations, as in production, seeds users and
+ * customers, then drives the Postman collection's main flows at a fixed rate
+ * and writes throughput and HDR latency percentiles per endpoint to
+ * target/load-test-report.json (plus one .hgrm file per endpoint).
+ *
+ * Tunables (system properties): loadtest.rate, loadtest.warmup-seconds,
+ * loadtest.duration-seconds, loadtest.customers, loadtest.users.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.format_sql=false",
+        "logging.level.org.springframework.security=WARN"
+})
+class CustomerApiLoadTest {
+
+    private static final String PASSWORD = "password123";
+    private static final Path REPORT_DIR = Path.of("target");
+
+    private static final int RATE = Integer.getInteger("loadtest.rate", 200);
+    private static final int WARMUP_SECONDS = Integer.getInteger("loadtest.warmup-seconds", 15);
+    private static final int DURATION_SECONDS = Integer.getInteger("loadtest.duration-seconds", 60);
+    private static final int CUSTOMERS = Integer.getInteger("loadtest.customers", 5000);
+    private static final int USERS = Integer.getInteger("loadtest.users", 50);
+    // Response format and compression for the customer reads, e.g. application/cbor and gzip
+    private static final String ACCEPT = System.getProperty("loadtest.accept", "application/json");
+    private static final String ACCEPT_ENCODING = System.getProperty("loadtest.accept-encoding", "");
+
+    private static DB database;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @DynamicPropertySource
+    static void embeddedDatabase(DynamicPropertyRegistry registry) throws Exception {
+        DBConfiguration config = DBConfigurationBuilder.newBuilder().setPort(0).build();
+        database = DB.newEmbeddedDB(config);
+        database.start();
+        database.createDB("customer_management");
+        registry.add("spring.datasource.url", () -> config.getURL("customer_management"));
+        registry.add("spring.datasource.username", () -> "root");
+        registry.add("spring.datasource.password", () -> "");
+    }
+
+    @AfterAll
+    static void stopDatabase() throws Exception {
+        if (database != null) {
+            database.stop();
+        }
+    }
+
+    @Test
+    void endpointMix() throws Exception {
+        List<Long> customerIds = seed();
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+
+        String adminToken = login(client, "admin").path("token").asText();
+        AtomicReferenceArray<String> refreshTokens = new AtomicReferenceArray<>(USERS);
+        for (int i = 0; i < USERS; i++) {
+            refreshTokens.set(i, login(client, "loaduser" + i).path("refreshToken").asText());
+        }
+        AtomicInteger nextUser = new AtomicInteger();
+
+        OpenModelLoadGenerator generator = new OpenModelLoadGenerator(client)
+                .add("POST /api/auth/login", weight("login", 5),
+                        () -> post("/api/auth/login", null, "{\"username\":\"loaduser"
+                                + randomIndex(USERS) + "\",\"password\":\"" + PASSWORD + "\"}"),
+                        response -> { })
+                .add("POST /api/auth/refresh", weight("refresh", 5), () -> {
+                            int user = Math.floorMod(nextUser.getAndIncrement(), USERS);
+                            return post("/api/auth/refresh", null,
+                                    "{\"refreshToken\":\"" + refreshTokens.get(user) + "\"}");
+                        },
+                        // Refresh rotates the token, so keep the newest one per user
+                        response -> updateRefreshToken(refreshTokens, response))
+                .add("GET /api/customers", weight("list", 35),
+                        () -> get("/api/customers?page=" + randomIndex(CUSTOMERS / 10) + "&size=10", adminToken),
+                        response -> { })
+                .add("GET /api/customers/search", weight("search", 15),
+                        () -> get("/api/customers/search?keyword=Customer%20" + randomIndex(CUSTOMERS), adminToken),
+                        response -> { })
+                .add("GET /api/customers/{id}", weight("get", 30),
+                        () -> get("/api/customers/" + customerIds.get(randomIndex(customerIds.size())), adminToken),
+                        response -> { })
+                .add("PUT /api/customers/{id}", weight("update", 10), () -> {
+                            int index = randomIndex(customerIds.size());
+                            return put("/api/customers/" + customerIds.get(index), adminToken, updateBody(index));
+                        },
+                        response -> { });
+
+        Map<String, OpenModelLoadGenerator.Result> results =
+                generator.run(RATE, Duration.ofSeconds(WARMUP_SECONDS), Duration.ofSeconds(DURATION_SECONDS));
+
+        writeReport(results);
+        long successes = results.values().stream()
+                .mapToLong(r -> r.latencyMicros.getTotalCount() - r.errors.sum())
+                .sum();
+        assertThat(successes).isPositive();
+    }
+
+    private List<Long> seed() {
+        // One hash for every seeded account keeps setup from paying BCrypt per user
+        String hash = passwordEncoder.encode(PASSWORD);
+        List<User> users = new ArrayList<>();
+        User admin = new User("admin", "admin@example.com", hash, "Administrator", Role.ADMIN);
+        users.add(admin);
+        for (int i = 0; i < USERS; i++) {
+            users.add(new User("loaduser" + i, "loaduser" + i + "@example.com", hash, "Load User " + i, Role.USER));
+        }
+        userRepository.saveAll(users);
+
+        List<Customer> customers = new ArrayList<>(CUSTOMERS);
+        for (int i = 0; i < CUSTOMERS; i++) {
+            customers.add(new Customer("C" + (100000 + i), "Customer " + i, "customer" + i + "@example.com",
+                    "0900000000", i + " Load Test Street"));
+        }
+        return customerRepository.saveAll(customers).stream().map(Customer::getId).toList();
+    }
+
+    private JsonNode login(HttpClient client, String username) throws Exception {
+        HttpResponse<String> response = client.send(post("/api/auth/login", null,
+                "{\"username\":\"" + username + "\",\"password\":\"" + PASSWORD + "\"}"),
+                HttpResponse.BodyHandlers.ofString());
+        assertThat(response.statusCode()).isEqualTo(200);
+        return objectMapper.readTree(response.body());
+    }
+
+    private void updateRefreshToken(AtomicReferenceArray<String> refreshTokens, HttpResponse<String> response) {
+        try {
+            JsonNode body = objectMapper.readTree(response.body());
+            int user = Integer.parseInt(body.path("username").asText().substring("loaduser".length()));
+            refreshTokens.set(user, body.path("refreshToken").asText());
+        } catch (Exception ignored) {
+            // Leave the previous token; the next refresh for this user will be counted as an error
+        }
+    }
+
+    private String updateBody(int index) {
+        return "{\"customerCode\":\"C" + (100000 + index) + "\",\"fullName\":\"Customer " + index + " updated\","
+                + "\"email\":\"customer" + index + "@example.com\",\"phone\":\"0900000001\","
+                + "\"address\":\"" + index + " Load Test Street\"}";
+    }
+
+    private void writeReport(Map<String, OpenModelLoadGenerator.Result> results) throws Exception {
+        Files.createDirectories(REPORT_DIR);
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("ratePerSecond", RATE);
+        report.put("warmupSeconds", WARMUP_SECONDS);
+        report.put("durationSeconds", DURATION_SECONDS);
+        report.put("accept", ACCEPT);
+        report.put("acceptEncoding", ACCEPT_ENCODING);
+        Map<String, Object> endpoints = new LinkedHashMap<>();
+        results.forEach((name, result) -> {
+            long count = result.latencyMicros.getTotalCount();
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("requests", count);
+            entry.put("errors", result.errors.sum());
+            entry.put("throughputPerSecond", count / result.durationSeconds);
+            entry.put("p50Ms", result.latencyMicros.getValueAtPercentile(50) / 1000.0);
+            entry.put("p90Ms", result.latencyMicros.getValueAtPercentile(90) / 1000.0);
+            entry.put("p99Ms", result.latencyMicros.getValueAtPercentile(99) / 1000.0);
+            entry.put("p999Ms", result.latencyMicros.getValueAtPercentile(99.9) / 1000.0);
+            entry.put("maxMs", result.latencyMicros.getMaxValue() / 1000.0);
+            endpoints.put(name, entry);
+
+            Path hgrm = REPORT_DIR.resolve("load-test-" + name.replaceAll("[^A-Za-z]+", "_") + ".hgrm");
+            try (PrintStream out = new PrintStream(Files.newOutputStream(hgrm))) {
+                result.latencyMicros.outputPercentileDistribution(out, 1000.0);
+            } catch (Exception ex) {
+                throw new IllegalStateException(ex);
+            }
+        });
+        report.put("endpoints", endpoints);
+        objectMapper.enable(SerializationFeature.INDENT_OUTPUT)
+                .writeValue(REPORT_DIR.resolve("load-test-report.json").toFile(), report);
+    }
+
+    private HttpRequest get(String path, String token) {
+        HttpRequest.Builder builder = request(path, token).header("Accept", ACCEPT);
+        if (!ACCEPT_ENCODING.isEmpty()) {
+            builder.header("Accept-Encoding", ACCEPT_ENCODING);
+        }
+        return builder.GET().build();
+    }
+
+    private HttpRequest post(String path, String token, String body) {
+        return request(path, token).POST(HttpRequest.BodyPublishers.ofString(body)).build();
+    }
+
+    private HttpRequest put(String path, String token, String body) {
+        return request(path, token).PUT(HttpRequest.BodyPublishers.ofString(body)).build();
+    }
+
+    private HttpRequest.Builder request(String path, String token) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .timeout(Duration.ofSeconds(60))
+                .header("Content-Type", "application/json");
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder;
+    }
+
+    private static int weight(String operation, int defaultWeight) {
+        return Integer.getInteger("loadtest.weight." + operation, defaultWeight);
+    }
+
+    private static int randomIndex(int bound) {
+        return ThreadLocalRandom.current().nextInt(Math.max(1, bound));
+    }
+}
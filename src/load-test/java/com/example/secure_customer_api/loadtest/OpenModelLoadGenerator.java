@@ -0,0 +1,138 @@
+package com.example.secure_customer_api.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Fixed-rate (open-model) load generator. Requests are issued on a fixed
+ * schedule regardless of how long earlier ones take, and latency is measured
+ * from the intended send time, so a stalled server shows up in the tail
+ * instead of silently lowering the offered load (coordinated omission).
+ */
+class OpenModelLoadGenerator {
+
+    // Latencies are recorded in microseconds, up to one minute
+    private static final long MAX_LATENCY_MICROS = TimeUnit.MINUTES.toMicros(1);
+
+    private final HttpClient client;
+    private final List<Operation> operations = new ArrayList<>();
+    private int totalWeight;
+
+    OpenModelLoadGenerator(HttpClient client) {
+        this.client = client;
+    }
+
+    OpenModelLoadGenerator add(String name, int weight, Supplier<HttpRequest> request,
+                               Consumer<HttpResponse<String>> onSuccess) {
+        if (weight > 0) {
+            operations.add(new Operation(name, weight, request, onSuccess));
+            totalWeight += weight;
+        }
+        return this;
+    }
+
+    /** Runs the mix at {@code ratePerSecond} and returns per-operation results for the measured window. */
+    Map<String, Result> run(int ratePerSecond, Duration warmup, Duration duration) throws InterruptedException {
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / ratePerSecond;
+        long start = System.nanoTime();
+        long measureFrom = start + warmup.toNanos();
+        long end = measureFrom + duration.toNanos();
+        AtomicLong outstanding = new AtomicLong();
+
+        for (long i = 0; ; i++) {
+            long intended = start + i * intervalNanos;
+            if (intended >= end) {
+                break;
+            }
+            long wait = intended - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+
+            Operation operation = pick();
+            boolean measured = intended >= measureFrom;
+            outstanding.incrementAndGet();
+            client.sendAsync(operation.request.get(), HttpResponse.BodyHandlers.ofString())
+                    .whenComplete((response, error) -> {
+                        long latencyMicros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - intended);
+                        boolean ok = error == null && response.statusCode() < 400;
+                        if (ok) {
+                            operation.onSuccess.accept(response);
+                        }
+                        if (measured) {
+                            operation.result.record(latencyMicros, ok);
+                        }
+                        outstanding.decrementAndGet();
+                    });
+        }
+
+        // Let in-flight requests finish so their (possibly very late) latency is counted
+        long drainDeadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (outstanding.get() > 0 && System.nanoTime() < drainDeadline) {
+            Thread.sleep(10);
+        }
+
+        Map<String, Result> results = new LinkedHashMap<>();
+        for (Operation operation : operations) {
+            operation.result.durationSeconds = duration.toMillis() / 1000.0;
+            results.put(operation.name, operation.result);
+        }
+        return results;
+    }
+
+    private Operation pick() {
+        int roll = ThreadLocalRandom.current().nextInt(totalWeight);
+        for (Operation operation : operations) {
+            roll -= operation.weight;
+            if (roll < 0) {
+                return operation;
+            }
+        }
+        return operations.get(operations.size() - 1);
+    }
+
+    private static final class Operation {
+        private final String name;
+        private final int weight;
+        private final Supplier<HttpRequest> request;
+        private final Consumer<HttpResponse<String>> onSuccess;
+        private final Result result = new Result();
+
+        private Operation(String name, int weight, Supplier<HttpRequest> request,
+                          Consumer<HttpResponse<String>> onSuccess) {
+            this.name = name;
+            this.weight = weight;
+            this.request = request;
+            this.onSuccess = onSuccess;
+        }
+    }
+
+    static final class Result {
+        final Histogram latencyMicros = new ConcurrentHistogram(MAX_LATENCY_MICROS, 3);
+        final LongAdder errors = new LongAdder();
+        double durationSeconds;
+
+        private void record(long latency, boolean ok) {
+            latencyMicros.recordValue(Math.min(latency, MAX_LATENCY_MICROS));
+            if (!ok) {
+                errors.increment();
+            }
+        }
+    }
+}
@@ -1,9 +1,14 @@
 package com.example.secure_customer_api;
 
+import com.example.secure_customer_api.config.NativeHints;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.ImportRuntimeHints;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
+@ImportRuntimeHints(NativeHints.class)
 public class SecureCustomerApiApplication {
 
 	public static void main(String[] args) {
@@ -0,0 +1,10 @@
+package com.example.secure_customer_api.audit;
+
+// Stored by ordinal in the audit segments: only ever append new constants
+public enum AuditAction {
+    CUSTOMER_CREATED,
+    CUSTOMER_UPDATED,
+    CUSTOMER_DELETED,
+    USER_ROLE_CHANGED,
+    USER_STATUS_CHANGED
+}
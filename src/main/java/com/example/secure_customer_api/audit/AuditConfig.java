@@ -0,0 +1,26 @@
+package com.example.secure_customer_api.audit;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+
+@Configuration
+public class AuditConfig {
+
+    @Bean(destroyMethod = "close")
+    public AuditLog auditLog(@Value("${audit.directory:data/audit}") Path directory,
+                             @Value("${audit.segment-size:16MB}") DataSize segmentSize,
+                             @Value("${audit.buffer-size:8192}") int bufferSize,
+                             @Value("${audit.retention:90d}") Duration retention,
+                             @Value("${audit.max-segments:64}") int maxSegments,
+                             MeterRegistry meterRegistry) throws IOException {
+        return new AuditLog(directory, Math.toIntExact(segmentSize.toBytes()), bufferSize, retention, maxSegments,
+                meterRegistry);
+    }
+}
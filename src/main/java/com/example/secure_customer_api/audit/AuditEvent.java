@@ -0,0 +1,40 @@
+package com.example.secure_customer_api.audit;
+
+// One audit record: who (actor) did what (action) to which entity (target)
+public final class AuditEvent {
+    
+    private final long timestamp;
+    private final String actor;
+    private final AuditAction action;
+    private final String target;
+    private final String detail;
+    
+    public AuditEvent(long timestamp, String actor, AuditAction action, String target, String detail) {
+        this.timestamp = timestamp;
+        this.actor = actor;
+        this.action = action;
+        this.target = target;
+        this.detail = detail;
+    }
+    
+    // Epoch milliseconds
+    public long getTimestamp() {
+        return timestamp;
+    }
+    
+    public String getActor() {
+        return actor;
+    }
+    
+    public AuditAction getAction() {
+        return action;
+    }
+    
+    public String getTarget() {
+        return target;
+    }
+    
+    public String getDetail() {
+        return detail;
+    }
+}
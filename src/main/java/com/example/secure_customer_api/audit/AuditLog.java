@@ -0,0 +1,273 @@
+package com.example.secure_customer_api.audit;
+
+import com.example.secure_customer_api.observability.RateLimitedLogger;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Append-only audit trail of admin and customer mutations, kept outside the
+ * database so recording an event costs a request thread one CAS instead of an
+ * extra INSERT in its transaction.
+ * <p>
+ * Events go through a lock-free {@link AuditRingBuffer} to a single writer
+ * thread. The writer appends them to memory-mapped {@link AuditSegment} files
+ * in {@code directory}, and fsyncs once per drained batch (group commit). When
+ * a segment is full the writer rotates to a new one. Segments older than
+ * {@code retention}, or beyond {@code maxSegments}, are deleted. An event is
+ * durable once its batch is forced, typically within a millisecond or two.
+ * A process crash before that loses at most the events still in the buffer.
+ * <p>
+ * After a restart, existing segments are reopened read-only and indexed for
+ * queries; new events always start a fresh segment.
+ */
+public class AuditLog implements AutoCloseable {
+    
+    private static final Logger log = LoggerFactory.getLogger(AuditLog.class);
+    private static final RateLimitedLogger dropLog = new RateLimitedLogger(log, 10, Duration.ofMinutes(1));
+    
+    private static final Pattern SEGMENT_NAME = Pattern.compile("audit-(\\d{16})\\.log");
+    private static final int MAX_BATCH = 1024;
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+    // How long a producer waits for room in a full buffer before dropping the event
+    private static final long OFFER_TIMEOUT_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+    private static final long RETENTION_CHECK_NANOS = TimeUnit.MINUTES.toNanos(1);
+    
+    private final Path directory;
+    private final int segmentSize;
+    private final Duration retention;
+    private final int maxSegments;
+    
+    private final AuditRingBuffer buffer;
+    private final List<AuditSegment> segments = new CopyOnWriteArrayList<>();
+    private final Thread writer;
+    private volatile boolean running = true;
+    private volatile boolean writerParked;
+    
+    private final Counter written;
+    private final Counter dropped;
+    private final Timer fsyncTimer;
+    
+    // Writer thread state
+    private AuditSegment active;
+    private long nextSequence;
+    private long lastTimestamp;
+    private long nextRetentionCheck;
+    
+    public AuditLog(Path directory, int segmentSize, int bufferSize, Duration retention, int maxSegments,
+                    MeterRegistry meterRegistry) throws IOException {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.retention = retention;
+        this.maxSegments = Math.max(1, maxSegments);
+        this.buffer = new AuditRingBuffer(bufferSize);
+        
+        Files.createDirectories(directory);
+        recover();
+        
+        this.written = Counter.builder("audit.events.written")
+                .description("Audit events appended to the log")
+                .register(meterRegistry);
+        this.dropped = Counter.builder("audit.events.dropped")
+                .description("Audit events dropped because the buffer stayed full")
+                .register(meterRegistry);
+        this.fsyncTimer = Timer.builder("audit.fsync")
+                .description("Time to force one batch of audit records to disk")
+                .register(meterRegistry);
+        Gauge.builder("audit.buffer.size", buffer, AuditRingBuffer::size)
+                .description("Audit events waiting for the writer")
+                .register(meterRegistry);
+        
+        this.writer = Thread.ofPlatform().name("audit-writer").daemon().unstarted(this::run);
+        this.writer.start();
+    }
+    
+    /**
+     * Records an action by the current user. Never blocks on I/O; if the buffer
+     * is full it waits up to 50 ms for space, then drops the event and counts it.
+     */
+    public void record(AuditAction action, String target, String detail) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        String actor = authentication == null ? "system" : authentication.getName();
+        append(new AuditEvent(System.currentTimeMillis(), actor, action, target, detail));
+    }
+    
+    public boolean append(AuditEvent event) {
+        long deadline = 0;
+        while (!buffer.offer(event)) {
+            long now = System.nanoTime();
+            if (deadline == 0) {
+                deadline = now + OFFER_TIMEOUT_NANOS;
+            } else if (now > deadline || !running) {
+                dropped.increment();
+                dropLog.warn("Audit buffer full, dropped {} on {} by {}",
+                        event.getAction(), event.getTarget(), event.getActor());
+                return false;
+            }
+            wakeWriter();
+            LockSupport.parkNanos(100_000);
+        }
+        wakeWriter();
+        return true;
+    }
+    
+    /**
+     * Events with {@code from <= timestamp <= to} (epoch millis), oldest first,
+     * optionally only those by {@code actor}. Reads the mapped segments directly;
+     * events still in the buffer are not visible yet.
+     */
+    public List<AuditEvent> query(long from, long to, String actor, int limit) {
+        List<AuditEvent> result = new ArrayList<>(Math.min(limit, 1024));
+        for (AuditSegment segment : segments) {
+            if (result.size() >= limit) {
+                break;
+            }
+            segment.scan(from, to, actor, limit, result);
+        }
+        return result;
+    }
+    
+    // Drains what is buffered, forces it to disk and stops the writer
+    @Override
+    public void close() {
+        running = false;
+        LockSupport.unpark(writer);
+        try {
+            writer.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+    
+    private void run() {
+        while (running || buffer.size() > 0) {
+            int batch = 0;
+            AuditEvent event;
+            while (batch < MAX_BATCH && (event = buffer.poll()) != null) {
+                write(event);
+                batch++;
+            }
+            if (batch > 0) {
+                flush();
+                written.increment(batch);
+                continue;
+            }
+            if (System.nanoTime() - nextRetentionCheck > 0) {
+                applyRetention();
+                nextRetentionCheck = System.nanoTime() + RETENTION_CHECK_NANOS;
+            }
+            writerParked = true;
+            if (running && buffer.size() == 0) {
+                LockSupport.parkNanos(IDLE_PARK_NANOS);
+            } else if (running) {
+                // A producer claimed a slot but has not published it yet
+                Thread.onSpinWait();
+            }
+            writerParked = false;
+        }
+        flush();
+    }
+    
+    private void write(AuditEvent event) {
+        // Keep timestamps non-decreasing so the sparse index can binary search
+        long timestamp = Math.max(event.getTimestamp(), lastTimestamp);
+        lastTimestamp = timestamp;
+        try {
+            if (active == null || !active.append(timestamp, event)) {
+                rotate();
+                active.append(timestamp, event);
+            }
+        } catch (IOException | RuntimeException ex) {
+            dropped.increment();
+            log.error("Could not append audit event {} on {}", event.getAction(), event.getTarget(), ex);
+        }
+    }
+    
+    private void flush() {
+        if (active != null) {
+            fsyncTimer.record(active::force);
+        }
+    }
+    
+    private void rotate() throws IOException {
+        if (active != null) {
+            active.force();
+        }
+        long sequence = nextSequence++;
+        Path file = directory.resolve(String.format("audit-%016d.log", sequence));
+        active = AuditSegment.create(file, sequence, segmentSize);
+        segments.add(active);
+        applyRetention();
+    }
+    
+    private void applyRetention() {
+        long cutoff = System.currentTimeMillis() - retention.toMillis();
+        List<AuditSegment> expired = new ArrayList<>();
+        int remaining = segments.size();
+        for (AuditSegment segment : segments) {
+            if (segment == active) {
+                continue;
+            }
+            if (remaining > maxSegments || segment.isEmpty() || segment.getMaxTimestamp() < cutoff) {
+                expired.add(segment);
+                remaining--;
+            }
+        }
+        for (AuditSegment segment : expired) {
+            segments.remove(segment);
+            try {
+                Files.deleteIfExists(segment.getFile());
+            } catch (IOException ex) {
+                log.warn("Could not delete audit segment {}", segment.getFile(), ex);
+            }
+        }
+    }
+    
+    private void recover() throws IOException {
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, "audit-*.log")) {
+            stream.forEach(files::add);
+        }
+        files.sort(Comparator.comparing(Path::getFileName));
+        for (Path file : files) {
+            Matcher matcher = SEGMENT_NAME.matcher(file.getFileName().toString());
+            if (!matcher.matches()) {
+                continue;
+            }
+            long sequence = Long.parseLong(matcher.group(1));
+            try {
+                AuditSegment segment = AuditSegment.open(file, sequence);
+                segments.add(segment);
+                lastTimestamp = Math.max(lastTimestamp, segment.getMaxTimestamp());
+            } catch (IOException ex) {
+                log.warn("Skipping unreadable audit segment {}", file, ex);
+            }
+            nextSequence = Math.max(nextSequence, sequence + 1);
+        }
+    }
+    
+    private void wakeWriter() {
+        if (writerParked) {
+            LockSupport.unpark(writer);
+        }
+    }
+}
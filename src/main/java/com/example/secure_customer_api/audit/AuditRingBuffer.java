@@ -0,0 +1,57 @@
+package com.example.secure_customer_api.audit;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Bounded lock-free queue between request threads (many producers) and the
+ * audit writer thread (single consumer). A producer claims a slot by CAS on
+ * {@code head} and then publishes the event into it; the consumer takes slots
+ * in order and stops at one that is claimed but not yet published.
+ */
+final class AuditRingBuffer {
+    
+    private final AtomicReferenceArray<AuditEvent> slots;
+    private final int mask;
+    private final AtomicLong head = new AtomicLong();
+    private final AtomicLong tail = new AtomicLong();
+    
+    AuditRingBuffer(int capacity) {
+        if (capacity <= 0 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Capacity must be a power of two: " + capacity);
+        }
+        this.slots = new AtomicReferenceArray<>(capacity);
+        this.mask = capacity - 1;
+    }
+    
+    // False when full; never blocks
+    boolean offer(AuditEvent event) {
+        while (true) {
+            long claim = head.get();
+            if (claim - tail.get() >= slots.length()) {
+                return false;
+            }
+            if (head.compareAndSet(claim, claim + 1)) {
+                slots.lazySet((int) claim & mask, event);
+                return true;
+            }
+        }
+    }
+    
+    // Consumer thread only
+    AuditEvent poll() {
+        long next = tail.get();
+        int index = (int) next & mask;
+        AuditEvent event = slots.get(index);
+        if (event == null) {
+            return null;
+        }
+        slots.lazySet(index, null);
+        tail.lazySet(next + 1);
+        return event;
+    }
+    
+    int size() {
+        return (int) (head.get() - tail.get());
+    }
+}
@@ -0,0 +1,294 @@
+package com.example.secure_customer_api.audit;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.CRC32;
+
+/**
+ * One memory-mapped audit log file. Layout: an 8-byte header (magic, version)
+ * followed by records
+ * <pre>
+ *   int   length            bytes after this field, including the CRC
+ *   long  timestamp         epoch millis, non-decreasing across the log
+ *   byte  action            AuditAction ordinal
+ *   byte  n, n bytes        actor  (UTF-8, at most 255 bytes)
+ *   byte  n, n bytes        target
+ *   byte  n, n bytes        detail
+ *   int   crc32             over timestamp..detail
+ * </pre>
+ * The unwritten tail of the file is zeros, so a zero length marks the end.
+ * <p>
+ * Only the writer thread appends. Readers scan up to {@link #committed}, which
+ * is published after each record, so they never see a partial one. A sparse
+ * index (timestamp and offset of every {@value #INDEX_INTERVAL}th record) lets a
+ * time-range query start near its first match, and the set of actors lets it
+ * skip segments an actor never touched.
+ */
+final class AuditSegment {
+    
+    static final int MAGIC = 0x41554431; // "AUD1"
+    static final int HEADER_SIZE = 8;
+    static final int INDEX_INTERVAL = 64;
+    private static final int VERSION = 1;
+    private static final int MAX_FIELD_BYTES = 255;
+    // length + timestamp + action + three empty fields + crc
+    private static final int MIN_RECORD_SIZE = 4 + 8 + 1 + 3 + 4;
+    
+    private final Path file;
+    private final long sequence;
+    private final MappedByteBuffer buffer;
+    
+    private volatile int committed;
+    private int flushed;
+    private int records;
+    
+    private final long[] indexTimestamps;
+    private final int[] indexOffsets;
+    private volatile int indexSize;
+    
+    private final Set<String> actors = ConcurrentHashMap.newKeySet();
+    private volatile long minTimestamp = Long.MAX_VALUE;
+    private volatile long maxTimestamp = Long.MIN_VALUE;
+    
+    // Writer scratch space for encoding one record
+    private final ByteBuffer scratch = ByteBuffer.allocate(MIN_RECORD_SIZE + 3 * MAX_FIELD_BYTES);
+    private final CRC32 crc = new CRC32();
+    
+    private AuditSegment(Path file, long sequence, MappedByteBuffer buffer) {
+        this.file = file;
+        this.sequence = sequence;
+        this.buffer = buffer;
+        int maxEntries = (buffer.capacity() - HEADER_SIZE) / MIN_RECORD_SIZE / INDEX_INTERVAL + 1;
+        this.indexTimestamps = new long[maxEntries];
+        this.indexOffsets = new int[maxEntries];
+        this.committed = HEADER_SIZE;
+        this.flushed = HEADER_SIZE;
+    }
+    
+    static AuditSegment create(Path file, long sequence, int size) throws IOException {
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        }
+        buffer.putInt(0, MAGIC);
+        buffer.putInt(4, VERSION);
+        buffer.force(0, HEADER_SIZE);
+        return new AuditSegment(file, sequence, buffer);
+    }
+    
+    /**
+     * Maps an existing segment read-only and rebuilds its index. Scanning stops
+     * at the first record that is incomplete or fails its CRC (a write torn by
+     * a crash); everything before it is kept.
+     */
+    static AuditSegment open(Path file, long sequence) throws IOException {
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        AuditSegment segment = new AuditSegment(file, sequence, buffer);
+        if (buffer.capacity() < HEADER_SIZE || buffer.getInt(0) != MAGIC) {
+            throw new IOException("Not an audit segment: " + file);
+        }
+        int position = HEADER_SIZE;
+        CRC32 check = new CRC32();
+        while (true) {
+            int length = segment.recordLength(position, buffer.capacity());
+            if (length < 0) {
+                break;
+            }
+            check.reset();
+            check.update(buffer.slice(position + 4, length - 4));
+            if ((int) check.getValue() != buffer.getInt(position + length)) {
+                break;
+            }
+            AuditEvent event = segment.read(position);
+            segment.indexRecord(position, event.getTimestamp(), event.getActor());
+            position += 4 + length;
+            segment.committed = position;
+        }
+        segment.flushed = segment.committed;
+        return segment;
+    }
+    
+    /**
+     * Appends a record stamped with {@code timestamp}. Returns false, writing
+     * nothing, when the segment has no room left for it.
+     */
+    boolean append(long timestamp, AuditEvent event) {
+        byte[] actor = encode(event.getActor());
+        byte[] target = encode(event.getTarget());
+        byte[] detail = encode(event.getDetail());
+        
+        scratch.clear();
+        scratch.putLong(timestamp);
+        scratch.put((byte) event.getAction().ordinal());
+        putField(actor);
+        putField(target);
+        putField(detail);
+        crc.reset();
+        crc.update(scratch.array(), 0, scratch.position());
+        scratch.putInt((int) crc.getValue());
+        
+        int length = scratch.position();
+        int position = committed;
+        if (position + 4 + length > buffer.capacity()) {
+            return false;
+        }
+        // Body first, length last: a zero length still marks the end if we stop halfway
+        buffer.put(position + 4, scratch.array(), 0, length);
+        buffer.putInt(position, length);
+        indexRecord(position, timestamp, event.getActor());
+        committed = position + 4 + length;
+        return true;
+    }
+    
+    // Group fsync: one msync for everything appended since the last call
+    void force() {
+        int end = committed;
+        if (end > flushed) {
+            buffer.force(flushed, end - flushed);
+            flushed = end;
+        }
+    }
+    
+    /**
+     * Adds records with {@code from <= timestamp <= to} (and the given actor, if
+     * not null) to {@code result} until it holds {@code limit} entries.
+     */
+    void scan(long from, long to, String actor, int limit, List<AuditEvent> result) {
+        if (maxTimestamp < from || minTimestamp > to || (actor != null && !actors.contains(actor))) {
+            return;
+        }
+        int end = committed;
+        int position = startOffset(from);
+        while (position < end && result.size() < limit) {
+            int length = buffer.getInt(position);
+            long timestamp = buffer.getLong(position + 4);
+            if (timestamp > to) {
+                return;
+            }
+            if (timestamp >= from) {
+                AuditEvent event = read(position);
+                if (actor == null || actor.equals(event.getActor())) {
+                    result.add(event);
+                }
+            }
+            position += 4 + length;
+        }
+    }
+    
+    Path getFile() {
+        return file;
+    }
+    
+    long getSequence() {
+        return sequence;
+    }
+    
+    long getMaxTimestamp() {
+        return maxTimestamp;
+    }
+    
+    boolean isEmpty() {
+        return committed == HEADER_SIZE;
+    }
+    
+    // Offset of the last indexed record older than from; records before it are older still
+    private int startOffset(long from) {
+        int low = 0;
+        int high = indexSize - 1;
+        int offset = HEADER_SIZE;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (indexTimestamps[mid] < from) {
+                offset = indexOffsets[mid];
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return offset;
+    }
+    
+    private void indexRecord(int position, long timestamp, String actor) {
+        if (records % INDEX_INTERVAL == 0) {
+            int entry = indexSize;
+            indexTimestamps[entry] = timestamp;
+            indexOffsets[entry] = position;
+            indexSize = entry + 1;
+        }
+        records++;
+        actors.add(actor);
+        if (timestamp < minTimestamp) {
+            minTimestamp = timestamp;
+        }
+        maxTimestamp = Math.max(maxTimestamp, timestamp);
+    }
+    
+    // Length of the record at position, or -1 at the end of the written data
+    private int recordLength(int position, int limit) {
+        if (position + 4 > limit) {
+            return -1;
+        }
+        int length = buffer.getInt(position);
+        if (length < MIN_RECORD_SIZE - 4 || position + 4 + length > limit) {
+            return -1;
+        }
+        return length;
+    }
+    
+    private AuditEvent read(int position) {
+        long timestamp = buffer.getLong(position + 4);
+        AuditAction action = AuditAction.values()[buffer.get(position + 12)];
+        int offset = position + 13;
+        String actor = readField(offset);
+        offset += 1 + (buffer.get(offset) & 0xFF);
+        String target = readField(offset);
+        offset += 1 + (buffer.get(offset) & 0xFF);
+        String detail = readField(offset);
+        return new AuditEvent(timestamp, actor, action, target, detail);
+    }
+    
+    private String readField(int offset) {
+        int length = buffer.get(offset) & 0xFF;
+        if (length == 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(offset + 1, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+    
+    private void putField(byte[] value) {
+        scratch.put((byte) value.length);
+        scratch.put(value);
+    }
+    
+    // UTF-8, cut to MAX_FIELD_BYTES on a character boundary; null is stored as empty
+    private static byte[] encode(String value) {
+        if (value == null) {
+            return new byte[0];
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length <= MAX_FIELD_BYTES) {
+            return bytes;
+        }
+        int end = MAX_FIELD_BYTES;
+        while (end > 0 && (bytes[end] & 0xC0) == 0x80) {
+            end--;
+        }
+        return Arrays.copyOf(bytes, end);
+    }
+}
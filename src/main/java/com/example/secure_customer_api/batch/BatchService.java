@@ -0,0 +1,258 @@
+package com.example.secure_customer_api.batch;
+
+import com.example.secure_customer_api.dto.BatchOperationDTO;
+import com.example.secure_customer_api.dto.BatchResultDTO;
+import com.example.secure_customer_api.dto.ErrorResponseDTO;
+import com.example.secure_customer_api.exception.InvalidRequestException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.access.WebInvocationPrivilegeEvaluator;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.DispatcherServlet;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.regex.Pattern;
+
+/**
+ * Executes the operations of a {@code POST /api/batch} request.
+ * <p>
+ * The batch request passes the security filter chain once, so the JWT is
+ * validated and the user loaded once; sub-requests then go straight to the
+ * DispatcherServlet with that SecurityContext. URL rules from SecurityConfig
+ * are checked per sub-request through the {@link WebInvocationPrivilegeEvaluator},
+ * and {@code @PreAuthorize} applies as usual inside the controllers.
+ * <p>
+ * Consecutive GETs run in parallel; any other method waits for the reads
+ * before it and runs alone, so a later read sees an earlier write. Results
+ * keep the order of the request.
+ */
+@Service
+public class BatchService {
+    
+    private static final Logger log = LoggerFactory.getLogger(BatchService.class);
+    
+    private static final Set<String> METHODS = Set.of("GET", "POST", "PUT", "PATCH", "DELETE");
+    
+    // Plain API paths only: no encoded characters, no dot segments, no nested batches
+    private static final Pattern PATH = Pattern.compile("/api/[A-Za-z0-9_\\-./]*(\\?[A-Za-z0-9_\\-.~%+=&,]*)?");
+    
+    @Autowired
+    private DispatcherServlet dispatcherServlet;
+    
+    @Autowired
+    private WebInvocationPrivilegeEvaluator privilegeEvaluator;
+    
+    @Autowired
+    @Qualifier("applicationTaskExecutor")
+    private AsyncTaskExecutor taskExecutor;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    @Value("${batch.max-operations:20}")
+    private int maxOperations;
+    
+    @Value("${batch.timeout:10s}")
+    private Duration timeout;
+    
+    public List<BatchResultDTO> execute(List<BatchOperationDTO> operations,
+                                        HttpServletRequest request,
+                                        HttpServletResponse response) {
+        if (operations == null || operations.isEmpty()) {
+            throw new InvalidRequestException("Batch must contain at least one operation");
+        }
+        if (operations.size() > maxOperations) {
+            throw new InvalidRequestException("Batch is limited to " + maxOperations + " operations");
+        }
+        
+        long deadline = System.nanoTime() + timeout.toNanos();
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        List<BatchResultDTO> results = new ArrayList<>(operations.size());
+        List<Pending> reads = new ArrayList<>();
+        
+        for (BatchOperationDTO operation : operations) {
+            BatchResultDTO rejected = validate(operation, request, authentication);
+            if (rejected != null) {
+                results.add(rejected);
+                continue;
+            }
+            boolean read = operation.getMethod().equals("GET");
+            if (!read) {
+                awaitAll(reads, results, deadline);
+                reads.clear();
+            }
+            results.add(null);
+            Pending pending = submit(operation, results.size() - 1, request, response, deadline);
+            if (read) {
+                reads.add(pending);
+            } else {
+                await(pending, results, deadline);
+            }
+        }
+        awaitAll(reads, results, deadline);
+        return results;
+    }
+    
+    private BatchResultDTO validate(BatchOperationDTO operation, HttpServletRequest request,
+                                    Authentication authentication) {
+        String method = operation.getMethod() == null ? "" : operation.getMethod().toUpperCase(Locale.ROOT);
+        String path = operation.getPath() == null ? "" : operation.getPath();
+        if (!METHODS.contains(method)) {
+            return error(operation, HttpStatus.BAD_REQUEST, "Unsupported method: " + operation.getMethod());
+        }
+        if (!PATH.matcher(path).matches() || path.contains("..") || path.contains("//")
+                || path.startsWith("/api/batch")) {
+            return error(operation, HttpStatus.BAD_REQUEST, "Unsupported path: " + path);
+        }
+        operation.setMethod(method);
+        
+        String uri = path.indexOf('?') < 0 ? path : path.substring(0, path.indexOf('?'));
+        if (!privilegeEvaluator.isAllowed(request.getContextPath(), uri, method, authentication)) {
+            boolean anonymous = authentication == null || authentication instanceof AnonymousAuthenticationToken;
+            return anonymous
+                    ? error(operation, HttpStatus.UNAUTHORIZED, "Full authentication is required to access this resource")
+                    : error(operation, HttpStatus.FORBIDDEN, "Access denied");
+        }
+        return null;
+    }
+    
+    private Pending submit(BatchOperationDTO operation, int index, HttpServletRequest request,
+                           HttpServletResponse response, long deadline) {
+        Pending pending = new Pending(operation, index);
+        if (System.nanoTime() >= deadline) {
+            return pending;
+        }
+        byte[] body = null;
+        if (operation.getBody() != null && !operation.getBody().isNull()) {
+            try {
+                body = objectMapper.writeValueAsBytes(operation.getBody());
+            } catch (JsonProcessingException ex) {
+                pending.result = error(operation, HttpStatus.BAD_REQUEST, "Unreadable body");
+                return pending;
+            }
+        }
+        BatchSubRequest subRequest = new BatchSubRequest(request, operation.getMethod(), operation.getPath(), body);
+        BatchSubResponse subResponse = new BatchSubResponse(response);
+        Map<String, String> mdc = MDC.getCopyOfContextMap();
+        
+        // The application task executor carries the SecurityContext over (see AsyncConfig)
+        pending.future = CompletableFuture.supplyAsync(() -> {
+            if (mdc != null) {
+                MDC.setContextMap(mdc);
+            }
+            long start = System.nanoTime();
+            try {
+                dispatcherServlet.service(subRequest, subResponse);
+                return toResult(operation, subResponse, start);
+            } catch (Exception ex) {
+                log.warn("Batch operation {} {} failed", operation.getMethod(), operation.getPath(), ex);
+                return error(operation, HttpStatus.INTERNAL_SERVER_ERROR, ex.getMessage());
+            } finally {
+                MDC.clear();
+            }
+        }, taskExecutor);
+        return pending;
+    }
+    
+    private void awaitAll(List<Pending> pendings, List<BatchResultDTO> results, long deadline) {
+        for (Pending pending : pendings) {
+            await(pending, results, deadline);
+        }
+    }
+    
+    private void await(Pending pending, List<BatchResultDTO> results, long deadline) {
+        BatchResultDTO result = pending.result;
+        if (result == null && pending.future != null) {
+            try {
+                result = pending.future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            } catch (TimeoutException ex) {
+                // Skips the operation if it has not started yet
+                pending.future.cancel(false);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                pending.future.cancel(false);
+            } catch (ExecutionException ex) {
+                result = error(pending.operation, HttpStatus.INTERNAL_SERVER_ERROR, ex.getCause().getMessage());
+            }
+        }
+        if (result == null) {
+            // Not started, or still running at the deadline; a timed-out write may still complete
+            result = error(pending.operation, HttpStatus.GATEWAY_TIMEOUT, "Batch time limit exceeded");
+        }
+        results.set(pending.index, result);
+    }
+    
+    private BatchResultDTO toResult(BatchOperationDTO operation, BatchSubResponse subResponse, long start) {
+        long durationMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        byte[] bytes = subResponse.getBody();
+        String body = null;
+        if (bytes.length > 0) {
+            String text = new String(bytes, StandardCharsets.UTF_8);
+            body = isJson(subResponse.getContentType()) ? text : quote(text);
+        }
+        return new BatchResultDTO(operation.getId(), subResponse.getStatus(), durationMs, body);
+    }
+    
+    private BatchResultDTO error(BatchOperationDTO operation, HttpStatus status, String message) {
+        ErrorResponseDTO error = new ErrorResponseDTO(status.value(), status.getReasonPhrase(), message,
+                operation.getPath());
+        try {
+            return new BatchResultDTO(operation.getId(), status.value(), 0, objectMapper.writeValueAsString(error));
+        } catch (JsonProcessingException ex) {
+            return new BatchResultDTO(operation.getId(), status.value(), 0, null);
+        }
+    }
+    
+    private String quote(String text) {
+        try {
+            return objectMapper.writeValueAsString(text);
+        } catch (JsonProcessingException ex) {
+            return null;
+        }
+    }
+    
+    private static boolean isJson(String contentType) {
+        if (contentType == null) {
+            return false;
+        }
+        MediaType type = MediaType.parseMediaType(contentType);
+        return MediaType.APPLICATION_JSON.isCompatibleWith(type) || type.getSubtype().endsWith("+json");
+    }
+    
+    private static final class Pending {
+        
+        private final BatchOperationDTO operation;
+        private final int index;
+        private CompletableFuture<BatchResultDTO> future;
+        private BatchResultDTO result;
+        
+        private Pending(BatchOperationDTO operation, int index) {
+            this.operation = operation;
+            this.index = index;
+        }
+    }
+}
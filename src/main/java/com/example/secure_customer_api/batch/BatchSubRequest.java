@@ -0,0 +1,290 @@
+package com.example.secure_customer_api.batch;
+
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.util.LinkedCaseInsensitiveMap;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.InputStreamReader;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A sub-request of a batch, presented to the DispatcherServlet as if it had
+ * arrived on its own. Method, path, query and JSON body come from the batch
+ * operation; headers (Authorization, correlation id) come from the batch
+ * request, except that content is always negotiated as JSON.
+ * <p>
+ * Attributes are private to the sub-request: several of them run in parallel
+ * against the same outer request, and the DispatcherServlet keeps per-request
+ * state (matched handler, URI variables, parsed path) in attributes.
+ */
+class BatchSubRequest extends HttpServletRequestWrapper {
+    
+    private final String method;
+    private final String path;
+    private final String queryString;
+    private final byte[] body;
+    private final Map<String, String[]> parameters;
+    private final Map<String, Object> attributes = new ConcurrentHashMap<>();
+    private final Map<String, List<String>> headers = new LinkedCaseInsensitiveMap<>();
+    private final String contextPath;
+    private final String scheme;
+    private final String serverName;
+    private final int serverPort;
+    private final List<Locale> locales;
+    
+    // Must be created on the batch request's thread: headers and the basic request
+    // fields are copied so a sub-request still running past the batch deadline
+    // never reads from a request the container has already recycled
+    BatchSubRequest(HttpServletRequest request, String method, String pathAndQuery, byte[] body) {
+        super(request);
+        this.method = method;
+        this.contextPath = request.getContextPath();
+        this.scheme = request.getScheme();
+        this.serverName = request.getServerName();
+        this.serverPort = request.getServerPort();
+        this.locales = Collections.list(request.getLocales());
+        for (String name : Collections.list(request.getHeaderNames())) {
+            headers.put(name, Collections.list(request.getHeaders(name)));
+        }
+        headers.remove(HttpHeaders.CONTENT_TYPE);
+        headers.remove(HttpHeaders.CONTENT_LENGTH);
+        headers.put(HttpHeaders.ACCEPT, List.of(MediaType.APPLICATION_JSON_VALUE));
+        if (body != null) {
+            headers.put(HttpHeaders.CONTENT_TYPE, List.of(MediaType.APPLICATION_JSON_VALUE));
+            headers.put(HttpHeaders.CONTENT_LENGTH, List.of(Integer.toString(body.length)));
+        }
+        int query = pathAndQuery.indexOf('?');
+        this.path = query < 0 ? pathAndQuery : pathAndQuery.substring(0, query);
+        this.queryString = query < 0 ? null : pathAndQuery.substring(query + 1);
+        this.body = body;
+        this.parameters = parseQuery(queryString);
+    }
+    
+    @Override
+    public String getMethod() {
+        return method;
+    }
+    
+    @Override
+    public String getRequestURI() {
+        return getContextPath() + path;
+    }
+    
+    @Override
+    public StringBuffer getRequestURL() {
+        StringBuffer url = new StringBuffer();
+        url.append(getScheme()).append("://").append(getServerName()).append(':').append(getServerPort());
+        return url.append(getRequestURI());
+    }
+    
+    // The DispatcherServlet is mapped to "/", so the whole path is the servlet path
+    @Override
+    public String getServletPath() {
+        return path;
+    }
+    
+    @Override
+    public String getPathInfo() {
+        return null;
+    }
+    
+    @Override
+    public String getQueryString() {
+        return queryString;
+    }
+    
+    @Override
+    public DispatcherType getDispatcherType() {
+        return DispatcherType.REQUEST;
+    }
+    
+    // Streaming endpoints (SSE) cannot run inside a batch
+    @Override
+    public boolean isAsyncSupported() {
+        return false;
+    }
+    
+    @Override
+    public String getParameter(String name) {
+        String[] values = parameters.get(name);
+        return values == null ? null : values[0];
+    }
+    
+    @Override
+    public Map<String, String[]> getParameterMap() {
+        return Collections.unmodifiableMap(parameters);
+    }
+    
+    @Override
+    public Enumeration<String> getParameterNames() {
+        return Collections.enumeration(parameters.keySet());
+    }
+    
+    @Override
+    public String[] getParameterValues(String name) {
+        return parameters.get(name);
+    }
+    
+    @Override
+    public String getHeader(String name) {
+        List<String> values = headers.get(name);
+        return values == null ? null : values.get(0);
+    }
+    
+    @Override
+    public Enumeration<String> getHeaders(String name) {
+        List<String> values = headers.get(name);
+        return Collections.enumeration(values == null ? List.of() : values);
+    }
+    
+    @Override
+    public Enumeration<String> getHeaderNames() {
+        return Collections.enumeration(headers.keySet());
+    }
+    
+    @Override
+    public String getContextPath() {
+        return contextPath;
+    }
+    
+    @Override
+    public String getScheme() {
+        return scheme;
+    }
+    
+    @Override
+    public String getServerName() {
+        return serverName;
+    }
+    
+    @Override
+    public int getServerPort() {
+        return serverPort;
+    }
+    
+    @Override
+    public Locale getLocale() {
+        return locales.get(0);
+    }
+    
+    @Override
+    public Enumeration<Locale> getLocales() {
+        return Collections.enumeration(locales);
+    }
+    
+    @Override
+    public String getContentType() {
+        return body == null ? null : MediaType.APPLICATION_JSON_VALUE;
+    }
+    
+    @Override
+    public int getContentLength() {
+        return body == null ? -1 : body.length;
+    }
+    
+    @Override
+    public long getContentLengthLong() {
+        return getContentLength();
+    }
+    
+    @Override
+    public String getCharacterEncoding() {
+        return StandardCharsets.UTF_8.name();
+    }
+    
+    @Override
+    public ServletInputStream getInputStream() {
+        ByteArrayInputStream in = new ByteArrayInputStream(body == null ? new byte[0] : body);
+        return new ServletInputStream() {
+            @Override
+            public boolean isFinished() {
+                return in.available() == 0;
+            }
+            
+            @Override
+            public boolean isReady() {
+                return true;
+            }
+            
+            @Override
+            public void setReadListener(ReadListener readListener) {
+                throw new UnsupportedOperationException();
+            }
+            
+            @Override
+            public int read() {
+                return in.read();
+            }
+            
+            @Override
+            public int read(byte[] b, int off, int len) {
+                return in.read(b, off, len);
+            }
+        };
+    }
+    
+    @Override
+    public BufferedReader getReader() {
+        return new BufferedReader(new InputStreamReader(getInputStream(), StandardCharsets.UTF_8));
+    }
+    
+    @Override
+    public Object getAttribute(String name) {
+        return attributes.get(name);
+    }
+    
+    @Override
+    public Enumeration<String> getAttributeNames() {
+        return Collections.enumeration(new ArrayList<>(attributes.keySet()));
+    }
+    
+    @Override
+    public void setAttribute(String name, Object value) {
+        if (value == null) {
+            attributes.remove(name);
+        } else {
+            attributes.put(name, value);
+        }
+    }
+    
+    @Override
+    public void removeAttribute(String name) {
+        attributes.remove(name);
+    }
+    
+    private static Map<String, String[]> parseQuery(String queryString) {
+        if (queryString == null || queryString.isEmpty()) {
+            return Map.of();
+        }
+        Map<String, List<String>> values = new LinkedHashMap<>();
+        for (String pair : queryString.split("&")) {
+            if (pair.isEmpty()) {
+                continue;
+            }
+            int eq = pair.indexOf('=');
+            String name = URLDecoder.decode(eq < 0 ? pair : pair.substring(0, eq), StandardCharsets.UTF_8);
+            String value = eq < 0 ? "" : URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8);
+            values.computeIfAbsent(name, key -> new ArrayList<>()).add(value);
+        }
+        Map<String, String[]> parameters = new HashMap<>(values.size() * 2);
+        values.forEach((name, list) -> parameters.put(name, list.toArray(new String[0])));
+        return parameters;
+    }
+}
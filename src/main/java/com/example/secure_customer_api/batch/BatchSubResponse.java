@@ -0,0 +1,280 @@
+package com.example.secure_customer_api.batch;
+
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Buffers a sub-response in memory. Nothing reaches the wrapped batch
+ * response: status, headers and body are all kept here, since sibling
+ * sub-requests write concurrently and the batch response is written once
+ * at the end.
+ */
+class BatchSubResponse extends HttpServletResponseWrapper {
+    
+    // RFC 1123 date as used in HTTP headers (same format as HttpHeaders.setDate)
+    private static final DateTimeFormatter DATE_FORMAT =
+            DateTimeFormatter.ofPattern("EEE, dd MMM yyyy HH:mm:ss zzz", Locale.US).withZone(ZoneId.of("GMT"));
+    
+    private final ByteArrayOutputStream body = new ByteArrayOutputStream(1024);
+    private final Map<String, List<String>> headers = new LinkedHashMap<>();
+    private int status = SC_OK;
+    private String contentType;
+    private Charset charset = StandardCharsets.UTF_8;
+    private Locale locale = Locale.getDefault();
+    private PrintWriter writer;
+    private ServletOutputStream outputStream;
+    
+    BatchSubResponse(HttpServletResponse response) {
+        super(response);
+    }
+    
+    byte[] getBody() {
+        if (writer != null) {
+            writer.flush();
+        }
+        return body.toByteArray();
+    }
+    
+    @Override
+    public int getStatus() {
+        return status;
+    }
+    
+    @Override
+    public void setStatus(int status) {
+        this.status = status;
+    }
+    
+    @Override
+    public void sendError(int status) {
+        sendError(status, null);
+    }
+    
+    @Override
+    public void sendError(int status, String message) {
+        this.status = status;
+        body.reset();
+    }
+    
+    @Override
+    public void sendRedirect(String location) {
+        this.status = SC_FOUND;
+        setHeader("Location", location);
+    }
+    
+    @Override
+    public boolean containsHeader(String name) {
+        return headers.containsKey(name.toLowerCase(Locale.ROOT));
+    }
+    
+    @Override
+    public String getHeader(String name) {
+        List<String> values = headers.get(name.toLowerCase(Locale.ROOT));
+        return values == null || values.isEmpty() ? null : values.get(0);
+    }
+    
+    @Override
+    public Collection<String> getHeaders(String name) {
+        List<String> values = headers.get(name.toLowerCase(Locale.ROOT));
+        return values == null ? List.of() : List.copyOf(values);
+    }
+    
+    @Override
+    public Collection<String> getHeaderNames() {
+        return List.copyOf(headers.keySet());
+    }
+    
+    // Servlet contract: a null value removes the header
+    @Override
+    public void setHeader(String name, String value) {
+        if ("content-type".equalsIgnoreCase(name)) {
+            setContentType(value);
+            return;
+        }
+        if (value == null) {
+            headers.remove(name.toLowerCase(Locale.ROOT));
+            return;
+        }
+        List<String> values = new ArrayList<>(1);
+        values.add(value);
+        headers.put(name.toLowerCase(Locale.ROOT), values);
+    }
+    
+    // Servlet contract: a null value is ignored
+    @Override
+    public void addHeader(String name, String value) {
+        if (value == null) {
+            return;
+        }
+        if ("content-type".equalsIgnoreCase(name)) {
+            setContentType(value);
+            return;
+        }
+        headers.computeIfAbsent(name.toLowerCase(Locale.ROOT), key -> new ArrayList<>(1)).add(value);
+    }
+    
+    @Override
+    public void setIntHeader(String name, int value) {
+        setHeader(name, Integer.toString(value));
+    }
+    
+    @Override
+    public void addIntHeader(String name, int value) {
+        addHeader(name, Integer.toString(value));
+    }
+    
+    @Override
+    public void setDateHeader(String name, long date) {
+        setHeader(name, DATE_FORMAT.format(Instant.ofEpochMilli(date)));
+    }
+    
+    @Override
+    public void addDateHeader(String name, long date) {
+        addHeader(name, DATE_FORMAT.format(Instant.ofEpochMilli(date)));
+    }
+    
+    @Override
+    public void addCookie(Cookie cookie) {
+        // Sub-requests cannot set cookies on the batch response
+    }
+    
+    @Override
+    public String getContentType() {
+        return contentType;
+    }
+    
+    @Override
+    public void setContentType(String type) {
+        this.contentType = type;
+        if (type != null) {
+            int index = type.toLowerCase(Locale.ROOT).indexOf("charset=");
+            if (index >= 0) {
+                charset = Charset.forName(type.substring(index + 8).trim());
+            }
+        }
+    }
+    
+    @Override
+    public String getCharacterEncoding() {
+        return charset.name();
+    }
+    
+    @Override
+    public void setCharacterEncoding(String encoding) {
+        if (encoding != null) {
+            charset = Charset.forName(encoding);
+        }
+    }
+    
+    @Override
+    public void setContentLength(int length) {
+    }
+    
+    @Override
+    public void setContentLengthLong(long length) {
+    }
+    
+    @Override
+    public Locale getLocale() {
+        return locale;
+    }
+    
+    @Override
+    public void setLocale(Locale locale) {
+        this.locale = locale;
+    }
+    
+    @Override
+    public ServletOutputStream getOutputStream() {
+        if (outputStream == null) {
+            outputStream = new ServletOutputStream() {
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+                
+                @Override
+                public void setWriteListener(WriteListener writeListener) {
+                    // Writes go to memory and never block
+                    try {
+                        writeListener.onWritePossible();
+                    } catch (IOException ex) {
+                        writeListener.onError(ex);
+                    }
+                }
+                
+                @Override
+                public void write(int b) {
+                    body.write(b);
+                }
+                
+                @Override
+                public void write(byte[] b, int off, int len) {
+                    body.write(b, off, len);
+                }
+            };
+        }
+        return outputStream;
+    }
+    
+    @Override
+    public PrintWriter getWriter() {
+        if (writer == null) {
+            writer = new PrintWriter(new OutputStreamWriter(body, charset));
+        }
+        return writer;
+    }
+    
+    @Override
+    public void flushBuffer() {
+        if (writer != null) {
+            writer.flush();
+        }
+    }
+    
+    @Override
+    public int getBufferSize() {
+        return body.size();
+    }
+    
+    @Override
+    public void setBufferSize(int size) {
+    }
+    
+    @Override
+    public boolean isCommitted() {
+        return false;
+    }
+    
+    @Override
+    public void reset() {
+        resetBuffer();
+        headers.clear();
+        status = SC_OK;
+        contentType = null;
+    }
+    
+    @Override
+    public void resetBuffer() {
+        body.reset();
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.secure_customer_api.config;
+
+import com.example.secure_customer_api.observability.SqlStatementCounter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+@Configuration
+public class AsyncConfig {
+
+    /**
+     * Carries the caller's SecurityContext onto async tasks. Boot applies this to
+     * the application task executor on both platform and virtual threads; without
+     * it, work handed off from a request would run unauthenticated. The SQL
+     * statement scope goes along too, so the request's statement count includes
+     * what its tasks execute. Boot applies only a unique TaskDecorator, hence one
+     * bean for both.
+     */
+    @Bean
+    public TaskDecorator securityContextTaskDecorator() {
+        return task -> {
+            SecurityContext context = SecurityContextHolder.getContext();
+            Runnable runnable = SqlStatementCounter.propagate(task);
+            return () -> {
+                SecurityContext previous = SecurityContextHolder.getContext();
+                SecurityContextHolder.setContext(context);
+                try {
+                    runnable.run();
+                } finally {
+                    SecurityContextHolder.setContext(previous);
+                }
+            };
+        };
+    }
+}
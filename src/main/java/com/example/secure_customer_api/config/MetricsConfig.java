@@ -0,0 +1,19 @@
+package com.example.secure_customer_api.config;
+
+import io.micrometer.core.instrument.config.MeterFilter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class MetricsConfig {
+
+    /**
+     * Spring MVC already tags requests by path template, not raw URI. This cap is
+     * a backstop so a misconfigured mapping cannot explode series cardinality.
+     */
+    @Bean
+    public MeterFilter httpUriCardinalityLimit(@Value("${metrics.http.max-uri-tags:100}") int maxUriTags) {
+        return MeterFilter.maximumAllowableTags("http.server.requests", "uri", maxUriTags, MeterFilter.deny());
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.secure_customer_api.config;
+
+import com.example.secure_customer_api.dto.*;
+import com.example.secure_customer_api.observability.CountingAsyncAppender;
+import com.example.secure_customer_api.observability.LogSamplingTurboFilter;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+/**
+ * Reflection, proxy and resource hints for the native image. Spring AOT already
+ * covers beans, repositories, entities and controller signatures; this adds what
+ * it cannot see: DTOs serialized inside Maps or by hand, jjwt's reflective
+ * loading of its implementation, datasource-proxy's JDK proxies and the Logback
+ * classes named in logback-spring.xml.
+ */
+public class NativeHints implements RuntimeHintsRegistrar {
+
+    // jjwt-api instantiates these by name from jjwt-impl (runtime scope, so not referenced directly)
+    private static final String[] JJWT_IMPL_TYPES = {
+            "io.jsonwebtoken.impl.DefaultJwtBuilder",
+            "io.jsonwebtoken.impl.DefaultJwtParserBuilder",
+            "io.jsonwebtoken.impl.DefaultJwtHeaderBuilder",
+            "io.jsonwebtoken.impl.DefaultClaimsBuilder",
+            "io.jsonwebtoken.impl.io.StandardCompressionAlgorithms",
+            "io.jsonwebtoken.impl.security.StandardSecureDigestAlgorithms",
+            "io.jsonwebtoken.impl.security.StandardEncryptionAlgorithms",
+            "io.jsonwebtoken.impl.security.StandardKeyAlgorithms",
+            "io.jsonwebtoken.impl.security.StandardKeyOperations",
+            "io.jsonwebtoken.impl.security.StandardHashAlgorithms",
+            "io.jsonwebtoken.impl.security.StandardCurves",
+            "io.jsonwebtoken.impl.security.KeysBridge",
+            "io.jsonwebtoken.jackson.io.JacksonSerializer",
+            "io.jsonwebtoken.jackson.io.JacksonDeserializer",
+    };
+
+    private static final Class<?>[] DTO_TYPES = {
+            AuditRecordDTO.class, BatchOperationDTO.class, BatchResultDTO.class,
+            BulkUserResultDTO.class, BulkUserUpdateDTO.class, ChangePasswordDTO.class, CustomerDeltaDTO.class, CustomerPageDTO.class, CustomerRequestDTO.class,
+            CustomerResponseDTO.class, CustomerStatsDTO.class, CustomerUpdateDTO.class,
+            ErrorResponseDTO.class, ForgotPasswordDTO.class, LoginRequestDTO.class,
+            LoginResponseDTO.class, RefreshTokenDTO.class, RegisterRequestDTO.class,
+            ResetPasswordDTO.class, UpdateProfileDTO.class, UpdateRoleDTO.class,
+            UserFilterDTO.class, UserPageDTO.class, UserResponseDTO.class,
+    };
+
+    private static final String PROXY_JDBC_OBJECT = "net.ttddyy.dsproxy.proxy.ProxyJdbcObject";
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        new BindingReflectionHintsRegistrar().registerReflectionHints(hints.reflection(), DTO_TYPES);
+
+        for (String type : JJWT_IMPL_TYPES) {
+            hints.reflection().registerType(TypeReference.of(type),
+                    MemberCategory.INVOKE_DECLARED_CONSTRUCTORS, MemberCategory.INVOKE_DECLARED_METHODS);
+        }
+        hints.resources().registerPattern("META-INF/services/io.jsonwebtoken.*");
+
+        for (Class<?> jdbcType : new Class<?>[] {Connection.class, Statement.class, PreparedStatement.class,
+                CallableStatement.class, ResultSet.class}) {
+            hints.proxies().registerJdkProxy(TypeReference.of(PROXY_JDBC_OBJECT), TypeReference.of(jdbcType));
+        }
+
+        for (Class<?> logbackType : new Class<?>[] {CountingAsyncAppender.class, LogSamplingTurboFilter.class}) {
+            hints.reflection().registerType(logbackType,
+                    MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS, MemberCategory.INVOKE_PUBLIC_METHODS);
+        }
+        hints.resources().registerPattern("logback-spring.xml");
+    }
+}
@@ -1,15 +1,31 @@
 package com.example.secure_customer_api.controller;
 
+import com.example.secure_customer_api.audit.AuditAction;
+import com.example.secure_customer_api.audit.AuditLog;
+import com.example.secure_customer_api.dto.AuditRecordDTO;
+import com.example.secure_customer_api.dto.BulkUserResultDTO;
+import com.example.secure_customer_api.dto.BulkUserUpdateDTO;
 import com.example.secure_customer_api.dto.UpdateRoleDTO;
+import com.example.secure_customer_api.dto.UserFilterDTO;
+import com.example.secure_customer_api.dto.UserPageDTO;
 import com.example.secure_customer_api.dto.UserResponseDTO;
+import com.example.secure_customer_api.exception.InvalidRequestException;
+import com.example.secure_customer_api.observability.RequestDebugLogging;
+import com.example.secure_customer_api.service.RegistrationAvailabilityFilter;
 import com.example.secure_customer_api.service.UserService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/admin")
@@ -19,17 +35,51 @@ public class AdminController {
   @Autowired
   private UserService userService;
 
+  @Autowired
+  private RegistrationAvailabilityFilter availabilityFilter;
+
+  @Autowired
+  private RequestDebugLogging requestDebugLogging;
+
+  @Autowired
+  private AuditLog auditLog;
+
   // ==================== Exercise 8: Admin Endpoints ====================
 
+  private static final int MAX_USER_PAGE_SIZE = 500;
+
   /**
    * Task 8.1: List All Users (3 points)
-   * GET /api/admin/users - Return all users (admin only)
+   * GET /api/admin/users?role=&active=&keyword=&createdFrom=&createdTo=&sortBy=id&sortDir=asc&size=50
+   * - Keyset pages: pass the previous response's nextCursor as ?cursor=; ?page= switches to offset
+   * paging with totals. keyword is a username/email prefix; sortBy is id, username, email or createdAt.
    */
   @GetMapping("/users")
   @PreAuthorize("hasRole('ADMIN')")
-  public ResponseEntity<List<UserResponseDTO>> getAllUsers() {
-    List<UserResponseDTO> users = userService.getAllUsers();
-    return ResponseEntity.ok(users);
+  public ResponseEntity<UserPageDTO> getAllUsers(
+      UserFilterDTO filter,
+      @RequestParam(defaultValue = "id") String sortBy,
+      @RequestParam(defaultValue = "asc") String sortDir,
+      @RequestParam(required = false) String cursor,
+      @RequestParam(required = false) Integer page,
+      @RequestParam(defaultValue = "50") int size) {
+    int boundedSize = Math.max(1, Math.min(size, MAX_USER_PAGE_SIZE));
+    Integer boundedPage = page != null ? Math.max(0, page) : null;
+    return ResponseEntity.ok(userService.listUsers(filter, sortBy, sortDir, cursor, boundedPage, boundedSize));
+  }
+
+  /**
+   * GET /api/admin/users/export - Every user matching the same filters as /users, streamed as NDJSON.
+   * Runs as an async request, bounded by spring.mvc.async.request-timeout.
+   */
+  @GetMapping(value = "/users/export", produces = "application/x-ndjson")
+  @PreAuthorize("hasRole('ADMIN')")
+  public ResponseEntity<StreamingResponseBody> exportUsers(UserFilterDTO filter) {
+    StreamingResponseBody body = out -> userService.exportUsers(filter, out);
+    return ResponseEntity.ok()
+        .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"users.ndjson\"")
+        .contentType(MediaType.parseMediaType("application/x-ndjson"))
+        .body(body);
   }
 
   /**
@@ -42,6 +92,7 @@ public class AdminController {
       @PathVariable Long id,
       @Valid @RequestBody UpdateRoleDTO updateRoleDTO) {
     UserResponseDTO updatedUser = userService.updateUserRole(id, updateRoleDTO);
+    auditLog.record(AuditAction.USER_ROLE_CHANGED, "user:" + id, "role=" + updatedUser.getRole());
     return ResponseEntity.ok(updatedUser);
   }
 
@@ -53,6 +104,121 @@ public class AdminController {
   @PreAuthorize("hasRole('ADMIN')")
   public ResponseEntity<UserResponseDTO> toggleUserStatus(@PathVariable Long id) {
     UserResponseDTO updatedUser = userService.toggleUserStatus(id);
+    auditLog.record(AuditAction.USER_STATUS_CHANGED, "user:" + id, "active=" + updatedUser.getIsActive());
     return ResponseEntity.ok(updatedUser);
   }
+
+  // ==================== Bulk User Updates ====================
+
+  /**
+   * PUT /api/admin/users/bulk/status - Set isActive on {"ids": [...]} or {"filter": {...}}, e.g. {"ids": [4, 7], "active": false}.
+   * Sets rather than toggles, so a retried request is harmless; deactivation also revokes refresh tokens.
+   */
+  @PutMapping("/users/bulk/status")
+  @PreAuthorize("hasRole('ADMIN')")
+  public ResponseEntity<BulkUserResultDTO> bulkSetUserStatus(@RequestBody BulkUserUpdateDTO request) {
+    if (request.getActive() == null || request.getRole() != null) {
+      throw new InvalidRequestException("Bulk status update takes 'active' and no 'role'");
+    }
+    BulkUserResultDTO result = userService.setUsersActive(request.getIds(), request.getFilter(), request.getActive());
+    for (Long id : result.getUpdated()) {
+      auditLog.record(AuditAction.USER_STATUS_CHANGED, "user:" + id, "active=" + request.getActive() + " bulk");
+    }
+    return ResponseEntity.ok(result);
+  }
+
+  /**
+   * PUT /api/admin/users/bulk/role - Set the role on {"ids": [...]} or {"filter": {...}}, e.g. {"ids": [4, 7], "role": "USER"}
+   */
+  @PutMapping("/users/bulk/role")
+  @PreAuthorize("hasRole('ADMIN')")
+  public ResponseEntity<BulkUserResultDTO> bulkSetUserRole(@RequestBody BulkUserUpdateDTO request) {
+    if (request.getRole() == null || request.getActive() != null) {
+      throw new InvalidRequestException("Bulk role update takes 'role' and no 'active'");
+    }
+    BulkUserResultDTO result = userService.setUsersRole(request.getIds(), request.getFilter(), request.getRole());
+    for (Long id : result.getUpdated()) {
+      auditLog.record(AuditAction.USER_ROLE_CHANGED, "user:" + id, "role=" + request.getRole() + " bulk");
+    }
+    return ResponseEntity.ok(result);
+  }
+
+  // ==================== Registration Availability Filter ====================
+
+  /**
+   * GET /api/admin/registration-filter - Bloom filter size and false-positive metrics
+   */
+  @GetMapping("/registration-filter")
+  @PreAuthorize("hasRole('ADMIN')")
+  public ResponseEntity<Map<String, Object>> getRegistrationFilterStats() {
+    return ResponseEntity.ok(availabilityFilter.getStats());
+  }
+
+  /**
+   * POST /api/admin/registration-filter/rebuild - Rebuild the filter from the users table
+   */
+  @PostMapping("/registration-filter/rebuild")
+  @PreAuthorize("hasRole('ADMIN')")
+  public ResponseEntity<Map<String, Object>> rebuildRegistrationFilter() {
+    availabilityFilter.rebuild();
+    return ResponseEntity.ok(availabilityFilter.getStats());
+  }
+
+  // ==================== Per-user Debug Logging ====================
+
+  /**
+   * GET /api/admin/logging/debug - Users whose requests are logged at DEBUG, with expiry
+   */
+  @GetMapping("/logging/debug")
+  @PreAuthorize("hasRole('ADMIN')")
+  public ResponseEntity<Map<String, Instant>> getDebugLoggingUsers() {
+    return ResponseEntity.ok(requestDebugLogging.getActive());
+  }
+
+  /**
+   * PUT /api/admin/logging/debug/{username}?minutes=15 - Log this user's requests at DEBUG (max 60 minutes)
+   */
+  @PutMapping("/logging/debug/{username}")
+  @PreAuthorize("hasRole('ADMIN')")
+  public ResponseEntity<Map<String, Instant>> enableDebugLogging(
+      @PathVariable String username,
+      @RequestParam(defaultValue = "15") int minutes) {
+    Instant until = requestDebugLogging.enable(username, Duration.ofMinutes(Math.max(1, minutes)));
+    return ResponseEntity.ok(Map.of(username, until));
+  }
+
+  /**
+   * DELETE /api/admin/logging/debug/{username} - Stop debug logging for this user
+   */
+  @DeleteMapping("/logging/debug/{username}")
+  @PreAuthorize("hasRole('ADMIN')")
+  public ResponseEntity<Void> disableDebugLogging(@PathVariable String username) {
+    return requestDebugLogging.disable(username)
+        ? ResponseEntity.noContent().build()
+        : ResponseEntity.notFound().build();
+  }
+
+  // ==================== Audit Log ====================
+
+  /**
+   * GET /api/admin/audit?from=&to=&actor=&limit=100 - Audit events in a time range (ISO-8601 instants,
+   * default last 24 hours), oldest first, optionally only those by one actor
+   */
+  @GetMapping("/audit")
+  @PreAuthorize("hasRole('ADMIN')")
+  public ResponseEntity<List<AuditRecordDTO>> getAuditLog(
+      @RequestParam(required = false) Instant from,
+      @RequestParam(required = false) Instant to,
+      @RequestParam(required = false) String actor,
+      @RequestParam(defaultValue = "100") int limit) {
+    Instant until = to != null ? to : Instant.now();
+    Instant since = from != null ? from : until.minus(Duration.ofDays(1));
+    int boundedLimit = Math.max(1, Math.min(limit, 1000));
+    List<AuditRecordDTO> records = auditLog.query(since.toEpochMilli(), until.toEpochMilli(), actor, boundedLimit)
+        .stream()
+        .map(event -> new AuditRecordDTO(Instant.ofEpochMilli(event.getTimestamp()), event.getActor(),
+            event.getAction().name(), event.getTarget(), event.getDetail()))
+        .toList();
+    return ResponseEntity.ok(records);
+  }
 }
@@ -0,0 +1,34 @@
+package com.example.secure_customer_api.controller;
+
+import com.example.secure_customer_api.batch.BatchService;
+import com.example.secure_customer_api.dto.BatchOperationDTO;
+import com.example.secure_customer_api.dto.BatchResultDTO;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/batch")
+@CrossOrigin(origins = "*")
+public class BatchController {
+
+    @Autowired
+    private BatchService batchService;
+
+    // POST - Several API calls in one round trip, authorized as the caller.
+    // Operations are checked one by one, so a bad operation gets a 400 result
+    // instead of failing the whole batch; results keep request order.
+    // JSON only: sub-response bodies are embedded as raw JSON, which CBOR and Smile cannot carry.
+    @PostMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<List<BatchResultDTO>> executeBatch(
+            @RequestBody List<BatchOperationDTO> operations,
+            HttpServletRequest request,
+            HttpServletResponse response) {
+        return ResponseEntity.ok(batchService.execute(operations, request, response));
+    }
+}
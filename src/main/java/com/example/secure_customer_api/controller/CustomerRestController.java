@@ -1,10 +1,18 @@
 package com.example.secure_customer_api.controller;
 
+import com.example.secure_customer_api.audit.AuditAction;
+import com.example.secure_customer_api.audit.AuditLog;
+import com.example.secure_customer_api.dto.CustomerDeltaDTO;
+import com.example.secure_customer_api.dto.CustomerPageDTO;
 import com.example.secure_customer_api.dto.CustomerRequestDTO;
 import com.example.secure_customer_api.dto.CustomerResponseDTO;
+import com.example.secure_customer_api.dto.CustomerStatsDTO;
 import com.example.secure_customer_api.dto.CustomerUpdateDTO; 
 import com.example.secure_customer_api.entity.CustomerStatus; 
+import com.example.secure_customer_api.service.CustomerChangeStreamService;
+import com.example.secure_customer_api.service.CustomerFields;
 import com.example.secure_customer_api.service.CustomerService;
+import com.example.secure_customer_api.service.CustomerStatsService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
@@ -12,9 +20,11 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.HashMap;
 import java.util.List;
@@ -28,31 +38,69 @@ public class CustomerRestController {
     @Autowired
     private CustomerService customerService;
 
-    // GET - All users can view (Pagination & Sorting)
+    @Autowired
+    private CustomerStatsService customerStatsService;
+
+    @Autowired
+    private CustomerChangeStreamService customerChangeStreamService;
+
+    @Autowired
+    private AuditLog auditLog;
+
+    // GET - All users can view (Pagination & Sorting, optional ?fields=id,fullName,...)
     @GetMapping
-    public ResponseEntity<Map<String, Object>> getAllCustomers(
+    public ResponseEntity<CustomerPageDTO<?>> getAllCustomers(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "id") String sortBy,
-            @RequestParam(defaultValue = "asc") String sortDir) {
+            @RequestParam(defaultValue = "asc") String sortDir,
+            @RequestParam(required = false) String fields) {
 
+        List<String> selected = CustomerFields.parse(fields);
         Sort.Direction direction = sortDir.equalsIgnoreCase("asc") ? Sort.Direction.ASC : Sort.Direction.DESC;
         Pageable pageable = PageRequest.of(page, size, Sort.by(direction, sortBy));
 
-        Page<CustomerResponseDTO> customerPage = customerService.getAllCustomers(pageable);
+        Page<?> customerPage = selected == null
+                ? customerService.getAllCustomers(pageable)
+                : customerService.getAllCustomers(pageable, selected);
 
-        Map<String, Object> response = new HashMap<>();
-        response.put("customers", customerPage.getContent());
-        response.put("currentPage", customerPage.getNumber());
-        response.put("totalItems", customerPage.getTotalElements());
-        response.put("totalPages", customerPage.getTotalPages());
+        CustomerPageDTO<?> response = new CustomerPageDTO<>(customerPage.getContent(), customerPage.getNumber(),
+                customerPage.getTotalElements(), customerPage.getTotalPages());
 
         return ResponseEntity.ok(response);
     }
 
+    // GET Stats - All authenticated users (served from in-memory aggregates)
+    @GetMapping("/stats")
+    public ResponseEntity<CustomerStatsDTO> getCustomerStats(@RequestParam(defaultValue = "30") int days) {
+        return ResponseEntity.ok(customerStatsService.getStats(days));
+    }
+
+    // GET Change stream - All authenticated users (Server-Sent Events, resumable via Last-Event-ID)
+    @GetMapping(value = "/changes/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamCustomerChanges(
+            @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+        return customerChangeStreamService.subscribe(lastEventId);
+    }
+
+    // GET Delta - All authenticated users (changes and tombstones after a cursor)
+    @GetMapping("/delta")
+    public ResponseEntity<CustomerDeltaDTO> getCustomerDelta(
+            @RequestParam(defaultValue = "0") long since,
+            @RequestParam(defaultValue = "100") int limit) {
+        int boundedLimit = Math.max(1, Math.min(limit, 1000));
+        return ResponseEntity.ok(customerService.getCustomerChangesSince(since, boundedLimit));
+    }
+
     // GET by ID - All users can view
     @GetMapping("/{id}")
-    public ResponseEntity<CustomerResponseDTO> getCustomerById(@PathVariable Long id) {
+    public ResponseEntity<?> getCustomerById(
+            @PathVariable Long id,
+            @RequestParam(required = false) String fields) {
+        List<String> selected = CustomerFields.parse(fields);
+        if (selected != null) {
+            return ResponseEntity.ok(customerService.getCustomerById(id, selected));
+        }
         CustomerResponseDTO customer = customerService.getCustomerById(id);
         return ResponseEntity.ok(customer);
     }
@@ -62,6 +110,7 @@ public class CustomerRestController {
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<CustomerResponseDTO> createCustomer(@Valid @RequestBody CustomerRequestDTO requestDTO) {
         CustomerResponseDTO created = customerService.createCustomer(requestDTO);
+        auditLog.record(AuditAction.CUSTOMER_CREATED, "customer:" + created.getId(), created.getCustomerCode());
         return ResponseEntity.status(HttpStatus.CREATED).body(created);
     }
 
@@ -72,6 +121,7 @@ public class CustomerRestController {
             @PathVariable Long id,
             @Valid @RequestBody CustomerRequestDTO requestDTO) {
         CustomerResponseDTO updated = customerService.updateCustomer(id, requestDTO);
+        auditLog.record(AuditAction.CUSTOMER_UPDATED, "customer:" + id, updated.getCustomerCode());
         return ResponseEntity.ok(updated);
     }
 
@@ -83,6 +133,7 @@ public class CustomerRestController {
             @RequestBody CustomerUpdateDTO updateDTO) {
         
         CustomerResponseDTO updated = customerService.partialUpdateCustomer(id, updateDTO);
+        auditLog.record(AuditAction.CUSTOMER_UPDATED, "customer:" + id, updated.getCustomerCode());
         return ResponseEntity.ok(updated);
     }
 
@@ -91,6 +142,7 @@ public class CustomerRestController {
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<Map<String, String>> deleteCustomer(@PathVariable Long id) {
         customerService.deleteCustomer(id);
+        auditLog.record(AuditAction.CUSTOMER_DELETED, "customer:" + id, null);
         Map<String, String> response = new HashMap<>();
         response.put("message", "Customer deleted successfully");
         return ResponseEntity.ok(response);
@@ -98,15 +150,25 @@ public class CustomerRestController {
 
     // SEARCH - All authenticated users
     @GetMapping("/search")
-    public ResponseEntity<List<CustomerResponseDTO>> searchCustomers(@RequestParam String keyword) {
-        List<CustomerResponseDTO> customers = customerService.searchCustomers(keyword);
+    public ResponseEntity<List<?>> searchCustomers(
+            @RequestParam String keyword,
+            @RequestParam(required = false) String fields) {
+        List<String> selected = CustomerFields.parse(fields);
+        List<?> customers = selected == null
+                ? customerService.searchCustomers(keyword)
+                : customerService.searchCustomers(keyword, selected);
         return ResponseEntity.ok(customers);
     }
 
     // GET by Status - All authenticated users -> Migrated from old controller
     @GetMapping("/status/{status}")
-    public ResponseEntity<List<CustomerResponseDTO>> getCustomersByStatus(@PathVariable CustomerStatus status) {
-        List<CustomerResponseDTO> customers = customerService.getCustomersByStatus(status);
+    public ResponseEntity<List<?>> getCustomersByStatus(
+            @PathVariable CustomerStatus status,
+            @RequestParam(required = false) String fields) {
+        List<String> selected = CustomerFields.parse(fields);
+        List<?> customers = selected == null
+                ? customerService.getCustomersByStatus(status)
+                : customerService.getCustomersByStatus(status, selected);
         return ResponseEntity.ok(customers);
     }
 }
\ No newline at end of file
@@ -0,0 +1,65 @@
+package com.example.secure_customer_api.dto;
+
+import java.time.Instant;
+
+public class AuditRecordDTO {
+    
+    private Instant timestamp;
+    private String actor;
+    private String action;
+    private String target;
+    private String detail;
+    
+    // Constructors
+    public AuditRecordDTO() {
+    }
+    
+    public AuditRecordDTO(Instant timestamp, String actor, String action, String target, String detail) {
+        this.timestamp = timestamp;
+        this.actor = actor;
+        this.action = action;
+        this.target = target;
+        this.detail = detail;
+    }
+    
+    // Getters and Setters
+    public Instant getTimestamp() {
+        return timestamp;
+    }
+    
+    public void setTimestamp(Instant timestamp) {
+        this.timestamp = timestamp;
+    }
+    
+    public String getActor() {
+        return actor;
+    }
+    
+    public void setActor(String actor) {
+        this.actor = actor;
+    }
+    
+    public String getAction() {
+        return action;
+    }
+    
+    public void setAction(String action) {
+        this.action = action;
+    }
+    
+    public String getTarget() {
+        return target;
+    }
+    
+    public void setTarget(String target) {
+        this.target = target;
+    }
+    
+    public String getDetail() {
+        return detail;
+    }
+    
+    public void setDetail(String detail) {
+        this.detail = detail;
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.secure_customer_api.dto;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+// One sub-request of POST /api/batch; method and path are validated by BatchService
+public class BatchOperationDTO {
+    
+    // Optional client reference, echoed back in the result
+    private String id;
+    private String method;
+    private String path;
+    private JsonNode body;
+    
+    // Constructors
+    public BatchOperationDTO() {
+    }
+    
+    public BatchOperationDTO(String id, String method, String path, JsonNode body) {
+        this.id = id;
+        this.method = method;
+        this.path = path;
+        this.body = body;
+    }
+    
+    // Getters and Setters
+    public String getId() {
+        return id;
+    }
+    
+    public void setId(String id) {
+        this.id = id;
+    }
+    
+    public String getMethod() {
+        return method;
+    }
+    
+    public void setMethod(String method) {
+        this.method = method;
+    }
+    
+    public String getPath() {
+        return path;
+    }
+    
+    public void setPath(String path) {
+        this.path = path;
+    }
+    
+    public JsonNode getBody() {
+        return body;
+    }
+    
+    public void setBody(JsonNode body) {
+        this.body = body;
+    }
+}
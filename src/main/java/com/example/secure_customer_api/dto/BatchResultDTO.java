@@ -0,0 +1,60 @@
+package com.example.secure_customer_api.dto;
+
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.fasterxml.jackson.annotation.JsonRawValue;
+
+// Outcome of one sub-request; body is the sub-response JSON, embedded as is
+@JsonPropertyOrder({"id", "status", "durationMs", "body"})
+public class BatchResultDTO {
+    
+    private String id;
+    private int status;
+    private long durationMs;
+    
+    @JsonRawValue
+    private String body;
+    
+    // Constructors
+    public BatchResultDTO() {
+    }
+    
+    public BatchResultDTO(String id, int status, long durationMs, String body) {
+        this.id = id;
+        this.status = status;
+        this.durationMs = durationMs;
+        this.body = body;
+    }
+    
+    // Getters and Setters
+    public String getId() {
+        return id;
+    }
+    
+    public void setId(String id) {
+        this.id = id;
+    }
+    
+    public int getStatus() {
+        return status;
+    }
+    
+    public void setStatus(int status) {
+        this.status = status;
+    }
+    
+    public long getDurationMs() {
+        return durationMs;
+    }
+    
+    public void setDurationMs(long durationMs) {
+        this.durationMs = durationMs;
+    }
+    
+    public String getBody() {
+        return body;
+    }
+    
+    public void setBody(String body) {
+        this.body = body;
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.secure_customer_api.dto;
+
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Per-id outcome of a bulk admin update: changed, already in the requested state, or no such user
+@JsonPropertyOrder({"updated", "unchanged", "notFound"})
+public class BulkUserResultDTO {
+    
+    private List<Long> updated = new ArrayList<>();
+    private List<Long> unchanged = new ArrayList<>();
+    private List<Long> notFound = new ArrayList<>();
+    
+    // Constructors
+    public BulkUserResultDTO() {
+    }
+    
+    // Getters and Setters
+    public List<Long> getUpdated() {
+        return updated;
+    }
+    
+    public void setUpdated(List<Long> updated) {
+        this.updated = updated;
+    }
+    
+    public List<Long> getUnchanged() {
+        return unchanged;
+    }
+    
+    public void setUnchanged(List<Long> unchanged) {
+        this.unchanged = unchanged;
+    }
+    
+    public List<Long> getNotFound() {
+        return notFound;
+    }
+    
+    public void setNotFound(List<Long> notFound) {
+        this.notFound = notFound;
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.secure_customer_api.dto;
+
+import com.example.secure_customer_api.entity.Role;
+
+import java.util.List;
+
+// Body of the bulk admin endpoints: target users by explicit ids or by a filter, never both.
+// Each endpoint applies exactly one of role/active; the value is set, not toggled, so retries are safe.
+public class BulkUserUpdateDTO {
+    
+    private List<Long> ids;
+    private UserFilterDTO filter;
+    private Role role;
+    private Boolean active;
+    
+    // Constructors
+    public BulkUserUpdateDTO() {
+    }
+    
+    // Getters and Setters
+    public List<Long> getIds() {
+        return ids;
+    }
+    
+    public void setIds(List<Long> ids) {
+        this.ids = ids;
+    }
+    
+    public UserFilterDTO getFilter() {
+        return filter;
+    }
+    
+    public void setFilter(UserFilterDTO filter) {
+        this.filter = filter;
+    }
+    
+    public Role getRole() {
+        return role;
+    }
+    
+    public void setRole(Role role) {
+        this.role = role;
+    }
+    
+    public Boolean getActive() {
+        return active;
+    }
+    
+    public void setActive(Boolean active) {
+        this.active = active;
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.secure_customer_api.dto;
+
+import java.util.List;
+
+public class CustomerDeltaDTO {
+    
+    private List<CustomerResponseDTO> changed;
+    private List<Long> deleted;
+    private long nextCursor;
+    private boolean hasMore;
+    private boolean resyncRequired;
+    
+    // Constructors
+    public CustomerDeltaDTO() {
+    }
+    
+    public CustomerDeltaDTO(List<CustomerResponseDTO> changed, List<Long> deleted,
+                            long nextCursor, boolean hasMore, boolean resyncRequired) {
+        this.changed = changed;
+        this.deleted = deleted;
+        this.nextCursor = nextCursor;
+        this.hasMore = hasMore;
+        this.resyncRequired = resyncRequired;
+    }
+    
+    // Getters and Setters
+    public List<CustomerResponseDTO> getChanged() {
+        return changed;
+    }
+    
+    public void setChanged(List<CustomerResponseDTO> changed) {
+        this.changed = changed;
+    }
+    
+    public List<Long> getDeleted() {
+        return deleted;
+    }
+    
+    public void setDeleted(List<Long> deleted) {
+        this.deleted = deleted;
+    }
+    
+    public long getNextCursor() {
+        return nextCursor;
+    }
+    
+    public void setNextCursor(long nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+    
+    public boolean isHasMore() {
+        return hasMore;
+    }
+    
+    public void setHasMore(boolean hasMore) {
+        this.hasMore = hasMore;
+    }
+    
+    public boolean isResyncRequired() {
+        return resyncRequired;
+    }
+    
+    public void setResyncRequired(boolean resyncRequired) {
+        this.resyncRequired = resyncRequired;
+    }
+}
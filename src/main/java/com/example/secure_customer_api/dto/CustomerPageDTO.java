@@ -0,0 +1,60 @@
+package com.example.secure_customer_api.dto;
+
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+import java.util.List;
+
+// Page envelope for GET /api/customers; same fields as the Map it replaces.
+// T is CustomerResponseDTO, or a field map when ?fields= is given.
+@JsonPropertyOrder({"customers", "currentPage", "totalItems", "totalPages"})
+public class CustomerPageDTO<T> {
+    
+    private List<T> customers;
+    private int currentPage;
+    private long totalItems;
+    private int totalPages;
+    
+    // Constructors
+    public CustomerPageDTO() {
+    }
+    
+    public CustomerPageDTO(List<T> customers, int currentPage, long totalItems, int totalPages) {
+        this.customers = customers;
+        this.currentPage = currentPage;
+        this.totalItems = totalItems;
+        this.totalPages = totalPages;
+    }
+    
+    // Getters and Setters
+    public List<T> getCustomers() {
+        return customers;
+    }
+    
+    public void setCustomers(List<T> customers) {
+        this.customers = customers;
+    }
+    
+    public int getCurrentPage() {
+        return currentPage;
+    }
+    
+    public void setCurrentPage(int currentPage) {
+        this.currentPage = currentPage;
+    }
+    
+    public long getTotalItems() {
+        return totalItems;
+    }
+    
+    public void setTotalItems(long totalItems) {
+        this.totalItems = totalItems;
+    }
+    
+    public int getTotalPages() {
+        return totalPages;
+    }
+    
+    public void setTotalPages(int totalPages) {
+        this.totalPages = totalPages;
+    }
+}
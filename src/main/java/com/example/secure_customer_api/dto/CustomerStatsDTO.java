@@ -0,0 +1,58 @@
+package com.example.secure_customer_api.dto;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+public class CustomerStatsDTO {
+    
+    private long total;
+    private Map<String, Long> statusCounts;
+    private Map<LocalDate, Long> createdPerDay;
+    private LocalDateTime reconciledAt;
+    
+    // Constructors
+    public CustomerStatsDTO() {
+    }
+    
+    public CustomerStatsDTO(long total, Map<String, Long> statusCounts,
+                            Map<LocalDate, Long> createdPerDay, LocalDateTime reconciledAt) {
+        this.total = total;
+        this.statusCounts = statusCounts;
+        this.createdPerDay = createdPerDay;
+        this.reconciledAt = reconciledAt;
+    }
+    
+    // Getters and Setters
+    public long getTotal() {
+        return total;
+    }
+    
+    public void setTotal(long total) {
+        this.total = total;
+    }
+    
+    public Map<String, Long> getStatusCounts() {
+        return statusCounts;
+    }
+    
+    public void setStatusCounts(Map<String, Long> statusCounts) {
+        this.statusCounts = statusCounts;
+    }
+    
+    public Map<LocalDate, Long> getCreatedPerDay() {
+        return createdPerDay;
+    }
+    
+    public void setCreatedPerDay(Map<LocalDate, Long> createdPerDay) {
+        this.createdPerDay = createdPerDay;
+    }
+    
+    public LocalDateTime getReconciledAt() {
+        return reconciledAt;
+    }
+    
+    public void setReconciledAt(LocalDateTime reconciledAt) {
+        this.reconciledAt = reconciledAt;
+    }
+}
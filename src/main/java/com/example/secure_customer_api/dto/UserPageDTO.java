@@ -0,0 +1,76 @@
+package com.example.secure_customer_api.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+import java.util.List;
+
+// Page envelope for GET /api/admin/users. Keyset pages carry nextCursor (absent on the
+// last page); offset pages (?page=) carry currentPage, totalItems and totalPages instead.
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonPropertyOrder({"users", "nextCursor", "currentPage", "totalItems", "totalPages"})
+public class UserPageDTO {
+    
+    private List<UserResponseDTO> users;
+    private String nextCursor;
+    private Integer currentPage;
+    private Long totalItems;
+    private Integer totalPages;
+    
+    // Constructors
+    public UserPageDTO() {
+    }
+    
+    public UserPageDTO(List<UserResponseDTO> users, String nextCursor) {
+        this.users = users;
+        this.nextCursor = nextCursor;
+    }
+    
+    public UserPageDTO(List<UserResponseDTO> users, int currentPage, long totalItems, int totalPages) {
+        this.users = users;
+        this.currentPage = currentPage;
+        this.totalItems = totalItems;
+        this.totalPages = totalPages;
+    }
+    
+    // Getters and Setters
+    public List<UserResponseDTO> getUsers() {
+        return users;
+    }
+    
+    public void setUsers(List<UserResponseDTO> users) {
+        this.users = users;
+    }
+    
+    public String getNextCursor() {
+        return nextCursor;
+    }
+    
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+    
+    public Integer getCurrentPage() {
+        return currentPage;
+    }
+    
+    public void setCurrentPage(Integer currentPage) {
+        this.currentPage = currentPage;
+    }
+    
+    public Long getTotalItems() {
+        return totalItems;
+    }
+    
+    public void setTotalItems(Long totalItems) {
+        this.totalItems = totalItems;
+    }
+    
+    public Integer getTotalPages() {
+        return totalPages;
+    }
+    
+    public void setTotalPages(Integer totalPages) {
+        this.totalPages = totalPages;
+    }
+}
@@ -4,20 +4,27 @@ import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "customers")
+@Table(name = "customers", uniqueConstraints = {
+    @UniqueConstraint(name = Customer.UK_CUSTOMER_CODE, columnNames = "customer_code"),
+    @UniqueConstraint(name = Customer.UK_EMAIL, columnNames = "email")
+})
 public class Customer {
     
+    // Named so constraint violations can be mapped back to the offending field
+    public static final String UK_CUSTOMER_CODE = "uk_customers_customer_code";
+    public static final String UK_EMAIL = "uk_customers_email";
+    
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
     
-    @Column(name = "customer_code", unique = true, nullable = false, length = 20)
+    @Column(name = "customer_code", nullable = false, length = 20)
     private String customerCode;
     
     @Column(name = "full_name", nullable = false, length = 100)
     private String fullName;
     
-    @Column(unique = true, nullable = false, length = 100)
+    @Column(nullable = false, length = 100)
     private String email;
     
     @Column(length = 20)
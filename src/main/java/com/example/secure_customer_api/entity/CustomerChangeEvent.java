@@ -0,0 +1,84 @@
+package com.example.secure_customer_api.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+// Outbox row appended in the same transaction as the customer write it describes
+@Entity
+@Table(name = "customer_outbox")
+public class CustomerChangeEvent {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "customer_id", nullable = false)
+    private Long customerId;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(name = "change_type", nullable = false, length = 20)
+    private CustomerChangeType changeType;
+    
+    // JSON snapshot of the customer after the change
+    @Column(columnDefinition = "TEXT")
+    private String payload;
+    
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+    
+    @PrePersist
+    protected void onCreate() {
+        this.createdAt = LocalDateTime.now();
+    }
+    
+    // Constructors
+    public CustomerChangeEvent() {
+    }
+    
+    public CustomerChangeEvent(Long customerId, CustomerChangeType changeType, String payload) {
+        this.customerId = customerId;
+        this.changeType = changeType;
+        this.payload = payload;
+    }
+    
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+    
+    public void setId(Long id) {
+        this.id = id;
+    }
+    
+    public Long getCustomerId() {
+        return customerId;
+    }
+    
+    public void setCustomerId(Long customerId) {
+        this.customerId = customerId;
+    }
+    
+    public CustomerChangeType getChangeType() {
+        return changeType;
+    }
+    
+    public void setChangeType(CustomerChangeType changeType) {
+        this.changeType = changeType;
+    }
+    
+    public String getPayload() {
+        return payload;
+    }
+    
+    public void setPayload(String payload) {
+        this.payload = payload;
+    }
+    
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+    
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+}
@@ -0,0 +1,8 @@
+package com.example.secure_customer_api.entity;
+
+// Kind of change recorded in the customer outbox
+public enum CustomerChangeType {
+    CREATED,
+    UPDATED,
+    DELETED
+}
@@ -0,0 +1,55 @@
+package com.example.secure_customer_api.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+// Persisted snapshot of a reconciled customer aggregate (per-status or per-day count)
+@Entity
+@Table(name = "customer_stats")
+public class CustomerStat {
+    
+    @Id
+    @Column(name = "stat_key", length = 40)
+    private String statKey;
+    
+    @Column(name = "stat_count", nullable = false)
+    private long count;
+    
+    @Column(name = "reconciled_at", nullable = false)
+    private LocalDateTime reconciledAt;
+    
+    // Constructors
+    public CustomerStat() {
+    }
+    
+    public CustomerStat(String statKey, long count, LocalDateTime reconciledAt) {
+        this.statKey = statKey;
+        this.count = count;
+        this.reconciledAt = reconciledAt;
+    }
+    
+    // Getters and Setters
+    public String getStatKey() {
+        return statKey;
+    }
+    
+    public void setStatKey(String statKey) {
+        this.statKey = statKey;
+    }
+    
+    public long getCount() {
+        return count;
+    }
+    
+    public void setCount(long count) {
+        this.count = count;
+    }
+    
+    public LocalDateTime getReconciledAt() {
+        return reconciledAt;
+    }
+    
+    public void setReconciledAt(LocalDateTime reconciledAt) {
+        this.reconciledAt = reconciledAt;
+    }
+}
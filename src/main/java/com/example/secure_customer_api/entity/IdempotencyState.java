@@ -0,0 +1,6 @@
+package com.example.secure_customer_api.entity;
+
+public enum IdempotencyState {
+    IN_PROGRESS,
+    COMPLETED
+}
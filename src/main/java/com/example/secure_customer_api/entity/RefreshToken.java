@@ -4,9 +4,12 @@ import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "refresh_tokens")
+@Table(name = "refresh_tokens", uniqueConstraints =
+    @UniqueConstraint(name = RefreshToken.UK_TOKEN, columnNames = "token"))
 public class RefreshToken {
 
+  public static final String UK_TOKEN = "uk_refresh_tokens_token";
+
   @Id
   @GeneratedValue(strategy = GenerationType.IDENTITY)
   private Long id;
@@ -15,7 +18,7 @@ public class RefreshToken {
   @JoinColumn(name = "user_id", nullable = false)
   private User user;
 
-  @Column(unique = true, nullable = false)
+  @Column(nullable = false)
   private String token;
 
   @Column(name = "expiry_date", nullable = false)
@@ -0,0 +1,31 @@
+package com.example.secure_customer_api.exception;
+
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.util.Locale;
+
+/**
+ * Helpers for mapping database constraint violations back to domain errors.
+ */
+public final class ConstraintViolations {
+
+    private ConstraintViolations() {
+    }
+
+    /**
+     * Returns the lower-cased name of the violated constraint, or the driver
+     * message when no name is exposed, so callers can match on either.
+     */
+    public static String violatedConstraint(DataIntegrityViolationException ex) {
+        for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation
+                    && violation.getConstraintName() != null) {
+                return violation.getConstraintName().toLowerCase(Locale.ROOT);
+            }
+        }
+        // Driver did not expose a constraint name - fall back to the message text
+        Throwable root = ex.getMostSpecificCause();
+        return root.getMessage() == null ? "" : root.getMessage().toLowerCase(Locale.ROOT);
+    }
+}
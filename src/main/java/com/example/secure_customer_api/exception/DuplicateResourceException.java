@@ -1,12 +1,17 @@
 package com.example.secure_customer_api.exception;
 
+/**
+ * Thrown for unique-key conflicts and mapped to 409. Like
+ * {@link ResourceNotFoundException} it skips stack capture; a wrapped
+ * database exception keeps its own trace as the cause.
+ */
 public class DuplicateResourceException extends RuntimeException {
     
     public DuplicateResourceException(String message) {
-        super(message);
+        super(message, null, false, false);
     }
     
     public DuplicateResourceException(String message, Throwable cause) {
-        super(message, cause);
+        super(message, cause, false, false);
     }
 }
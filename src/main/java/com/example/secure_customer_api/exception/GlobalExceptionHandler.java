@@ -1,13 +1,14 @@
 package com.example.secure_customer_api.exception;
 
 import com.example.secure_customer_api.dto.ErrorResponseDTO;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.AccessDeniedException;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
-import org.springframework.web.context.request.WebRequest;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -19,13 +20,13 @@ public class GlobalExceptionHandler {
     @ExceptionHandler(ResourceNotFoundException.class)
     public ResponseEntity<ErrorResponseDTO> handleResourceNotFoundException(
             ResourceNotFoundException ex, 
-            WebRequest request) {
+            HttpServletRequest request) {
         
         ErrorResponseDTO error = new ErrorResponseDTO(
             HttpStatus.NOT_FOUND.value(),
             "Not Found",
             ex.getMessage(),
-            request.getDescription(false).replace("uri=", "")
+            request.getRequestURI()
         );
         
         return new ResponseEntity<>(error, HttpStatus.NOT_FOUND);
@@ -35,23 +36,55 @@ public class GlobalExceptionHandler {
     @ExceptionHandler(DuplicateResourceException.class)
     public ResponseEntity<ErrorResponseDTO> handleDuplicateResourceException(
             DuplicateResourceException ex,
-            WebRequest request) {
+            HttpServletRequest request) {
         
         ErrorResponseDTO error = new ErrorResponseDTO(
             HttpStatus.CONFLICT.value(),
             "Conflict",
             ex.getMessage(),
-            request.getDescription(false).replace("uri=", "")
+            request.getRequestURI()
         );
         
         return new ResponseEntity<>(error, HttpStatus.CONFLICT);
     }
     
+    // Handle InvalidRequestException (400)
+    @ExceptionHandler(InvalidRequestException.class)
+    public ResponseEntity<ErrorResponseDTO> handleInvalidRequestException(
+            InvalidRequestException ex,
+            HttpServletRequest request) {
+        
+        ErrorResponseDTO error = new ErrorResponseDTO(
+            HttpStatus.BAD_REQUEST.value(),
+            "Bad Request",
+            ex.getMessage(),
+            request.getRequestURI()
+        );
+        
+        return new ResponseEntity<>(error, HttpStatus.BAD_REQUEST);
+    }
+    
+    // Handle @PreAuthorize denials (403); batch sub-requests bypass the filter chain that would translate them
+    @ExceptionHandler(AccessDeniedException.class)
+    public ResponseEntity<ErrorResponseDTO> handleAccessDeniedException(
+            AccessDeniedException ex,
+            HttpServletRequest request) {
+        
+        ErrorResponseDTO error = new ErrorResponseDTO(
+            HttpStatus.FORBIDDEN.value(),
+            "Forbidden",
+            "Access denied",
+            request.getRequestURI()
+        );
+        
+        return new ResponseEntity<>(error, HttpStatus.FORBIDDEN);
+    }
+    
     // Handle Validation Errors (400)
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ErrorResponseDTO> handleValidationException(
             MethodArgumentNotValidException ex,
-            WebRequest request) {
+            HttpServletRequest request) {
         
         List<String> details = new ArrayList<>();
         for (FieldError error : ex.getBindingResult().getFieldErrors()) {
@@ -62,7 +95,7 @@ public class GlobalExceptionHandler {
             HttpStatus.BAD_REQUEST.value(),
             "Validation Failed",
             "Invalid input data",
-            request.getDescription(false).replace("uri=", "")
+            request.getRequestURI()
         );
         error.setDetails(details);
         
@@ -73,13 +106,13 @@ public class GlobalExceptionHandler {
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ErrorResponseDTO> handleGlobalException(
             Exception ex,
-            WebRequest request) {
+            HttpServletRequest request) {
         
         ErrorResponseDTO error = new ErrorResponseDTO(
             HttpStatus.INTERNAL_SERVER_ERROR.value(),
             "Internal Server Error",
             ex.getMessage(),
-            request.getDescription(false).replace("uri=", "")
+            request.getRequestURI()
         );
         
         return new ResponseEntity<>(error, HttpStatus.INTERNAL_SERVER_ERROR);
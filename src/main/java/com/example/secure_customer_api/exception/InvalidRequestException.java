@@ -0,0 +1,12 @@
+package com.example.secure_customer_api.exception;
+
+/**
+ * Thrown for request parameters the API refuses (e.g. an unknown entry in
+ * {@code ?fields=}) and mapped to 400. Stackless like the other client errors.
+ */
+public class InvalidRequestException extends RuntimeException {
+    
+    public InvalidRequestException(String message) {
+        super(message, null, false, false);
+    }
+}
@@ -1,12 +1,16 @@
 package com.example.secure_customer_api.exception;
 
+/**
+ * Thrown for missing resources and mapped to 404. Expected outcome, not a bug,
+ * so no stack trace is captured: filling it in dominated the cost of a 404.
+ */
 public class ResourceNotFoundException extends RuntimeException {
     
     public ResourceNotFoundException(String message) {
-        super(message);
+        super(message, null, false, false);
     }
     
     public ResourceNotFoundException(String message, Throwable cause) {
-        super(message, cause);
+        super(message, cause, false, false);
     }
 }
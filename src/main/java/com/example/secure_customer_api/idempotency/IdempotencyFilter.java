@@ -0,0 +1,371 @@
+package com.example.secure_customer_api.idempotency;
+
+import com.example.secure_customer_api.dto.ErrorResponseDTO;
+import com.example.secure_customer_api.entity.IdempotencyKey;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.PathContainer;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Honors the {@code Idempotency-Key} header on the write endpoints that clients
+ * retry after timeouts. The first request with a key executes and its response
+ * (status, headers, body) is stored; retries get that response replayed
+ * with {@code Idempotent-Replayed: true} and the service method does not run.
+ * <p>
+ * Keys are scoped to the caller, method and path. Reusing a key for a
+ * different body is a 422. Concurrent duplicates are coalesced: on the same
+ * node they wait for the in-flight request, across nodes they poll the
+ * shared store, and if the original is still running after
+ * {@code idempotency.wait-timeout} they get a 409 with {@code Retry-After}.
+ * Responses with a 5xx status are not stored, so those can be retried.
+ * Bodies above {@code idempotency.max-request-size} get a 413 before they are
+ * buffered in full.
+ * <p>
+ * Runs after the security filter chain so the caller is known and
+ * unauthenticated requests never reach the store.
+ */
+@Component
+@Order(SecurityProperties.DEFAULT_FILTER_ORDER + 1)
+public class IdempotencyFilter extends OncePerRequestFilter {
+    
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+    
+    private static final Pattern KEY = Pattern.compile("[A-Za-z0-9._:-]{1,100}");
+    
+    // Writes covered by the header; everything else passes through untouched
+    private static final Map<String, List<PathPattern>> ENDPOINTS = Map.of(
+            "POST", List.of(PathPatternParser.defaultInstance.parse("/api/customers"),
+                    PathPatternParser.defaultInstance.parse("/api/auth/register")),
+            "PUT", List.of(PathPatternParser.defaultInstance.parse("/api/customers/{id}")));
+    
+    @Autowired
+    private IdempotencyService idempotencyService;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    @Value("${idempotency.wait-timeout:10s}")
+    private Duration waitTimeout;
+    
+    @Value("${idempotency.max-response-size:65536}")
+    private int maxResponseSize;
+    
+    // The body is buffered to hash it, so it is capped here rather than by the JSON parser
+    @Value("${idempotency.max-request-size:65536}")
+    private int maxRequestSize;
+    
+    // Set per response by the container or by filters that also run for the replay
+    private static final Set<String> UNSTORED_HEADERS = Set.of(
+            HttpHeaders.CONTENT_TYPE.toLowerCase(Locale.ROOT), HttpHeaders.CONTENT_LENGTH.toLowerCase(Locale.ROOT),
+            HttpHeaders.TRANSFER_ENCODING.toLowerCase(Locale.ROOT), HttpHeaders.DATE.toLowerCase(Locale.ROOT),
+            HttpHeaders.SET_COOKIE.toLowerCase(Locale.ROOT));
+    
+    // Requests executing on this node, by key id, so local duplicates never touch the store
+    private final ConcurrentHashMap<String, CompletableFuture<IdempotencyKey>> inFlight = new ConcurrentHashMap<>();
+    
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (request.getHeader(HEADER) == null) {
+            return true;
+        }
+        List<PathPattern> patterns = ENDPOINTS.get(request.getMethod());
+        if (patterns == null) {
+            return true;
+        }
+        PathContainer path = PathContainer.parsePath(request.getRequestURI().substring(request.getContextPath().length()));
+        return patterns.stream().noneMatch(pattern -> pattern.matches(path));
+    }
+    
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        String key = request.getHeader(HEADER);
+        if (!KEY.matcher(key).matches()) {
+            writeError(request, response, HttpStatus.BAD_REQUEST,
+                    HEADER + " must be 1-100 characters of letters, digits, '.', '_', ':' or '-'");
+            return;
+        }
+        
+        // Declared length first, then the bytes actually sent (chunked requests have no length)
+        byte[] body = request.getContentLengthLong() > maxRequestSize
+                ? null
+                : request.getInputStream().readNBytes(maxRequestSize + 1);
+        if (body == null || body.length > maxRequestSize) {
+            writeError(request, response, HttpStatus.PAYLOAD_TOO_LARGE,
+                    "Request body exceeds " + maxRequestSize + " bytes");
+            return;
+        }
+        String id = sha256(caller(), request.getMethod(), request.getRequestURI(), key);
+        String requestHash = sha256(request.getMethod(), request.getRequestURI(),
+                new String(body, StandardCharsets.UTF_8));
+        
+        CompletableFuture<IdempotencyKey> mine = new CompletableFuture<>();
+        CompletableFuture<IdempotencyKey> running = inFlight.putIfAbsent(id, mine);
+        if (running != null) {
+            replayWhenDone(running, requestHash, request, response);
+            return;
+        }
+        
+        IdempotencyKey stored = null;
+        try {
+            stored = executeOnce(id, requestHash, new CachedBodyRequest(request, body), response, filterChain);
+        } finally {
+            inFlight.remove(id, mine);
+            mine.complete(stored);
+        }
+    }
+    
+    private IdempotencyKey executeOnce(String id, String requestHash, HttpServletRequest request,
+                                       HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        IdempotencyService.Claim claim = idempotencyService.claim(id, requestHash);
+        switch (claim.getOutcome()) {
+            case MISMATCH -> {
+                writeMismatch(request, response);
+                return null;
+            }
+            case REPLAY -> {
+                replay(claim.getStored(), response);
+                return claim.getStored();
+            }
+            case IN_PROGRESS -> {
+                // Running on another node; wait for its stored response
+                Optional<IdempotencyKey> completed;
+                try {
+                    completed = idempotencyService.awaitCompletion(id, waitTimeout);
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    completed = Optional.empty();
+                }
+                if (completed.isPresent()) {
+                    replay(completed.get(), response);
+                } else {
+                    writeInProgress(request, response);
+                }
+                return completed.orElse(null);
+            }
+            default -> {
+                return execute(id, requestHash, request, response, filterChain);
+            }
+        }
+    }
+    
+    private IdempotencyKey execute(String id, String requestHash, HttpServletRequest request,
+                                   HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        // Headers already set by earlier filters (correlation id etc.) are set again on the replay
+        Set<String> before = response.getHeaderNames().stream()
+                .map(name -> name.toLowerCase(Locale.ROOT))
+                .collect(Collectors.toSet());
+        IdempotencyKey stored = null;
+        try {
+            filterChain.doFilter(request, wrapper);
+            int status = wrapper.getStatus();
+            if (status < 500 && wrapper.getContentSize() <= maxResponseSize) {
+                stored = idempotencyService.complete(id, requestHash, status, wrapper.getContentType(),
+                        storedHeaders(wrapper, before), wrapper.getContentAsByteArray());
+            }
+        } finally {
+            if (stored == null) {
+                idempotencyService.release(id);
+            }
+            wrapper.copyBodyToResponse();
+        }
+        return stored;
+    }
+    
+    private void replayWhenDone(CompletableFuture<IdempotencyKey> running, String requestHash,
+                                HttpServletRequest request, HttpServletResponse response) throws IOException {
+        IdempotencyKey stored;
+        try {
+            stored = running.get(waitTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException | ExecutionException ex) {
+            stored = null;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            stored = null;
+        }
+        if (stored == null) {
+            writeInProgress(request, response);
+        } else if (!stored.getRequestHash().equals(requestHash)) {
+            writeMismatch(request, response);
+        } else {
+            replay(stored, response);
+        }
+    }
+    
+    private String storedHeaders(HttpServletResponse response, Set<String> before) throws IOException {
+        Map<String, List<String>> headers = new LinkedHashMap<>();
+        for (String name : response.getHeaderNames()) {
+            String key = name.toLowerCase(Locale.ROOT);
+            if (!before.contains(key) && !UNSTORED_HEADERS.contains(key)) {
+                headers.putIfAbsent(name, List.copyOf(response.getHeaders(name)));
+            }
+        }
+        return headers.isEmpty() ? null : objectMapper.writeValueAsString(headers);
+    }
+    
+    private void replay(IdempotencyKey stored, HttpServletResponse response) throws IOException {
+        response.setStatus(stored.getResponseStatus());
+        if (stored.getResponseHeaders() != null) {
+            Map<String, List<String>> headers = objectMapper.readValue(stored.getResponseHeaders(),
+                    new TypeReference<Map<String, List<String>>>() { });
+            headers.forEach((name, values) -> {
+                for (int i = 0; i < values.size(); i++) {
+                    if (i == 0) {
+                        response.setHeader(name, values.get(i));
+                    } else {
+                        response.addHeader(name, values.get(i));
+                    }
+                }
+            });
+        }
+        response.setHeader(REPLAYED_HEADER, "true");
+        if (stored.getContentType() != null) {
+            response.setContentType(stored.getContentType());
+        }
+        byte[] body = stored.getResponseBody();
+        if (body != null && body.length > 0) {
+            response.setContentLength(body.length);
+            response.getOutputStream().write(body);
+        }
+    }
+    
+    private void writeMismatch(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        writeError(request, response, HttpStatus.UNPROCESSABLE_ENTITY,
+                HEADER + " was already used for a different request");
+    }
+    
+    private void writeInProgress(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+        writeError(request, response, HttpStatus.CONFLICT,
+                "A request with this " + HEADER + " is still being processed");
+    }
+    
+    private void writeError(HttpServletRequest request, HttpServletResponse response,
+                            HttpStatus status, String message) throws IOException {
+        ErrorResponseDTO error = new ErrorResponseDTO(status.value(), status.getReasonPhrase(), message,
+                request.getRequestURI());
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), error);
+    }
+    
+    private static String caller() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication == null ? "" : authentication.getName();
+    }
+    
+    private static String sha256(String... parts) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (String part : parts) {
+                digest.update(part.getBytes(StandardCharsets.UTF_8));
+                digest.update((byte) 0);
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+    
+    // Request whose body was read up front (for the request hash) and is served again to the controller
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+        
+        private final byte[] body;
+        
+        private CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+        
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream in = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() {
+                    return in.available() == 0;
+                }
+                
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+                
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                    // Everything is already in memory, so the listener can read it all at once
+                    try {
+                        readListener.onDataAvailable();
+                        readListener.onAllDataRead();
+                    } catch (IOException ex) {
+                        readListener.onError(ex);
+                    }
+                }
+                
+                @Override
+                public int read() {
+                    return in.read();
+                }
+                
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    return in.read(b, off, len);
+                }
+            };
+        }
+        
+        @Override
+        public BufferedReader getReader() {
+            return new BufferedReader(new InputStreamReader(getInputStream(), StandardCharsets.UTF_8));
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.example.secure_customer_api.idempotency;
+
+import com.example.secure_customer_api.entity.IdempotencyKey;
+import com.example.secure_customer_api.entity.IdempotencyState;
+import com.example.secure_customer_api.repository.IdempotencyKeyRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Persistent store behind {@link IdempotencyFilter}. A key is claimed by
+ * inserting an IN_PROGRESS row; the primary key makes the claim atomic across
+ * nodes. The winner stores its response, everyone else replays it.
+ */
+@Service
+public class IdempotencyService {
+    
+    public enum Outcome {
+        // Caller owns the key and must execute the request, then complete or release it
+        CLAIMED,
+        // A completed response is stored for this key
+        REPLAY,
+        // The key was first used with a different request
+        MISMATCH,
+        // Another request with this key is still executing
+        IN_PROGRESS
+    }
+    
+    public static final class Claim {
+        
+        private final Outcome outcome;
+        private final IdempotencyKey stored;
+        
+        private Claim(Outcome outcome, IdempotencyKey stored) {
+            this.outcome = outcome;
+            this.stored = stored;
+        }
+        
+        public Outcome getOutcome() {
+            return outcome;
+        }
+        
+        public IdempotencyKey getStored() {
+            return stored;
+        }
+    }
+    
+    @Autowired
+    private IdempotencyKeyRepository repository;
+    
+    @Value("${idempotency.ttl:24h}")
+    private Duration ttl;
+    
+    // How long an IN_PROGRESS claim holds the key if its node never completes it
+    @Value("${idempotency.lease:60s}")
+    private Duration lease;
+    
+    @Value("${idempotency.max-entries:100000}")
+    private int maxEntries;
+    
+    public Claim claim(String id, String requestHash) {
+        LocalDateTime now = LocalDateTime.now();
+        repository.deleteIfExpired(id, now);
+        try {
+            repository.insertInProgress(id, requestHash, now, now.plus(lease));
+            return new Claim(Outcome.CLAIMED, null);
+        } catch (DataIntegrityViolationException ex) {
+            return repository.findById(id)
+                    .map(stored -> existing(stored, requestHash))
+                    // Released between our insert and the lookup; treat as busy, the client retries
+                    .orElseGet(() -> new Claim(Outcome.IN_PROGRESS, null));
+        }
+    }
+    
+    /**
+     * Polls until the request holding {@code id} completes. Empty if it was
+     * released (failed) or is still running when {@code timeout} elapses.
+     */
+    public Optional<IdempotencyKey> awaitCompletion(String id, Duration timeout) throws InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        long sleepMillis = 25;
+        while (true) {
+            Optional<IdempotencyKey> stored = repository.findById(id);
+            if (stored.isEmpty() || stored.get().getState() == IdempotencyState.COMPLETED) {
+                return stored;
+            }
+            long remainingMillis = Duration.ofNanos(deadline - System.nanoTime()).toMillis();
+            if (remainingMillis <= 0) {
+                return Optional.empty();
+            }
+            Thread.sleep(Math.min(sleepMillis, remainingMillis));
+            sleepMillis = Math.min(sleepMillis * 2, 500);
+        }
+    }
+    
+    @Transactional
+    public IdempotencyKey complete(String id, String requestHash, int status, String contentType, String headers,
+                                   byte[] body) {
+        IdempotencyKey key = repository.findById(id).orElseGet(IdempotencyKey::new);
+        if (key.getId() == null) {
+            // Lease expired and the row was purged while we were executing; store it anyway
+            key.setId(id);
+            key.setRequestHash(requestHash);
+            key.setCreatedAt(LocalDateTime.now());
+        }
+        key.setState(IdempotencyState.COMPLETED);
+        key.setResponseStatus(status);
+        key.setContentType(contentType);
+        key.setResponseHeaders(headers);
+        key.setResponseBody(body);
+        key.setExpiresAt(LocalDateTime.now().plus(ttl));
+        return repository.save(key);
+    }
+    
+    // Failed attempts (5xx, exceptions) leave nothing behind so the client can retry
+    public void release(String id) {
+        repository.deleteById(id);
+    }
+    
+    @Scheduled(fixedDelayString = "${idempotency.cleanup-interval:300000}")
+    public void deleteExpiredKeys() {
+        repository.deleteExpired(LocalDateTime.now());
+        List<LocalDateTime> cutoff = repository.findCompletedExpiresAtNewestFirst(PageRequest.of(maxEntries, 1));
+        if (!cutoff.isEmpty()) {
+            repository.deleteCompletedExpiringBefore(cutoff.get(0));
+        }
+    }
+    
+    private static Claim existing(IdempotencyKey stored, String requestHash) {
+        if (!stored.getRequestHash().equals(requestHash)) {
+            return new Claim(Outcome.MISMATCH, stored);
+        }
+        return stored.getState() == IdempotencyState.COMPLETED
+                ? new Claim(Outcome.REPLAY, stored)
+                : new Claim(Outcome.IN_PROGRESS, stored);
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.secure_customer_api.observability;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+
+/**
+ * Non-blocking async appender that counts what it drops. When the queue passes
+ * the discarding threshold, events at INFO and below are discarded. With
+ * {@code neverBlock} set, events arriving at a full queue are dropped instead
+ * of stalling the request thread.
+ */
+public class CountingAsyncAppender extends AsyncAppender {
+
+    @Override
+    protected void append(ILoggingEvent event) {
+        if (isStarted() && isNeverBlock() && getRemainingCapacity() == 0) {
+            LoggingMetrics.recordQueueFull();
+            return;
+        }
+        super.append(event);
+    }
+
+    @Override
+    protected boolean isDiscardable(ILoggingEvent event) {
+        boolean discardable = super.isDiscardable(event);
+        if (discardable) {
+            LoggingMetrics.recordDiscarded();
+        }
+        return discardable;
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.secure_customer_api.observability;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.MDC;
+import org.slf4j.Marker;
+
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Logback turbo filter with two jobs:
+ * <ul>
+ *   <li>requests flagged by {@link RequestDebugFilter} log at DEBUG regardless of configured levels;</li>
+ *   <li>DEBUG/TRACE events of verbose categories (SQL, security) are written at the configured sample rate.</li>
+ * </ul>
+ */
+public class LogSamplingTurboFilter extends TurboFilter {
+
+    private String[] loggers = new String[0];
+    private double rate = 1.0;
+
+    public void setLoggers(String loggers) {
+        this.loggers = Arrays.stream(loggers.split(","))
+                .map(String::trim)
+                .filter(name -> !name.isEmpty())
+                .toArray(String[]::new);
+    }
+
+    public void setRate(double rate) {
+        this.rate = rate;
+    }
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        if (level.levelInt > Level.DEBUG_INT) {
+            return FilterReply.NEUTRAL;
+        }
+        if (level.levelInt == Level.DEBUG_INT && MDC.get(RequestDebugFilter.MDC_KEY) != null) {
+            return FilterReply.ACCEPT;
+        }
+        // isDebugEnabled() checks arrive without a format; sample the actual event only
+        if (format == null || rate >= 1.0 || !isSampled(logger.getName())) {
+            return FilterReply.NEUTRAL;
+        }
+        if (ThreadLocalRandom.current().nextDouble() < rate) {
+            return FilterReply.NEUTRAL;
+        }
+        LoggingMetrics.recordSampledOut();
+        return FilterReply.DENY;
+    }
+
+    private boolean isSampled(String name) {
+        for (String prefix : loggers) {
+            if (name.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.secure_customer_api.observability;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts log events the pipeline chose not to write. The counters are static
+ * because Logback components are created before the Spring context.
+ */
+@Component
+public class LoggingMetrics implements MeterBinder {
+
+    private static final LongAdder QUEUE_FULL = new LongAdder();
+    private static final LongAdder DISCARDED = new LongAdder();
+    private static final LongAdder SAMPLED_OUT = new LongAdder();
+    private static final LongAdder RATE_LIMITED = new LongAdder();
+
+    static void recordQueueFull() {
+        QUEUE_FULL.increment();
+    }
+
+    static void recordDiscarded() {
+        DISCARDED.increment();
+    }
+
+    static void recordSampledOut() {
+        SAMPLED_OUT.increment();
+    }
+
+    static void recordRateLimited() {
+        RATE_LIMITED.increment();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        register(registry, "queue_full", QUEUE_FULL);
+        register(registry, "discarded", DISCARDED);
+        register(registry, "sampled_out", SAMPLED_OUT);
+        register(registry, "rate_limited", RATE_LIMITED);
+    }
+
+    private void register(MeterRegistry registry, String reason, LongAdder counter) {
+        FunctionCounter.builder("logging.events.dropped", counter, LongAdder::sum)
+                .description("Log events dropped by the async logging pipeline")
+                .tag("reason", reason)
+                .register(registry);
+    }
+}
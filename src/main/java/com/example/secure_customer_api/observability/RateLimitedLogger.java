@@ -0,0 +1,63 @@
+package com.example.secure_customer_api.observability;
+
+import org.slf4j.Logger;
+import org.slf4j.event.Level;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Writes at most {@code permits} messages per window to the wrapped logger and
+ * reports how many were suppressed in the meantime. Meant for messages an
+ * attacker can trigger at will, such as rejected tokens.
+ */
+public class RateLimitedLogger {
+
+    private final Logger delegate;
+    private final int permits;
+    private final long windowNanos;
+
+    private final AtomicLong windowStart = new AtomicLong(System.nanoTime());
+    private final AtomicInteger used = new AtomicInteger();
+    private final AtomicLong suppressed = new AtomicLong();
+
+    public RateLimitedLogger(Logger delegate, int permits, Duration window) {
+        this.delegate = delegate;
+        this.permits = permits;
+        this.windowNanos = window.toNanos();
+    }
+
+    public void info(String format, Object... args) {
+        log(Level.INFO, format, args);
+    }
+
+    public void warn(String format, Object... args) {
+        log(Level.WARN, format, args);
+    }
+
+    private void log(Level level, String format, Object... args) {
+        if (!delegate.isEnabledForLevel(level)) {
+            return;
+        }
+        if (!tryAcquire()) {
+            suppressed.incrementAndGet();
+            LoggingMetrics.recordRateLimited();
+            return;
+        }
+        long skipped = suppressed.getAndSet(0);
+        if (skipped > 0) {
+            delegate.atLevel(level).log("{} similar messages suppressed", skipped);
+        }
+        delegate.atLevel(level).log(format, args);
+    }
+
+    private boolean tryAcquire() {
+        long now = System.nanoTime();
+        long start = windowStart.get();
+        if (now - start >= windowNanos && windowStart.compareAndSet(start, now)) {
+            used.set(0);
+        }
+        return used.incrementAndGet() <= permits;
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.secure_customer_api.observability;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+/**
+ * Turns on DEBUG logging for a single request when it carries
+ * {@code X-Debug-Logging} with the configured token, or when an admin enabled
+ * debug logging for the authenticated user. Runs after the security filter
+ * chain, so it covers controller, service and SQL logging.
+ */
+@Component
+public class RequestDebugFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "X-Debug-Logging";
+    public static final String MDC_KEY = "debugLogging";
+
+    // Empty disables the header switch
+    @Value("${logging.request-debug.token:}")
+    private String token;
+
+    @Autowired
+    private RequestDebugLogging requestDebugLogging;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                   HttpServletResponse response,
+                                   FilterChain filterChain) throws ServletException, IOException {
+        if (!isDebugRequested(request)) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        MDC.put(MDC_KEY, "true");
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            MDC.remove(MDC_KEY);
+        }
+    }
+
+    private boolean isDebugRequested(HttpServletRequest request) {
+        String header = request.getHeader(HEADER);
+        if (header != null && !token.isEmpty()
+                && MessageDigest.isEqual(header.getBytes(StandardCharsets.UTF_8), token.getBytes(StandardCharsets.UTF_8))) {
+            return true;
+        }
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && requestDebugLogging.isEnabled(authentication.getName());
+    }
+}
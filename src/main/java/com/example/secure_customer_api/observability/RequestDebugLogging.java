@@ -0,0 +1,53 @@
+package com.example.secure_customer_api.observability;
+
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Users whose requests are currently logged at DEBUG, each with an expiry so a
+ * forgotten switch cannot flood the logs indefinitely.
+ */
+@Component
+public class RequestDebugLogging {
+
+    private static final Duration MAX_DURATION = Duration.ofHours(1);
+
+    private final Map<String, Instant> users = new ConcurrentHashMap<>();
+
+    public Instant enable(String username, Duration duration) {
+        Duration bounded = duration.compareTo(MAX_DURATION) > 0 ? MAX_DURATION : duration;
+        Instant until = Instant.now().plus(bounded);
+        users.put(username, until);
+        return until;
+    }
+
+    public boolean disable(String username) {
+        return users.remove(username) != null;
+    }
+
+    public boolean isEnabled(String username) {
+        if (users.isEmpty()) {
+            return false;
+        }
+        Instant until = users.get(username);
+        if (until == null) {
+            return false;
+        }
+        if (until.isBefore(Instant.now())) {
+            users.remove(username, until);
+            return false;
+        }
+        return true;
+    }
+
+    public Map<String, Instant> getActive() {
+        Instant now = Instant.now();
+        users.values().removeIf(until -> until.isBefore(now));
+        return new TreeMap<>(users);
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.secure_customer_api.observability;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Logs statements slower than the threshold with their SQL text, bind count and
+ * duration. Bind values are not logged. Lines carry the request's correlation id
+ * through the MDC, so an outlier in the latency histogram can be traced back to a statement.
+ */
+class SlowQueryLogger implements QueryExecutionListener {
+
+    private static final Logger log = LoggerFactory.getLogger("sql.slow");
+
+    private final long thresholdMillis;
+
+    SlowQueryLogger(Duration threshold) {
+        this.thresholdMillis = threshold.toMillis();
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        if (execInfo.getElapsedTime() < thresholdMillis) {
+            return;
+        }
+        for (QueryInfo query : queryInfoList) {
+            int binds = query.getParametersList().stream().mapToInt(List::size).sum();
+            log.warn("Slow query took {} ms ({} binds{}, success={}): {}",
+                    execInfo.getElapsedTime(), binds,
+                    execInfo.isBatch() ? ", batch of " + execInfo.getBatchSize() : "",
+                    execInfo.isSuccess(), query.getQuery());
+        }
+    }
+}
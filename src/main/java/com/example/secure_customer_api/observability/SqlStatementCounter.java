@@ -0,0 +1,84 @@
+package com.example.secure_customer_api.observability;
+
+/**
+ * Thread-bound SQL statement accounting fed by the DataSource proxy.
+ * The request filter opens one scope per HTTP request; tests open their own
+ * with {@link #capture()} to assert statement budgets.
+ * <p>
+ * Work a request hands to other threads counts toward its scope when the task
+ * is wrapped with {@link #propagate}: the application task executor (batch
+ * sub-requests) does so through AsyncConfig's decorator, and CustomerShards
+ * for scatter-gather queries. Threads that serve no request, such as the SSE
+ * senders and scheduled jobs, have no scope and are not counted.
+ */
+public final class SqlStatementCounter {
+
+    private static final ThreadLocal<SqlStatementStats> CURRENT = new ThreadLocal<>();
+
+    private SqlStatementCounter() {
+    }
+
+    /** Starts counting on this thread and returns a handle that restores the previous scope on close. */
+    public static Capture capture() {
+        SqlStatementStats previous = CURRENT.get();
+        SqlStatementStats stats = new SqlStatementStats();
+        CURRENT.set(stats);
+        return new Capture(stats, previous);
+    }
+
+    /** Runs {@code task} in the calling thread's scope, whichever thread it ends up on. */
+    public static Runnable propagate(Runnable task) {
+        SqlStatementStats stats = CURRENT.get();
+        if (stats == null) {
+            return task;
+        }
+        return () -> {
+            SqlStatementStats previous = CURRENT.get();
+            CURRENT.set(stats);
+            try {
+                task.run();
+            } finally {
+                restore(previous);
+            }
+        };
+    }
+
+    static SqlStatementStats current() {
+        return CURRENT.get();
+    }
+
+    public static final class Capture implements AutoCloseable {
+        private final SqlStatementStats stats;
+        private final SqlStatementStats previous;
+
+        private Capture(SqlStatementStats stats, SqlStatementStats previous) {
+            this.stats = stats;
+            this.previous = previous;
+        }
+
+        public SqlStatementStats stats() {
+            return stats;
+        }
+
+        public int statements() {
+            return stats.getStatements();
+        }
+
+        public long rows() {
+            return stats.getRows();
+        }
+
+        @Override
+        public void close() {
+            restore(previous);
+        }
+    }
+
+    private static void restore(SqlStatementStats previous) {
+        if (previous == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(previous);
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.secure_customer_api.observability;
+
+import io.micrometer.observation.ObservationRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import java.time.Duration;
+
+@Configuration
+public class SqlStatementCountingConfig {
+
+    /**
+     * Wraps every DataSource in a single datasource-proxy that reports statements
+     * and fetched rows to the current {@link SqlStatementCounter} scope, emits a
+     * span per statement and logs slow queries.
+     */
+    @Bean
+    public static SqlStatementCountingPostProcessor sqlStatementCountingDataSourcePostProcessor(
+            Environment environment, ObjectProvider<ObservationRegistry> observationRegistry) {
+        // Resolved lazily: the registry may not exist yet when the DataSource is created
+        return new SqlStatementCountingPostProcessor(
+                environment.getProperty("sql.slow-query.threshold", Duration.class, Duration.ofMillis(200)),
+                () -> observationRegistry.getIfAvailable(() -> ObservationRegistry.NOOP));
+    }
+}
@@ -0,0 +1,144 @@
+package com.example.secure_customer_api.observability;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+
+/**
+ * Counts SQL statements, fetched rows and JDBC time per HTTP request.
+ * Counts are always published as metrics tagged by path template, are added as
+ * {@code X-SQL-*} response headers when enabled (dev profile), and a warning is
+ * logged when a request exceeds the statement budget or repeats one statement
+ * often enough to suggest an N+1 query.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class SqlStatementCountingFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(SqlStatementCountingFilter.class);
+
+    @Value("${sql.stats.response-headers:false}")
+    private boolean responseHeaders;
+
+    @Value("${sql.stats.budget.statements:20}")
+    private int statementBudget;
+
+    @Value("${sql.stats.n-plus-one.threshold:5}")
+    private int repetitionThreshold;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                   HttpServletResponse response,
+                                   FilterChain filterChain) throws ServletException, IOException {
+        try (SqlStatementCounter.Capture capture = SqlStatementCounter.capture()) {
+            HttpServletResponse target = responseHeaders ? new HeaderWritingResponse(response, capture.stats()) : response;
+            try {
+                filterChain.doFilter(request, target);
+            } finally {
+                report(request, capture.stats());
+            }
+        }
+    }
+
+    private void report(HttpServletRequest request, SqlStatementStats stats) {
+        String uri = pathTemplate(request);
+        DistributionSummary.builder("sql.statements.per.request")
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(stats.getStatements());
+        DistributionSummary.builder("sql.rows.per.request")
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(stats.getRows());
+
+        if (stats.getStatements() > statementBudget) {
+            log.warn("{} {} issued {} SQL statements (budget {}), {} rows, {} ms",
+                    request.getMethod(), uri, stats.getStatements(), statementBudget,
+                    stats.getRows(), stats.getTimeMillis());
+        }
+        if (stats.getMaxRepetitions() >= repetitionThreshold) {
+            log.warn("Possible N+1 in {} {}: statement executed {} times: {}",
+                    request.getMethod(), uri, stats.getMaxRepetitions(), stats.getMostRepeatedSql());
+        }
+    }
+
+    // Path template keeps the metric tag bounded; unmatched requests share one value
+    private static String pathTemplate(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern != null ? pattern.toString() : "UNMATCHED";
+    }
+
+    /**
+     * Adds the counters as headers just before the body is written, which is
+     * after the handler has run its queries but before the response commits.
+     */
+    private static final class HeaderWritingResponse extends HttpServletResponseWrapper {
+        private final SqlStatementStats stats;
+        private boolean written;
+
+        private HeaderWritingResponse(HttpServletResponse response, SqlStatementStats stats) {
+            super(response);
+            this.stats = stats;
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            writeHeaders();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            writeHeaders();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            writeHeaders();
+            super.flushBuffer();
+        }
+
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            writeHeaders();
+            super.sendError(sc, msg);
+        }
+
+        @Override
+        public void sendError(int sc) throws IOException {
+            writeHeaders();
+            super.sendError(sc);
+        }
+
+        private void writeHeaders() {
+            if (written || isCommitted()) {
+                return;
+            }
+            written = true;
+            setHeader("X-SQL-Statements", String.valueOf(stats.getStatements()));
+            setHeader("X-SQL-Rows", String.valueOf(stats.getRows()));
+            setHeader("X-SQL-Time-Ms", String.valueOf(stats.getTimeMillis()));
+        }
+    }
+}
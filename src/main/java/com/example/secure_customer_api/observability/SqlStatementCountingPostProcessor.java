@@ -0,0 +1,49 @@
+package com.example.secure_customer_api.observability;
+
+import io.micrometer.observation.ObservationRegistry;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import net.ttddyy.observation.tracing.DataSourceObservationListener;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.function.Supplier;
+
+/**
+ * Wraps every DataSource bean in a single datasource-proxy that reports
+ * statements and fetched rows to the current {@link SqlStatementCounter}
+ * scope, emits a span per statement and logs slow queries. Pools created
+ * outside the context (the customer shards) go through {@link #wrap}.
+ */
+public class SqlStatementCountingPostProcessor implements BeanPostProcessor {
+
+    private final SqlStatementListener listener = new SqlStatementListener();
+    private final SlowQueryLogger slowQueryLogger;
+    private final DataSourceObservationListener observationListener;
+
+    public SqlStatementCountingPostProcessor(Duration slowQueryThreshold,
+                                             Supplier<ObservationRegistry> observationRegistry) {
+        this.slowQueryLogger = new SlowQueryLogger(slowQueryThreshold);
+        this.observationListener = new DataSourceObservationListener(observationRegistry);
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource) {
+            return wrap(dataSource, beanName);
+        }
+        return bean;
+    }
+
+    public DataSource wrap(DataSource dataSource, String name) {
+        return ProxyDataSourceBuilder.create(dataSource)
+                .name(name)
+                .listener(listener)
+                .listener(slowQueryLogger)
+                .listener(observationListener)
+                .methodListener(listener)
+                .methodListener(observationListener)
+                .proxyResultSet()
+                .build();
+    }
+}
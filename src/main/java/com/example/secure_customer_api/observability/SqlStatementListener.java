@@ -0,0 +1,48 @@
+package com.example.secure_customer_api.observability;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.MethodExecutionContext;
+import net.ttddyy.dsproxy.listener.MethodExecutionListener;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+import java.sql.ResultSet;
+import java.util.List;
+
+/**
+ * Feeds statement, row and timing counts into the current {@link SqlStatementCounter} scope.
+ */
+class SqlStatementListener implements QueryExecutionListener, MethodExecutionListener {
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        SqlStatementStats stats = SqlStatementCounter.current();
+        if (stats == null) {
+            return;
+        }
+        int executions = execInfo.isBatch() ? Math.max(1, execInfo.getBatchSize()) : 1;
+        for (QueryInfo query : queryInfoList) {
+            stats.recordStatement(query.getQuery(), executions, execInfo.getElapsedTime());
+        }
+    }
+
+    @Override
+    public void beforeMethod(MethodExecutionContext executionContext) {
+    }
+
+    @Override
+    public void afterMethod(MethodExecutionContext executionContext) {
+        if (executionContext.getTarget() instanceof ResultSet
+                && "next".equals(executionContext.getMethod().getName())
+                && Boolean.TRUE.equals(executionContext.getResult())) {
+            SqlStatementStats stats = SqlStatementCounter.current();
+            if (stats != null) {
+                stats.recordRow();
+            }
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.secure_customer_api.observability;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * SQL activity observed between {@link SqlStatementCounter#capture()} and the
+ * end of the request or capture, on the capturing thread and on tasks it hands
+ * off through {@link SqlStatementCounter#propagate}. Thread-safe, since those
+ * tasks may run in parallel.
+ */
+public class SqlStatementStats {
+
+    private int statements;
+    private long rows;
+    private long timeMillis;
+    private final Map<String, Integer> executionsBySql = new HashMap<>();
+
+    synchronized void recordStatement(String sql, int executions, long elapsedMillis) {
+        statements += executions;
+        timeMillis += elapsedMillis;
+        executionsBySql.merge(sql, executions, Integer::sum);
+    }
+
+    synchronized void recordRow() {
+        rows++;
+    }
+
+    public synchronized int getStatements() {
+        return statements;
+    }
+
+    public synchronized long getRows() {
+        return rows;
+    }
+
+    public synchronized long getTimeMillis() {
+        return timeMillis;
+    }
+
+    /** Number of executions of the most repeated statement - a high value hints at N+1 queries. */
+    public synchronized int getMaxRepetitions() {
+        return executionsBySql.values().stream().mapToInt(Integer::intValue).max().orElse(0);
+    }
+
+    public synchronized String getMostRepeatedSql() {
+        return executionsBySql.entrySet().stream()
+                .max(Map.Entry.comparingByValue())
+                .map(Map.Entry::getKey)
+                .orElse(null);
+    }
+}
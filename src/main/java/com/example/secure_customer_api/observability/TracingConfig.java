@@ -0,0 +1,24 @@
+package com.example.secure_customer_api.observability;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Path;
+
+@Configuration
+public class TracingConfig {
+
+    /**
+     * File export for environments without a collector; Spring Boot adds every
+     * SpanExporter bean to the tracer next to the OTLP exporter (if configured).
+     */
+    @Bean
+    @ConditionalOnProperty("tracing.export.file")
+    public FileSpanExporter fileSpanExporter(@Value("${tracing.export.file}") Path file,
+                                             ObjectMapper objectMapper) {
+        return new FileSpanExporter(file, objectMapper);
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.secure_customer_api.repository;
+
+import com.example.secure_customer_api.entity.CustomerChangeEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface CustomerChangeEventRepository extends JpaRepository<CustomerChangeEvent, Long> {
+    
+    List<CustomerChangeEvent> findTop500ByIdGreaterThanOrderByIdAsc(Long id);
+    
+    @Query("SELECT COALESCE(MAX(e.id), 0) FROM CustomerChangeEvent e")
+    Long findMaxId();
+    
+    @Query("SELECT MIN(e.id) FROM CustomerChangeEvent e")
+    Long findMinId();
+    
+    // Latest change sequence per customer in (since, until], oldest first
+    @Query("SELECT e.customerId, MAX(e.id) FROM CustomerChangeEvent e " +
+           "WHERE e.id > :since AND e.id <= :until " +
+           "GROUP BY e.customerId ORDER BY MAX(e.id)")
+    List<Object[]> findLatestChangesBetween(@Param("since") Long since, @Param("until") Long until,
+                                            Pageable pageable);
+    
+    @Modifying
+    @Query("DELETE FROM CustomerChangeEvent e WHERE e.createdAt < :cutoff")
+    int deleteOlderThan(@Param("cutoff") LocalDateTime cutoff);
+}
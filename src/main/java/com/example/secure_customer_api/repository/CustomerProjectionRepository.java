@@ -0,0 +1,25 @@
+package com.example.secure_customer_api.repository;
+
+import com.example.secure_customer_api.entity.CustomerStatus;
+import jakarta.persistence.Tuple;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Customer reads that select only the given attributes. Each tuple element
+ * is aliased with its attribute name. Callers validate the attribute list
+ * (see {@code CustomerFields}); it is used verbatim as the SELECT list.
+ */
+public interface CustomerProjectionRepository {
+    
+    Page<Tuple> findAllProjected(List<String> attributes, Pageable pageable);
+    
+    Optional<Tuple> findByIdProjected(Long id, List<String> attributes);
+    
+    List<Tuple> findByStatusProjected(CustomerStatus status, List<String> attributes);
+    
+    List<Tuple> searchProjected(String keyword, List<String> attributes);
+}
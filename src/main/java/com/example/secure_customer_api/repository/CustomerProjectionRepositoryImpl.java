@@ -0,0 +1,95 @@
+package com.example.secure_customer_api.repository;
+
+import com.example.secure_customer_api.entity.Customer;
+import com.example.secure_customer_api.entity.CustomerStatus;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.function.BiFunction;
+
+// Spring Data picks this up as the CustomerProjectionRepository fragment of CustomerRepository
+class CustomerProjectionRepositoryImpl implements CustomerProjectionRepository {
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    @Override
+    public Page<Tuple> findAllProjected(List<String> attributes, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = select(cb, attributes);
+        Root<?> root = query.getRoots().iterator().next();
+        if (pageable.getSort().isSorted()) {
+            query.orderBy(QueryUtils.toOrders(pageable.getSort(), root, cb));
+        }
+        
+        List<Tuple> content = entityManager.createQuery(query)
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize())
+                .getResultList();
+        
+        // Same count-skipping rules as SimpleJpaRepository.findAll(Pageable)
+        return PageableExecutionUtils.getPage(content, pageable, this::count);
+    }
+    
+    @Override
+    public Optional<Tuple> findByIdProjected(Long id, List<String> attributes) {
+        List<Tuple> rows = findWhere(attributes, (cb, root) -> cb.equal(root.get("id"), id));
+        return rows.stream().findFirst();
+    }
+    
+    @Override
+    public List<Tuple> findByStatusProjected(CustomerStatus status, List<String> attributes) {
+        return findWhere(attributes, (cb, root) -> cb.equal(root.get("status"), status));
+    }
+    
+    @Override
+    public List<Tuple> searchProjected(String keyword, List<String> attributes) {
+        // Mirrors CustomerRepository.searchCustomers
+        String pattern = "%" + keyword.toLowerCase(Locale.ROOT) + "%";
+        return findWhere(attributes, (cb, root) -> cb.or(
+                cb.like(cb.lower(root.get("fullName")), pattern),
+                cb.like(cb.lower(root.get("email")), pattern),
+                cb.like(cb.lower(root.get("customerCode")), pattern)));
+    }
+    
+    private List<Tuple> findWhere(List<String> attributes,
+                                  BiFunction<CriteriaBuilder, Root<Customer>, Predicate> where) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = select(cb, attributes);
+        @SuppressWarnings("unchecked")
+        Root<Customer> root = (Root<Customer>) query.getRoots().iterator().next();
+        query.where(where.apply(cb, root));
+        return entityManager.createQuery(query).getResultList();
+    }
+    
+    private CriteriaQuery<Tuple> select(CriteriaBuilder cb, List<String> attributes) {
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Customer> root = query.from(Customer.class);
+        List<Selection<?>> selections = new ArrayList<>(attributes.size());
+        for (String attribute : attributes) {
+            selections.add(root.get(attribute).alias(attribute));
+        }
+        return query.multiselect(selections);
+    }
+    
+    private long count() {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        query.select(cb.count(query.from(Customer.class)));
+        return entityManager.createQuery(query).getSingleResult();
+    }
+}
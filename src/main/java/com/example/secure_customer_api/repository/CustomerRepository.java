@@ -7,11 +7,12 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import com.example.secure_customer_api.entity.CustomerStatus;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface CustomerRepository extends JpaRepository<Customer, Long> {
+public interface CustomerRepository extends JpaRepository<Customer, Long>, CustomerProjectionRepository {
     
     Optional<Customer> findByCustomerCode(String customerCode);
     
@@ -23,6 +24,13 @@ public interface CustomerRepository extends JpaRepository<Customer, Long> {
     
     List<Customer> findByStatus(CustomerStatus status);
     
+    @Query("SELECT c.status, COUNT(c) FROM Customer c GROUP BY c.status")
+    List<Object[]> countByStatus();
+    
+    @Query("SELECT CAST(c.createdAt AS LocalDate), COUNT(c) FROM Customer c " +
+           "WHERE c.createdAt >= :since GROUP BY CAST(c.createdAt AS LocalDate)")
+    List<Object[]> countCreatedPerDaySince(@Param("since") LocalDateTime since);
+    
     @Query("SELECT c FROM Customer c WHERE " +
            "LOWER(c.fullName) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
            "LOWER(c.email) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
@@ -0,0 +1,9 @@
+package com.example.secure_customer_api.repository;
+
+import com.example.secure_customer_api.entity.CustomerStat;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface CustomerStatRepository extends JpaRepository<CustomerStat, String> {
+}
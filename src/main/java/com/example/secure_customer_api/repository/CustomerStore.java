@@ -0,0 +1,56 @@
+package com.example.secure_customer_api.repository;
+
+import com.example.secure_customer_api.entity.Customer;
+import com.example.secure_customer_api.entity.CustomerStatus;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Customer storage as seen by the services. {@link JpaCustomerStore} keeps
+ * everything in the primary database through {@link CustomerRepository};
+ * with {@code customer.sharding.enabled=true} the sharded store spreads
+ * customers over several databases instead.
+ */
+public interface CustomerStore {
+    
+    Optional<Customer> findById(Long id);
+    
+    List<Customer> findAllById(Collection<Long> ids);
+    
+    Page<Customer> findAll(Pageable pageable);
+    
+    List<Customer> findByStatus(CustomerStatus status);
+    
+    List<Customer> searchCustomers(String keyword);
+    
+    boolean existsByEmail(String email);
+    
+    // Writes immediately, so unique-key violations surface from this call
+    Customer insert(Customer customer);
+    
+    Customer update(Customer customer);
+    
+    void delete(Customer customer);
+    
+    // [CustomerStatus, Long] rows
+    List<Object[]> countByStatus();
+    
+    // [LocalDate, Long] rows
+    List<Object[]> countCreatedPerDaySince(LocalDateTime since);
+    
+    // Sparse reads: one map per customer holding only the given attributes, in order (see CustomerFields)
+    
+    Page<Map<String, Object>> findAllProjected(List<String> attributes, Pageable pageable);
+    
+    Optional<Map<String, Object>> findByIdProjected(Long id, List<String> attributes);
+    
+    List<Map<String, Object>> findByStatusProjected(CustomerStatus status, List<String> attributes);
+    
+    List<Map<String, Object>> searchProjected(String keyword, List<String> attributes);
+}
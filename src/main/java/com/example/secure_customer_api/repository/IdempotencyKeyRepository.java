@@ -0,0 +1,50 @@
+package com.example.secure_customer_api.repository;
+
+import com.example.secure_customer_api.entity.IdempotencyKey;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface IdempotencyKeyRepository extends JpaRepository<IdempotencyKey, String> {
+    
+    // Plain INSERT so a concurrent claim of the same key fails on the primary key instead of merging.
+    // Writes run in their own transaction: a failed claim must not poison a surrounding one.
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT INTO idempotency_keys (id, request_hash, state, created_at, expires_at) " +
+                   "VALUES (:id, :requestHash, 'IN_PROGRESS', :now, :leaseUntil)", nativeQuery = true)
+    int insertInProgress(@Param("id") String id,
+                         @Param("requestHash") String requestHash,
+                         @Param("now") LocalDateTime now,
+                         @Param("leaseUntil") LocalDateTime leaseUntil);
+    
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM IdempotencyKey k WHERE k.id = :id AND k.expiresAt < :now")
+    int deleteIfExpired(@Param("id") String id, @Param("now") LocalDateTime now);
+    
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM IdempotencyKey k WHERE k.expiresAt < :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+    
+    // Size cap: expiry of the n-th newest completed key (pass PageRequest.of(n, 1)); older ones are trimmed.
+    // In-progress leases are never trimmed, that would let a retry run the request a second time.
+    @Query("SELECT k.expiresAt FROM IdempotencyKey k WHERE k.state = " +
+           "com.example.secure_customer_api.entity.IdempotencyState.COMPLETED ORDER BY k.expiresAt DESC")
+    List<LocalDateTime> findCompletedExpiresAtNewestFirst(Pageable pageable);
+    
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM IdempotencyKey k WHERE k.state = " +
+           "com.example.secure_customer_api.entity.IdempotencyState.COMPLETED AND k.expiresAt < :cutoff")
+    int deleteCompletedExpiringBefore(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -0,0 +1,124 @@
+package com.example.secure_customer_api.repository;
+
+import com.example.secure_customer_api.entity.Customer;
+import com.example.secure_customer_api.entity.CustomerStatus;
+import jakarta.persistence.Tuple;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+// Default single-database store; a thin pass-through to CustomerRepository
+@Repository
+@ConditionalOnProperty(name = "customer.sharding.enabled", havingValue = "false", matchIfMissing = true)
+public class JpaCustomerStore implements CustomerStore {
+    
+    private final CustomerRepository customerRepository;
+    
+    @Autowired
+    public JpaCustomerStore(CustomerRepository customerRepository) {
+        this.customerRepository = customerRepository;
+    }
+    
+    @Override
+    public Optional<Customer> findById(Long id) {
+        return customerRepository.findById(id);
+    }
+    
+    @Override
+    public List<Customer> findAllById(Collection<Long> ids) {
+        return customerRepository.findAllById(ids);
+    }
+    
+    @Override
+    public Page<Customer> findAll(Pageable pageable) {
+        return customerRepository.findAll(pageable);
+    }
+    
+    @Override
+    public List<Customer> findByStatus(CustomerStatus status) {
+        return customerRepository.findByStatus(status);
+    }
+    
+    @Override
+    public List<Customer> searchCustomers(String keyword) {
+        return customerRepository.searchCustomers(keyword);
+    }
+    
+    @Override
+    public boolean existsByEmail(String email) {
+        return customerRepository.existsByEmail(email);
+    }
+    
+    @Override
+    public Customer insert(Customer customer) {
+        return customerRepository.saveAndFlush(customer);
+    }
+    
+    @Override
+    public Customer update(Customer customer) {
+        return customerRepository.save(customer);
+    }
+    
+    @Override
+    public void delete(Customer customer) {
+        customerRepository.delete(customer);
+    }
+    
+    @Override
+    public List<Object[]> countByStatus() {
+        return customerRepository.countByStatus();
+    }
+    
+    @Override
+    public List<Object[]> countCreatedPerDaySince(LocalDateTime since) {
+        return customerRepository.countCreatedPerDaySince(since);
+    }
+    
+    @Override
+    public Page<Map<String, Object>> findAllProjected(List<String> attributes, Pageable pageable) {
+        return customerRepository.findAllProjected(attributes, pageable).map(row -> toFieldMap(row, attributes));
+    }
+    
+    @Override
+    public Optional<Map<String, Object>> findByIdProjected(Long id, List<String> attributes) {
+        return customerRepository.findByIdProjected(id, attributes).map(row -> toFieldMap(row, attributes));
+    }
+    
+    @Override
+    public List<Map<String, Object>> findByStatusProjected(CustomerStatus status, List<String> attributes) {
+        return toFieldMaps(customerRepository.findByStatusProjected(status, attributes), attributes);
+    }
+    
+    @Override
+    public List<Map<String, Object>> searchProjected(String keyword, List<String> attributes) {
+        return toFieldMaps(customerRepository.searchProjected(keyword, attributes), attributes);
+    }
+    
+    private static List<Map<String, Object>> toFieldMaps(List<Tuple> rows, List<String> attributes) {
+        List<Map<String, Object>> result = new ArrayList<>(rows.size());
+        for (Tuple row : rows) {
+            result.add(toFieldMap(row, attributes));
+        }
+        return result;
+    }
+    
+    // Same values as CustomerServiceImpl.convertToResponseDTO, restricted to the selected fields
+    private static Map<String, Object> toFieldMap(Tuple row, List<String> attributes) {
+        Map<String, Object> result = new LinkedHashMap<>(attributes.size() * 2);
+        for (String attribute : attributes) {
+            Object value = row.get(attribute);
+            result.put(attribute, value instanceof CustomerStatus status ? status.name() : value);
+        }
+        return result;
+    }
+}
@@ -4,8 +4,12 @@ import com.example.secure_customer_api.entity.RefreshToken;
 import com.example.secure_customer_api.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.Optional;
 
 @Repository
@@ -17,4 +21,12 @@ public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long
 
   @Modifying
   void deleteByUser(User user);
+
+  @Modifying
+  @Query("DELETE FROM RefreshToken t WHERE t.user.id IN :userIds")
+  int deleteByUserIdIn(@Param("userIds") Collection<Long> userIds);
+
+  @Modifying
+  @Query("DELETE FROM RefreshToken t WHERE t.expiryDate < :now")
+  int deleteExpired(@Param("now") LocalDateTime now);
 }
@@ -0,0 +1,31 @@
+package com.example.secure_customer_api.repository;
+
+import com.example.secure_customer_api.dto.UserFilterDTO;
+import jakarta.persistence.Tuple;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+
+/**
+ * Filtered user listings that select only the public columns (id, username,
+ * email, fullName, role, isActive, createdAt). Password hashes and reset
+ * tokens are never read. Tuple elements are aliased with the attribute name.
+ */
+public interface UserQueryRepository {
+    
+    /**
+     * Keyset page: up to {@code limit} users ordered by {@code sortAttribute}
+     * then id, strictly after ({@code afterValue}, {@code afterId}) when
+     * {@code afterId} is not null. {@code sortAttribute} must be validated by
+     * the caller.
+     */
+    List<Tuple> findSummariesAfter(UserFilterDTO filter, String sortAttribute, boolean ascending,
+                                   Object afterValue, Long afterId, int limit);
+    
+    // Ids of matching users after afterId (null for the first batch), ascending
+    List<Long> findIdsAfter(UserFilterDTO filter, Long afterId, int limit);
+    
+    // Offset page with a total count
+    Page<Tuple> findSummaries(UserFilterDTO filter, Pageable pageable);
+}
@@ -0,0 +1,157 @@
+package com.example.secure_customer_api.repository;
+
+import com.example.secure_customer_api.dto.UserFilterDTO;
+import com.example.secure_customer_api.entity.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.util.StringUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Spring Data picks this up as the UserQueryRepository fragment of UserRepository
+class UserQueryRepositoryImpl implements UserQueryRepository {
+    
+    private static final String[] SUMMARY_ATTRIBUTES =
+            {"id", "username", "email", "fullName", "role", "isActive", "createdAt"};
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    @Override
+    public List<Tuple> findSummariesAfter(UserFilterDTO filter, String sortAttribute, boolean ascending,
+                                          Object afterValue, Long afterId, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<User> root = query.from(User.class);
+        select(query, root);
+        
+        List<Predicate> predicates = filters(cb, root, filter);
+        Path<Long> id = root.get("id");
+        if (afterId != null) {
+            if (sortAttribute.equals("id")) {
+                predicates.add(ascending ? cb.greaterThan(id, afterId) : cb.lessThan(id, afterId));
+            } else {
+                // (sort, id) > (afterValue, afterId), written out so MySQL can range-scan the index.
+                // NULLs (createdAt only) sort lowest, as in MySQL: first when ascending, last when descending.
+                Expression<Comparable<Object>> sort = root.get(sortAttribute);
+                Predicate idAfter = ascending ? cb.greaterThan(id, afterId) : cb.lessThan(id, afterId);
+                if (afterValue == null) {
+                    predicates.add(ascending
+                            ? cb.or(cb.isNotNull(sort), cb.and(cb.isNull(sort), idAfter))
+                            : cb.and(cb.isNull(sort), idAfter));
+                } else {
+                    Comparable<Object> value = comparable(afterValue);
+                    Predicate after = cb.or(
+                            ascending ? cb.greaterThan(sort, value) : cb.lessThan(sort, value),
+                            cb.and(cb.equal(sort, value), idAfter));
+                    predicates.add(ascending ? after : cb.or(after, cb.isNull(sort)));
+                }
+            }
+        }
+        query.where(predicates.toArray(new Predicate[0]));
+        
+        List<Order> orders = new ArrayList<>(2);
+        if (!sortAttribute.equals("id")) {
+            orders.add(ascending ? cb.asc(root.get(sortAttribute)) : cb.desc(root.get(sortAttribute)));
+        }
+        orders.add(ascending ? cb.asc(id) : cb.desc(id));
+        query.orderBy(orders);
+        
+        return entityManager.createQuery(query).setMaxResults(limit).getResultList();
+    }
+    
+    @Override
+    public List<Long> findIdsAfter(UserFilterDTO filter, Long afterId, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<User> root = query.from(User.class);
+        Path<Long> id = root.get("id");
+        List<Predicate> predicates = filters(cb, root, filter);
+        if (afterId != null) {
+            predicates.add(cb.greaterThan(id, afterId));
+        }
+        query.select(id).where(predicates.toArray(new Predicate[0])).orderBy(cb.asc(id));
+        return entityManager.createQuery(query).setMaxResults(limit).getResultList();
+    }
+    
+    @Override
+    public Page<Tuple> findSummaries(UserFilterDTO filter, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<User> root = query.from(User.class);
+        select(query, root);
+        query.where(filters(cb, root, filter).toArray(new Predicate[0]));
+        if (pageable.getSort().isSorted()) {
+            query.orderBy(QueryUtils.toOrders(pageable.getSort(), root, cb));
+        }
+        
+        List<Tuple> content = entityManager.createQuery(query)
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize())
+                .getResultList();
+        return PageableExecutionUtils.getPage(content, pageable, () -> count(filter));
+    }
+    
+    private long count(UserFilterDTO filter) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<User> root = query.from(User.class);
+        query.select(cb.count(root)).where(filters(cb, root, filter).toArray(new Predicate[0]));
+        return entityManager.createQuery(query).getSingleResult();
+    }
+    
+    private static void select(CriteriaQuery<Tuple> query, Root<User> root) {
+        List<Selection<?>> selections = new ArrayList<>(SUMMARY_ATTRIBUTES.length);
+        for (String attribute : SUMMARY_ATTRIBUTES) {
+            selections.add(root.get(attribute).alias(attribute));
+        }
+        query.multiselect(selections);
+    }
+    
+    private static List<Predicate> filters(CriteriaBuilder cb, Root<User> root, UserFilterDTO filter) {
+        List<Predicate> predicates = new ArrayList<>();
+        if (filter.getRole() != null) {
+            predicates.add(cb.equal(root.get("role"), filter.getRole()));
+        }
+        if (filter.getActive() != null) {
+            predicates.add(cb.equal(root.get("isActive"), filter.getActive()));
+        }
+        if (StringUtils.hasText(filter.getKeyword())) {
+            // Prefix match so the unique indexes on username and email can serve it
+            String pattern = escapeLike(filter.getKeyword().trim()) + "%";
+            predicates.add(cb.or(
+                    cb.like(root.get("username"), pattern, '\\'),
+                    cb.like(root.get("email"), pattern, '\\')));
+        }
+        if (filter.getCreatedFrom() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(root.get("createdAt"), filter.getCreatedFrom()));
+        }
+        if (filter.getCreatedTo() != null) {
+            predicates.add(cb.lessThan(root.get("createdAt"), filter.getCreatedTo()));
+        }
+        return predicates;
+    }
+    
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+    
+    @SuppressWarnings("unchecked")
+    private static Comparable<Object> comparable(Object value) {
+        return (Comparable<Object>) value;
+    }
+}
@@ -1,13 +1,22 @@
 package com.example.secure_customer_api.repository;
 
+import com.example.secure_customer_api.entity.Role;
 import com.example.secure_customer_api.entity.User;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface UserRepository extends JpaRepository<User, Long> {
+public interface UserRepository extends JpaRepository<User, Long>, UserQueryRepository {
     
     Optional<User> findByUsername(String username);
     
@@ -16,4 +25,28 @@ public interface UserRepository extends JpaRepository<User, Long> {
     Boolean existsByUsername(String username);
     
     Boolean existsByEmail(String email);
+    
+    Optional<User> findByResetToken(String resetToken);
+    
+    @Query("SELECT u.username FROM User u")
+    List<String> findAllUsernames();
+    
+    @Query("SELECT u.email FROM User u")
+    List<String> findAllEmails();
+    
+    // Bulk admin updates: [id, role, isActive] for one chunk of ids, locked until the chunk is written
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT u.id, u.role, u.isActive FROM User u WHERE u.id IN :ids")
+    List<Object[]> findRoleAndStatusByIdIn(@Param("ids") Collection<Long> ids);
+    
+    // Set-based writes bypass @PreUpdate, so updatedAt is passed in
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE User u SET u.isActive = :active, u.updatedAt = :now WHERE u.id IN :ids")
+    int updateActiveByIdIn(@Param("ids") Collection<Long> ids, @Param("active") boolean active,
+                           @Param("now") LocalDateTime now);
+    
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE User u SET u.role = :role, u.updatedAt = :now WHERE u.id IN :ids")
+    int updateRoleByIdIn(@Param("ids") Collection<Long> ids, @Param("role") Role role,
+                         @Param("now") LocalDateTime now);
 }
@@ -1,6 +1,7 @@
 package com.example.secure_customer_api.security;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+import jakarta.servlet.ServletOutputStream;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.security.core.AuthenticationException;
@@ -8,29 +9,37 @@ import org.springframework.security.web.AuthenticationEntryPoint;
 import org.springframework.stereotype.Component;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
-import java.util.HashMap;
-import java.util.Map;
 
 @Component
 public class JwtAuthenticationEntryPoint implements AuthenticationEntryPoint {
     
+    // The 401 body only varies in timestamp and path, so the rest is encoded once
+    private static final byte[] BODY_START = ("{\"status\":401,\"error\":\"Unauthorized\","
+            + "\"message\":\"Authentication required. Please provide valid JWT token.\",\"timestamp\":\"")
+            .getBytes(StandardCharsets.UTF_8);
+    private static final byte[] PATH_FIELD = "\",\"path\":\"".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] BODY_END = "\"}".getBytes(StandardCharsets.UTF_8);
+    
     @Override
     public void commence(HttpServletRequest request,
                         HttpServletResponse response,
                         AuthenticationException authException) throws IOException {
         
+        byte[] timestamp = LocalDateTime.now().toString().getBytes(StandardCharsets.US_ASCII);
+        // Path is client-controlled, so it is JSON-escaped
+        byte[] path = JsonStringEncoder.getInstance().quoteAsUTF8(request.getRequestURI());
+        
         response.setContentType("application/json;charset=UTF-8");
         response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+        response.setContentLength(BODY_START.length + timestamp.length + PATH_FIELD.length + path.length + BODY_END.length);
         
-        Map<String, Object> data = new HashMap<>();
-        data.put("timestamp", LocalDateTime.now().toString());
-        data.put("status", HttpServletResponse.SC_UNAUTHORIZED);
-        data.put("error", "Unauthorized");
-        data.put("message", "Authentication required. Please provide valid JWT token.");
-        data.put("path", request.getRequestURI());
-        
-        ObjectMapper objectMapper = new ObjectMapper();
-        response.getWriter().write(objectMapper.writeValueAsString(data));
+        ServletOutputStream out = response.getOutputStream();
+        out.write(BODY_START);
+        out.write(timestamp);
+        out.write(PATH_FIELD);
+        out.write(path);
+        out.write(BODY_END);
     }
 }
@@ -1,6 +1,8 @@
 package com.example.secure_customer_api.security;
 
 import com.example.secure_customer_api.service.CustomUserDetailsService;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -25,10 +27,21 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     @Autowired
     private CustomUserDetailsService customUserDetailsService;
     
+    @Autowired
+    private ObservationRegistry observationRegistry;
+    
     @Override
     protected void doFilterInternal(HttpServletRequest request, 
                                    HttpServletResponse response, 
                                    FilterChain filterChain) throws ServletException, IOException {
+        // Span covers token validation and the user lookup, not the rest of the chain
+        Observation.createNotStarted("security.jwt.authentication", observationRegistry)
+                .observe(() -> authenticate(request));
+        
+        filterChain.doFilter(request, response);
+    }
+    
+    private void authenticate(HttpServletRequest request) {
         try {
             String jwt = getJwtFromRequest(request);
             
@@ -37,6 +50,11 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                 
                 UserDetails userDetails = customUserDetailsService.loadUserByUsername(username);
                 
+                // Deactivated accounts lose access immediately, not when their token expires
+                if (!userDetails.isEnabled()) {
+                    return;
+                }
+                
                 UsernamePasswordAuthenticationToken authentication = 
                     new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
                 
@@ -47,8 +65,6 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         } catch (Exception ex) {
             logger.error("Could not set user authentication in security context", ex);
         }
-        
-        filterChain.doFilter(request, response);
     }
     
     private String getJwtFromRequest(HttpServletRequest request) {
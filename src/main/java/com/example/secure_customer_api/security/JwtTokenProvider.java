@@ -1,7 +1,13 @@
 package com.example.secure_customer_api.security;
 
+import com.example.secure_customer_api.observability.RateLimitedLogger;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -9,17 +15,35 @@ import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 
 @Component
 public class JwtTokenProvider {
     
+    private static final Logger log = LoggerFactory.getLogger(JwtTokenProvider.class);
+    
+    // Invalid tokens are attacker-controlled; keep them from flooding the log
+    private static final RateLimitedLogger failureLog = new RateLimitedLogger(log, 20, Duration.ofMinutes(1));
+    
     @Value("${jwt.secret}")
     private String jwtSecret;
     
     @Value("${jwt.expiration}")
     private long jwtExpiration;
     
+    private MeterRegistry meterRegistry;
+    private final Map<String, Timer> validationTimers = new ConcurrentHashMap<>();
+    
+    // Optional so the provider also works without metrics (reactive module, benchmarks)
+    @Autowired(required = false)
+    public void setMeterRegistry(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+    
     // Generate JWT token
     public String generateToken(Authentication authentication) {
         UserDetails userDetails = (UserDetails) authentication.getPrincipal();
@@ -51,6 +75,31 @@ public class JwtTokenProvider {
     
     // Validate token
     public boolean validateToken(String token) {
+        if (meterRegistry == null) {
+            return doValidateToken(token) == null;
+        }
+        long start = System.nanoTime();
+        String result = "rejected";
+        try {
+            String failure = doValidateToken(token);
+            result = failure == null ? "valid" : failure;
+            return failure == null;
+        } finally {
+            validationTimers.computeIfAbsent(result, this::validationTimer)
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+    
+    private Timer validationTimer(String result) {
+        return Timer.builder("security.jwt.validation")
+                .description("Time spent validating JWT signatures and claims")
+                .tag("result", result)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+    
+    // Returns null when the token is valid, otherwise a bounded failure reason
+    private String doValidateToken(String token) {
         try {
             SecretKey key = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
             
@@ -59,16 +108,19 @@ public class JwtTokenProvider {
                     .build()
                     .parseSignedClaims(token);
             
-            return true;
+            return null;
         } catch (MalformedJwtException ex) {
-            System.out.println("Invalid JWT token");
+            failureLog.warn("Invalid JWT token");
+            return "malformed";
         } catch (ExpiredJwtException ex) {
-            System.out.println("Expired JWT token");
+            failureLog.info("Expired JWT token");
+            return "expired";
         } catch (UnsupportedJwtException ex) {
-            System.out.println("Unsupported JWT token");
+            failureLog.warn("Unsupported JWT token");
+            return "unsupported";
         } catch (IllegalArgumentException ex) {
-            System.out.println("JWT claims string is empty");
+            failureLog.warn("JWT claims string is empty");
+            return "empty";
         }
-        return false;
     }
 }
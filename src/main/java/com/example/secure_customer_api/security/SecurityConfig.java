@@ -1,7 +1,10 @@
 package com.example.secure_customer_api.security;
 
 import com.example.secure_customer_api.service.CustomUserDetailsService;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.DispatcherType;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -31,9 +34,18 @@ public class SecurityConfig {
     @Autowired
     private JwtAuthenticationFilter jwtAuthenticationFilter;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${server.port:8080}")
+    private int serverPort;
+
+    @Value("${management.server.port:-1}")
+    private int managementPort;
+
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        return new TimedPasswordEncoder(new BCryptPasswordEncoder(), meterRegistry);
     }
 
     @Bean
@@ -56,6 +68,18 @@ public class SecurityConfig {
                 .exceptionHandling(exception -> exception.authenticationEntryPoint(authenticationEntryPoint))
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests(auth -> auth
+                        // Async dispatches (SSE streams) were already authorized on the initial request
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+
+                        // Health checks
+                        .requestMatchers("/actuator/health").permitAll()
+
+                        // Prometheus scrapes, only on the separate management port (not exposed publicly);
+                        // anywhere else the endpoint falls through to the authenticated rule below
+                        .requestMatchers(request -> managementPort > 0 && managementPort != serverPort
+                                && request.getLocalPort() == managementPort
+                                && "/actuator/prometheus".equals(request.getRequestURI())).permitAll()
+
                         // Public endpoints - Authentication
                         .requestMatchers("/api/auth/login").permitAll()
                         .requestMatchers("/api/auth/register").permitAll()
@@ -75,6 +99,9 @@ public class SecurityConfig {
                         // User profile endpoints - require authentication
                         .requestMatchers("/api/users/**").authenticated()
 
+                        // Batch endpoint - each sub-request is checked against these rules by BatchService
+                        .requestMatchers(HttpMethod.POST, "/api/batch").authenticated()
+
                         // Admin endpoints - require ADMIN role (also enforced by @PreAuthorize)
                         .requestMatchers("/api/admin/**").hasRole("ADMIN")
 
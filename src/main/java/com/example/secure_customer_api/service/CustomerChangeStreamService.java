@@ -0,0 +1,375 @@
+package com.example.secure_customer_api.service;
+
+import com.example.secure_customer_api.entity.CustomerChangeEvent;
+import com.example.secure_customer_api.repository.CustomerChangeEventRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fans customer outbox events out to Server-Sent Event subscribers.
+ * A single poller reads new outbox rows once per flush interval and hands them
+ * to every subscriber's bounded queue, so the database cost is independent of
+ * the number of subscribers. A {@code Last-Event-ID} replay is paged by the
+ * subscriber's sender until it catches up with the live stream. Subscribers
+ * whose queue overflows receive a {@code resync} event and are disconnected,
+ * and can resume with {@code Last-Event-ID}.
+ * <p>
+ * Writes block on the client's connection, so a write still running after
+ * {@code customer.changes.send-timeout} gets its subscriber dropped and its
+ * sender thread replaced. The stalled thread leaves the pool once the
+ * container gives up on the write, so stalled clients never hold up
+ * delivery to the others.
+ */
+@Service
+public class CustomerChangeStreamService {
+
+    private static final Logger log = LoggerFactory.getLogger(CustomerChangeStreamService.class);
+
+    @Value("${customer.changes.subscriber-queue-size:1000}")
+    private int subscriberQueueSize;
+
+    @Value("${customer.changes.replay-buffer-size:5000}")
+    private int replayBufferSize;
+
+    @Value("${customer.changes.max-batch-size:200}")
+    private int maxBatchSize;
+
+    @Value("${customer.changes.emitter-timeout:1800000}")
+    private long emitterTimeout;
+
+    // How long a gap in outbox ids may stay open before it is treated as a rolled-back insert
+    @Value("${customer.changes.gap-timeout:5000}")
+    private long gapTimeout;
+
+    // Longest a single write to one subscriber may block before that subscriber is dropped
+    @Value("${customer.changes.send-timeout:10000}")
+    private long sendTimeout;
+
+    private final CustomerChangeEventRepository changeEventRepository;
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+    private final ArrayDeque<CustomerChangeEvent> replayBuffer = new ArrayDeque<>();
+    private final ThreadPoolExecutor senders;
+    // Subscribers with a send scheduled or running, checked for stalled writes on each dispatch
+    private final Set<Subscriber> sending = ConcurrentHashMap.newKeySet();
+    private final Object lock = new Object();
+
+    private volatile long lastDispatchedId = -1;
+    private long gapOpenedAt;
+
+    @Autowired
+    public CustomerChangeStreamService(CustomerChangeEventRepository changeEventRepository,
+                                       @Value("${customer.changes.sender-threads:8}") int senderThreads) {
+        this.changeEventRepository = changeEventRepository;
+        // Each subscriber has at most one send in flight, so the pool's task queue is bounded by the subscribers
+        AtomicInteger threadCount = new AtomicInteger();
+        this.senders = new ThreadPoolExecutor(senderThreads, senderThreads, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), runnable -> {
+                    Thread thread = new Thread(runnable, "customer-sse-sender-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        // Only stream what happens from now on; older events are reachable via Last-Event-ID
+        lastDispatchedId = changeEventRepository.findMaxId();
+    }
+
+    public SseEmitter subscribe(Long lastEventId) {
+        SseEmitter emitter = new SseEmitter(emitterTimeout);
+        Subscriber subscriber = new Subscriber(emitter, new ArrayBlockingQueue<>(subscriberQueueSize));
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(ex -> subscribers.remove(subscriber));
+
+        synchronized (lock) {
+            // The sender replays everything up to here before the live events queued from now on
+            if (lastEventId != null && lastDispatchedId >= 0) {
+                subscriber.lastSentId = Math.min(lastEventId, lastDispatchedId);
+                subscriber.replayUntil = lastDispatchedId;
+            }
+            subscribers.add(subscriber);
+        }
+        scheduleSend(subscriber);
+        return emitter;
+    }
+
+    /**
+     * Highest outbox id below which every change has committed, or -1 before startup completes.
+     */
+    public long getHighWaterMark() {
+        return lastDispatchedId;
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    @Scheduled(fixedDelayString = "${customer.changes.flush-interval:250}")
+    public void dispatch() {
+        if (lastDispatchedId < 0) {
+            return;
+        }
+        List<CustomerChangeEvent> batch = pollOutbox();
+        if (!batch.isEmpty()) {
+            synchronized (lock) {
+                for (CustomerChangeEvent event : batch) {
+                    replayBuffer.addLast(event);
+                    if (replayBuffer.size() > replayBufferSize) {
+                        replayBuffer.removeFirst();
+                    }
+                }
+                for (Subscriber subscriber : subscribers) {
+                    for (CustomerChangeEvent event : batch) {
+                        if (!subscriber.queue.offer(event)) {
+                            disconnectSlowConsumer(subscriber);
+                            break;
+                        }
+                    }
+                }
+            }
+        }
+        for (Subscriber subscriber : subscribers) {
+            scheduleSend(subscriber);
+        }
+        abandonStalledSends();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+        senders.shutdownNow();
+    }
+
+    // Reads rows past the last dispatched id, stopping at a gap until it closes or times out
+    private List<CustomerChangeEvent> pollOutbox() {
+        List<CustomerChangeEvent> rows = changeEventRepository.findTop500ByIdGreaterThanOrderByIdAsc(lastDispatchedId);
+        List<CustomerChangeEvent> ready = new ArrayList<>(rows.size());
+        long expected = lastDispatchedId + 1;
+        for (CustomerChangeEvent row : rows) {
+            if (row.getId() != expected) {
+                long now = System.currentTimeMillis();
+                if (gapOpenedAt == 0) {
+                    gapOpenedAt = now;
+                }
+                if (now - gapOpenedAt < gapTimeout) {
+                    break;
+                }
+            }
+            gapOpenedAt = 0;
+            ready.add(row);
+            expected = row.getId() + 1;
+        }
+        if (!ready.isEmpty()) {
+            lastDispatchedId = ready.get(ready.size() - 1).getId();
+        }
+        return ready;
+    }
+
+    // One page of committed events after the id; the outbox table is read only when the buffer no longer covers it
+    private List<CustomerChangeEvent> replayPage(long afterId, long untilId) {
+        List<CustomerChangeEvent> events = new ArrayList<>(maxBatchSize);
+        synchronized (lock) {
+            CustomerChangeEvent oldest = replayBuffer.peekFirst();
+            if (oldest != null && oldest.getId() <= afterId + 1) {
+                for (CustomerChangeEvent event : replayBuffer) {
+                    if (event.getId() > untilId || events.size() == maxBatchSize) {
+                        break;
+                    }
+                    if (event.getId() > afterId) {
+                        events.add(event);
+                    }
+                }
+                return events;
+            }
+        }
+        for (CustomerChangeEvent event : changeEventRepository.findTop500ByIdGreaterThanOrderByIdAsc(afterId)) {
+            if (event.getId() > untilId) {
+                break;
+            }
+            events.add(event);
+        }
+        return events;
+    }
+
+    private void scheduleSend(Subscriber subscriber) {
+        if (subscriber.hasWork() && subscriber.sending.compareAndSet(false, true)) {
+            sending.add(subscriber);
+            senders.execute(() -> send(subscriber));
+        }
+    }
+
+    // Drops subscribers whose current write has blocked too long and adds a sender thread in place of each
+    private void abandonStalledSends() {
+        long now = System.nanoTime();
+        for (Subscriber subscriber : sending) {
+            synchronized (subscriber) {
+                if (!subscriber.writing || subscriber.abandoned
+                        || now - subscriber.writeStartedAt < TimeUnit.MILLISECONDS.toNanos(sendTimeout)) {
+                    continue;
+                }
+                subscriber.abandoned = true;
+                subscriber.completed = true;
+            }
+            log.warn("Dropping customer change stream subscriber whose write blocked for over {} ms", sendTimeout);
+            subscribers.remove(subscriber);
+            resizeSenders(1);
+        }
+    }
+
+    private void resizeSenders(int delta) {
+        synchronized (senders) {
+            // The maximum may never be below the core size, so it moves first when growing and last when shrinking
+            if (delta > 0) {
+                senders.setMaximumPoolSize(senders.getMaximumPoolSize() + delta);
+                senders.setCorePoolSize(senders.getCorePoolSize() + delta);
+            } else {
+                senders.setCorePoolSize(senders.getCorePoolSize() + delta);
+                senders.setMaximumPoolSize(senders.getMaximumPoolSize() + delta);
+            }
+        }
+    }
+
+    // One write and flush per batch: the replay first, then the live queue
+    private void send(Subscriber subscriber) {
+        try {
+            while (subscriber.lastSentId < subscriber.replayUntil) {
+                List<CustomerChangeEvent> page = replayPage(subscriber.lastSentId, subscriber.replayUntil);
+                if (page.isEmpty()) {
+                    subscriber.lastSentId = subscriber.replayUntil;
+                    break;
+                }
+                sendFrames(subscriber, page);
+            }
+            List<CustomerChangeEvent> pending = new ArrayList<>(maxBatchSize);
+            while (subscriber.queue.drainTo(pending, maxBatchSize) > 0) {
+                sendFrames(subscriber, pending);
+                pending.clear();
+            }
+            if (subscriber.overflowed && !subscriber.completed) {
+                subscriber.completed = true;
+                // Carries no id, so the client's Last-Event-ID still names the last event it received
+                write(subscriber, SseEmitter.event()
+                        .name("resync")
+                        .data("{\"lastEventId\":" + subscriber.lastSentId + "}", MediaType.APPLICATION_JSON)
+                        .build());
+                subscriber.emitter.complete();
+            } else if (subscriber.abandoned) {
+                // The stalled write went through in the end, but the subscriber was already dropped
+                subscriber.emitter.complete();
+            }
+        } catch (IOException | IllegalStateException ex) {
+            subscriber.completed = true;
+            subscribers.remove(subscriber);
+            subscriber.emitter.completeWithError(ex);
+        } finally {
+            sending.remove(subscriber);
+            subscriber.sending.set(false);
+        }
+        // No write is running any more, so abandoned can no longer change
+        if (subscriber.abandoned) {
+            resizeSenders(-1);
+            return;
+        }
+        // Work handed over while this send was finishing would otherwise wait for the next dispatch
+        scheduleSend(subscriber);
+    }
+
+    // Timed by abandonStalledSends; nothing more is written once the subscriber has been abandoned
+    private void write(Subscriber subscriber, Set<ResponseBodyEmitter.DataWithMediaType> frames) throws IOException {
+        synchronized (subscriber) {
+            if (subscriber.abandoned) {
+                throw new IOException("Customer change stream send timed out");
+            }
+            subscriber.writeStartedAt = System.nanoTime();
+            subscriber.writing = true;
+        }
+        try {
+            subscriber.emitter.send(frames);
+        } finally {
+            synchronized (subscriber) {
+                subscriber.writing = false;
+            }
+        }
+    }
+
+    // Skips events already delivered, e.g. by a replay that overlapped the live queue
+    private void sendFrames(Subscriber subscriber, List<CustomerChangeEvent> events) throws IOException {
+        Set<ResponseBodyEmitter.DataWithMediaType> frames = new LinkedHashSet<>();
+        long lastId = subscriber.lastSentId;
+        for (CustomerChangeEvent event : events) {
+            if (event.getId() <= lastId) {
+                continue;
+            }
+            frames.addAll(SseEmitter.event()
+                    .id(String.valueOf(event.getId()))
+                    .name("customer." + event.getChangeType().name().toLowerCase(Locale.ROOT))
+                    .data(event.getPayload(), MediaType.APPLICATION_JSON)
+                    .build());
+            lastId = event.getId();
+        }
+        if (!frames.isEmpty()) {
+            write(subscriber, frames);
+        }
+        subscriber.lastSentId = Math.max(lastId, events.get(events.size() - 1).getId());
+    }
+
+    // Caller holds the lock. The queue holds a gap-free prefix; the sender flushes it, then asks the client to resync
+    private void disconnectSlowConsumer(Subscriber subscriber) {
+        log.warn("Disconnecting slow customer change stream subscriber after {} queued events", subscriberQueueSize);
+        subscribers.remove(subscriber);
+        subscriber.overflowed = true;
+        scheduleSend(subscriber);
+    }
+
+    private static final class Subscriber {
+        private final SseEmitter emitter;
+        private final BlockingQueue<CustomerChangeEvent> queue;
+        private final AtomicBoolean sending = new AtomicBoolean();
+        private volatile long lastSentId = -1;
+        private volatile long replayUntil = -1;
+        private volatile boolean overflowed;
+        private volatile boolean completed;
+        // Guarded by the subscriber's monitor
+        private boolean writing;
+        private long writeStartedAt;
+        private volatile boolean abandoned;
+
+        private Subscriber(SseEmitter emitter, BlockingQueue<CustomerChangeEvent> queue) {
+            this.emitter = emitter;
+            this.queue = queue;
+        }
+
+        private boolean hasWork() {
+            return !completed && (!queue.isEmpty() || lastSentId < replayUntil || overflowed);
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.secure_customer_api.service;
+
+import com.example.secure_customer_api.exception.InvalidRequestException;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Allow-list for the {@code ?fields=} parameter on customer reads. Names are
+ * the {@code CustomerResponseDTO} properties, which are also the {@code Customer}
+ * attribute names, so a parsed list can be used directly as a JPA projection.
+ */
+public final class CustomerFields {
+    
+    // Response order; a sparse row keeps this order whatever order was requested
+    public static final List<String> ALLOWED = List.of(
+            "id", "customerCode", "fullName", "email", "phone", "address", "status", "createdAt");
+    
+    private CustomerFields() {
+    }
+    
+    /**
+     * Parses a comma-separated field list. Returns {@code null} when the
+     * parameter is absent or blank, meaning "all fields".
+     *
+     * @throws InvalidRequestException if any name is not in {@link #ALLOWED}
+     */
+    public static List<String> parse(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return null;
+        }
+        Set<String> requested = new LinkedHashSet<>();
+        List<String> unknown = new ArrayList<>();
+        for (String field : fields.split(",")) {
+            String name = field.trim();
+            if (name.isEmpty()) {
+                continue;
+            }
+            if (ALLOWED.contains(name)) {
+                requested.add(name);
+            } else {
+                unknown.add(name);
+            }
+        }
+        if (!unknown.isEmpty()) {
+            throw new InvalidRequestException("Unknown field(s) " + unknown + "; allowed: " + ALLOWED);
+        }
+        if (requested.isEmpty()) {
+            return null;
+        }
+        List<String> ordered = new ArrayList<>(requested.size());
+        for (String name : ALLOWED) {
+            if (requested.contains(name)) {
+                ordered.add(name);
+            }
+        }
+        return List.copyOf(ordered);
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.secure_customer_api.service;
+
+import com.example.secure_customer_api.dto.CustomerResponseDTO;
+import com.example.secure_customer_api.entity.CustomerChangeEvent;
+import com.example.secure_customer_api.entity.CustomerChangeType;
+import com.example.secure_customer_api.repository.CustomerChangeEventRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Appends customer change events to the outbox table.
+ * Must run inside the caller's transaction so the event commits or rolls back with the write.
+ */
+@Service
+public class CustomerOutboxService {
+
+    @Value("${customer.changes.retention-hours:24}")
+    private long retentionHours;
+
+    private final CustomerChangeEventRepository changeEventRepository;
+    private final ObjectMapper objectMapper;
+
+    @Autowired
+    public CustomerOutboxService(CustomerChangeEventRepository changeEventRepository, ObjectMapper objectMapper) {
+        this.changeEventRepository = changeEventRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void append(CustomerChangeType changeType, CustomerResponseDTO customer) {
+        changeEventRepository.save(new CustomerChangeEvent(customer.getId(), changeType, toJson(customer)));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void appendDeleted(Long customerId) {
+        changeEventRepository.save(new CustomerChangeEvent(customerId, CustomerChangeType.DELETED,
+                toJson(Map.of("id", customerId))));
+    }
+
+    @Scheduled(fixedDelayString = "${customer.changes.prune-interval:3600000}")
+    @Transactional
+    public void pruneExpired() {
+        changeEventRepository.deleteOlderThan(LocalDateTime.now().minusHours(retentionHours));
+    }
+
+    private String toJson(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Could not serialize customer change event", ex);
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.secure_customer_api.service;
 
+import com.example.secure_customer_api.dto.CustomerDeltaDTO;
 import com.example.secure_customer_api.dto.CustomerRequestDTO;
 import com.example.secure_customer_api.dto.CustomerResponseDTO;
 import com.example.secure_customer_api.dto.CustomerUpdateDTO; 
@@ -8,6 +9,7 @@ import org.springframework.data.domain.Pageable;
 import com.example.secure_customer_api.entity.CustomerStatus;
 
 import java.util.List;
+import java.util.Map;
 
 public interface CustomerService {
     
@@ -22,4 +24,12 @@ public interface CustomerService {
 
     List<CustomerResponseDTO> searchCustomers(String keyword);
     List<CustomerResponseDTO> getCustomersByStatus(CustomerStatus status);
+
+    // Sparse variants: only the given CustomerFields are selected and returned
+    Page<Map<String, Object>> getAllCustomers(Pageable pageable, List<String> fields);
+    Map<String, Object> getCustomerById(Long id, List<String> fields);
+    List<Map<String, Object>> searchCustomers(String keyword, List<String> fields);
+    List<Map<String, Object>> getCustomersByStatus(CustomerStatus status, List<String> fields);
+
+    CustomerDeltaDTO getCustomerChangesSince(long since, int limit);
 }
\ No newline at end of file
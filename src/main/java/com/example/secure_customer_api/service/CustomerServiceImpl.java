@@ -1,69 +1,100 @@
 package com.example.secure_customer_api.service;
 
+import com.example.secure_customer_api.dto.CustomerDeltaDTO;
 import com.example.secure_customer_api.dto.CustomerRequestDTO;
 import com.example.secure_customer_api.dto.CustomerResponseDTO;
 import com.example.secure_customer_api.dto.CustomerUpdateDTO;
 import com.example.secure_customer_api.entity.Customer;
+import com.example.secure_customer_api.entity.CustomerChangeType;
 import com.example.secure_customer_api.entity.CustomerStatus;
+import com.example.secure_customer_api.exception.ConstraintViolations;
 import com.example.secure_customer_api.exception.DuplicateResourceException;
 import com.example.secure_customer_api.exception.ResourceNotFoundException;
-import com.example.secure_customer_api.repository.CustomerRepository;
+import com.example.secure_customer_api.repository.CustomerChangeEventRepository;
+import com.example.secure_customer_api.repository.CustomerStore;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.observation.annotation.Observed;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
 @Transactional
+@Observed(name = "customer.service")
 public class CustomerServiceImpl implements CustomerService {
     
-    private final CustomerRepository customerRepository;
+    private final CustomerStore customerStore;
+    private final CustomerStatsService customerStatsService;
+    private final CustomerOutboxService customerOutboxService;
+    private final CustomerChangeEventRepository changeEventRepository;
+    private final CustomerChangeStreamService changeStreamService;
+    private final Timer mappingTimer;
     
     @Autowired
-    public CustomerServiceImpl(CustomerRepository customerRepository) {
-        this.customerRepository = customerRepository;
+    public CustomerServiceImpl(CustomerStore customerStore,
+                               CustomerStatsService customerStatsService,
+                               CustomerOutboxService customerOutboxService,
+                               CustomerChangeEventRepository changeEventRepository,
+                               CustomerChangeStreamService changeStreamService,
+                               MeterRegistry meterRegistry) {
+        this.customerStore = customerStore;
+        this.customerStatsService = customerStatsService;
+        this.customerOutboxService = customerOutboxService;
+        this.changeEventRepository = changeEventRepository;
+        this.changeStreamService = changeStreamService;
+        this.mappingTimer = Timer.builder("dto.mapping")
+                .description("Time spent mapping entity lists to response DTOs")
+                .tag("type", "customer")
+                .register(meterRegistry);
     }
     
     @Override
     public CustomerResponseDTO getCustomerById(Long id) {
-        Customer customer = customerRepository.findById(id)
+        Customer customer = customerStore.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Customer not found with id: " + id));
         return convertToResponseDTO(customer);
     }
     
     @Override
     public CustomerResponseDTO createCustomer(CustomerRequestDTO requestDTO) {
-        // Check for duplicates
-        if (customerRepository.existsByCustomerCode(requestDTO.getCustomerCode())) {
-            throw new DuplicateResourceException("Customer code already exists: " + requestDTO.getCustomerCode());
-        }
-        
-        if (customerRepository.existsByEmail(requestDTO.getEmail())) {
-            throw new DuplicateResourceException("Email already exists: " + requestDTO.getEmail());
-        }
-        
         // Convert DTO to Entity
         Customer customer = convertToEntity(requestDTO);
         
-        // Save to database
-        Customer savedCustomer = customerRepository.save(customer);
+        // Save to database - the unique constraints on customer_code and email
+        // reject duplicates, so no existence queries are needed up front
+        Customer savedCustomer;
+        try {
+            savedCustomer = customerStore.insert(customer);
+        } catch (DataIntegrityViolationException ex) {
+            throw translateConstraintViolation(ex, requestDTO);
+        }
+        customerStatsService.recordCreated(savedCustomer.getStatus(), savedCustomer.getCreatedAt());
         
         // Convert Entity to Response DTO
-        return convertToResponseDTO(savedCustomer);
+        CustomerResponseDTO created = convertToResponseDTO(savedCustomer);
+        customerOutboxService.append(CustomerChangeType.CREATED, created);
+        return created;
     }
     
     @Override
     public CustomerResponseDTO updateCustomer(Long id, CustomerRequestDTO requestDTO) {
-        Customer existingCustomer = customerRepository.findById(id)
+        Customer existingCustomer = customerStore.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Customer not found with id: " + id));
         
         // Check if email is being changed to an existing one
         if (!existingCustomer.getEmail().equals(requestDTO.getEmail()) 
-            && customerRepository.existsByEmail(requestDTO.getEmail())) {
+            && customerStore.existsByEmail(requestDTO.getEmail())) {
             throw new DuplicateResourceException("Email already exists: " + requestDTO.getEmail());
         }
         
@@ -75,36 +106,99 @@ public class CustomerServiceImpl implements CustomerService {
         
         // Don't update customerCode (immutable)
         
-        Customer updatedCustomer = customerRepository.save(existingCustomer);
-        return convertToResponseDTO(updatedCustomer);
+        // Outbox first: a sharded store writes the shard last, so its failure rolls the event back
+        CustomerResponseDTO updated = convertToResponseDTO(existingCustomer);
+        customerOutboxService.append(CustomerChangeType.UPDATED, updated);
+        customerStore.update(existingCustomer);
+        return updated;
     }
     
     @Override
     public void deleteCustomer(Long id) {
-        if (!customerRepository.existsById(id)) {
-            throw new ResourceNotFoundException("Customer not found with id: " + id);
-        }
-        customerRepository.deleteById(id);
+        Customer customer = customerStore.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Customer not found with id: " + id));
+        customerOutboxService.appendDeleted(id);
+        customerStore.delete(customer);
+        customerStatsService.recordDeleted(customer.getStatus(), customer.getCreatedAt());
     }
     
     @Override
     public List<CustomerResponseDTO> searchCustomers(String keyword) {
-        return customerRepository.searchCustomers(keyword)
-                .stream()
-                .map(this::convertToResponseDTO)
-                .collect(Collectors.toList());
+        return convertAll(customerStore.searchCustomers(keyword));
     }
     
     @Override
     public List<CustomerResponseDTO> getCustomersByStatus(CustomerStatus status) {
-        return customerRepository.findByStatus(status)
-                .stream()
-                .map(this::convertToResponseDTO)
-                .collect(Collectors.toList());
+        return convertAll(customerStore.findByStatus(status));
+    }
+    
+    @Override
+    public Page<Map<String, Object>> getAllCustomers(Pageable pageable, List<String> fields) {
+        return customerStore.findAllProjected(fields, pageable);
+    }
+    
+    @Override
+    public Map<String, Object> getCustomerById(Long id, List<String> fields) {
+        return customerStore.findByIdProjected(id, fields)
+                .orElseThrow(() -> new ResourceNotFoundException("Customer not found with id: " + id));
+    }
+    
+    @Override
+    public List<Map<String, Object>> searchCustomers(String keyword, List<String> fields) {
+        return customerStore.searchProjected(keyword, fields);
+    }
+    
+    @Override
+    public List<Map<String, Object>> getCustomersByStatus(CustomerStatus status, List<String> fields) {
+        return customerStore.findByStatusProjected(status, fields);
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public CustomerDeltaDTO getCustomerChangesSince(long since, int limit) {
+        // Only hand out changes below the point where every transaction has committed
+        long until = changeStreamService.getHighWaterMark();
+        if (until < 0) {
+            until = changeEventRepository.findMaxId();
+        }
+        
+        // Outbox rows before the cursor were pruned - the client must do a full resync
+        Long oldest = changeEventRepository.findMinId();
+        if (since < until && (oldest == null || since < oldest - 1)) {
+            return new CustomerDeltaDTO(List.of(), List.of(), until, false, true);
+        }
+        
+        List<Object[]> latest = changeEventRepository.findLatestChangesBetween(
+                since, until, PageRequest.of(0, limit));
+        List<Long> ids = latest.stream().map(row -> (Long) row[0]).collect(Collectors.toList());
+        Map<Long, Customer> customers = customerStore.findAllById(ids).stream()
+                .collect(Collectors.toMap(Customer::getId, Function.identity()));
+        
+        List<CustomerResponseDTO> changed = new ArrayList<>();
+        List<Long> deleted = new ArrayList<>();
+        for (Long id : ids) {
+            Customer customer = customers.get(id);
+            if (customer != null) {
+                changed.add(convertToResponseDTO(customer));
+            } else {
+                // Gone from the table - report a tombstone
+                deleted.add(id);
+            }
+        }
+        
+        boolean hasMore = latest.size() == limit;
+        long nextCursor = hasMore ? (Long) latest.get(latest.size() - 1)[1] : until;
+        return new CustomerDeltaDTO(changed, deleted, Math.max(nextCursor, since), hasMore, false);
     }
     
     // Helper Methods for DTO Conversion
     
+    private List<CustomerResponseDTO> convertAll(List<Customer> customers) {
+        return mappingTimer.record(() -> customers.stream()
+                .map(this::convertToResponseDTO)
+                .collect(Collectors.toList()));
+    }
+    
     private CustomerResponseDTO convertToResponseDTO(Customer customer) {
         CustomerResponseDTO dto = new CustomerResponseDTO();
         dto.setId(customer.getId());
@@ -118,6 +212,20 @@ public class CustomerServiceImpl implements CustomerService {
         return dto;
     }
     
+    // Maps a unique constraint violation to the field that caused it;
+    // anything else (e.g. NOT NULL) is rethrown unchanged
+    private RuntimeException translateConstraintViolation(DataIntegrityViolationException ex,
+                                                          CustomerRequestDTO dto) {
+        String constraint = ConstraintViolations.violatedConstraint(ex);
+        if (constraint.contains(Customer.UK_CUSTOMER_CODE) || constraint.contains("customer_code")) {
+            return new DuplicateResourceException("Customer code already exists: " + dto.getCustomerCode(), ex);
+        }
+        if (constraint.contains(Customer.UK_EMAIL) || constraint.contains("email")) {
+            return new DuplicateResourceException("Email already exists: " + dto.getEmail(), ex);
+        }
+        return ex;
+    }
+    
     private Customer convertToEntity(CustomerRequestDTO dto) {
         Customer customer = new Customer();
         customer.setCustomerCode(dto.getCustomerCode());
@@ -130,13 +238,13 @@ public class CustomerServiceImpl implements CustomerService {
 
     @Override
     public Page<CustomerResponseDTO> getAllCustomers(Pageable pageable) {
-        return customerRepository.findAll(pageable)
-                .map(this::convertToResponseDTO);
+        Page<Customer> customers = customerStore.findAll(pageable);
+        return mappingTimer.record(() -> customers.map(this::convertToResponseDTO));
     }
 
     @Override
     public CustomerResponseDTO partialUpdateCustomer(Long id, CustomerUpdateDTO updateDTO) {
-        Customer customer = customerRepository.findById(id)
+        Customer customer = customerStore.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Customer not found with id: " + id));
         
         if (updateDTO.getFullName() != null) {
@@ -145,7 +253,7 @@ public class CustomerServiceImpl implements CustomerService {
         
         if (updateDTO.getEmail() != null) {
             if (!customer.getEmail().equals(updateDTO.getEmail()) && 
-                customerRepository.existsByEmail(updateDTO.getEmail())) {
+                customerStore.existsByEmail(updateDTO.getEmail())) {
                 throw new DuplicateResourceException("Email already exists: " + updateDTO.getEmail());
             }
             customer.setEmail(updateDTO.getEmail());
@@ -159,7 +267,9 @@ public class CustomerServiceImpl implements CustomerService {
             customer.setAddress(updateDTO.getAddress());
         }
         
-        Customer updatedCustomer = customerRepository.save(customer);
-        return convertToResponseDTO(updatedCustomer);
+        CustomerResponseDTO updated = convertToResponseDTO(customer);
+        customerOutboxService.append(CustomerChangeType.UPDATED, updated);
+        customerStore.update(customer);
+        return updated;
     }
 }
@@ -0,0 +1,191 @@
+package com.example.secure_customer_api.service;
+
+import com.example.secure_customer_api.dto.CustomerStatsDTO;
+import com.example.secure_customer_api.entity.CustomerStat;
+import com.example.secure_customer_api.entity.CustomerStatus;
+import com.example.secure_customer_api.repository.CustomerStatRepository;
+import com.example.secure_customer_api.repository.CustomerStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Customer counts per status and signups per day, maintained incrementally
+ * by the write paths in {@link CustomerServiceImpl} so reads never touch the table.
+ * A periodic reconciliation recomputes the figures from the database, corrects
+ * any drift and persists them to {@code customer_stats}.
+ */
+@Service
+public class CustomerStatsService {
+
+    private static final Logger log = LoggerFactory.getLogger(CustomerStatsService.class);
+
+    private static final String STATUS_PREFIX = "status:";
+    private static final String DAY_PREFIX = "day:";
+
+    @Value("${customer.stats.retention-days:365}")
+    private int retentionDays;
+
+    @Value("${customer.stats.reconcile-interval:300000}")
+    private long reconcileInterval;
+
+    private final CustomerStore customerStore;
+    private final CustomerStatRepository customerStatRepository;
+
+    // LongAdder stripes contended increments across cells
+    private final Map<CustomerStatus, LongAdder> statusCounts = new EnumMap<>(CustomerStatus.class);
+    private final ConcurrentHashMap<LocalDate, LongAdder> dailyCreated = new ConcurrentHashMap<>();
+    private volatile LocalDateTime reconciledAt;
+
+    @Autowired
+    public CustomerStatsService(CustomerStore customerStore,
+                                CustomerStatRepository customerStatRepository) {
+        this.customerStore = customerStore;
+        this.customerStatRepository = customerStatRepository;
+        for (CustomerStatus status : CustomerStatus.values()) {
+            statusCounts.put(status, new LongAdder());
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void initialize() {
+        // A recent persisted snapshot saves the aggregate queries on startup
+        List<CustomerStat> snapshot = customerStatRepository.findAll();
+        LocalDateTime freshAfter = LocalDateTime.now().minusNanos(reconcileInterval * 1_000_000);
+        if (!snapshot.isEmpty() && snapshot.get(0).getReconciledAt().isAfter(freshAfter)) {
+            load(snapshot);
+        } else {
+            reconcile();
+        }
+    }
+
+    public void recordCreated(CustomerStatus status, LocalDateTime createdAt) {
+        afterCommit(() -> {
+            statusCounts.get(status).increment();
+            dailyCreated.computeIfAbsent(createdAt.toLocalDate(), day -> new LongAdder()).increment();
+        });
+    }
+
+    public void recordDeleted(CustomerStatus status, LocalDateTime createdAt) {
+        afterCommit(() -> {
+            statusCounts.get(status).decrement();
+            LongAdder day = createdAt == null ? null : dailyCreated.get(createdAt.toLocalDate());
+            if (day != null) {
+                day.decrement();
+            }
+        });
+    }
+
+    public CustomerStatsDTO getStats(int days) {
+        int window = Math.max(1, Math.min(days, retentionDays));
+
+        Map<String, Long> byStatus = new LinkedHashMap<>();
+        long total = 0;
+        for (Map.Entry<CustomerStatus, LongAdder> entry : statusCounts.entrySet()) {
+            long count = entry.getValue().sum();
+            byStatus.put(entry.getKey().name(), count);
+            total += count;
+        }
+
+        Map<LocalDate, Long> perDay = new LinkedHashMap<>();
+        LocalDate today = LocalDate.now();
+        for (LocalDate day = today.minusDays(window - 1); !day.isAfter(today); day = day.plusDays(1)) {
+            LongAdder count = dailyCreated.get(day);
+            perDay.put(day, count == null ? 0L : count.sum());
+        }
+
+        return new CustomerStatsDTO(total, byStatus, perDay, reconciledAt);
+    }
+
+    /**
+     * Recomputes the aggregates from the database and persists them.
+     * Writes committed while this runs may be counted twice or not at all;
+     * the next run corrects that.
+     */
+    @Scheduled(fixedDelayString = "${customer.stats.reconcile-interval:300000}",
+            initialDelayString = "${customer.stats.reconcile-interval:300000}")
+    @Transactional
+    public synchronized void reconcile() {
+        LocalDate since = LocalDate.now().minusDays(retentionDays - 1);
+        LocalDateTime now = LocalDateTime.now();
+        List<CustomerStat> snapshot = new ArrayList<>();
+
+        Map<CustomerStatus, Long> actualByStatus = new EnumMap<>(CustomerStatus.class);
+        for (Object[] row : customerStore.countByStatus()) {
+            actualByStatus.put((CustomerStatus) row[0], (Long) row[1]);
+        }
+        long drift = 0;
+        for (Map.Entry<CustomerStatus, LongAdder> entry : statusCounts.entrySet()) {
+            long actual = actualByStatus.getOrDefault(entry.getKey(), 0L);
+            drift += Math.abs(entry.getValue().sumThenReset() - actual);
+            entry.getValue().add(actual);
+            snapshot.add(new CustomerStat(STATUS_PREFIX + entry.getKey().name(), actual, now));
+        }
+
+        Map<LocalDate, Long> actualByDay = new LinkedHashMap<>();
+        for (Object[] row : customerStore.countCreatedPerDaySince(since.atStartOfDay())) {
+            actualByDay.put((LocalDate) row[0], (Long) row[1]);
+        }
+        dailyCreated.keySet().removeIf(day -> day.isBefore(since) || !actualByDay.containsKey(day));
+        actualByDay.forEach((day, actual) -> {
+            LongAdder counter = dailyCreated.computeIfAbsent(day, d -> new LongAdder());
+            counter.reset();
+            counter.add(actual);
+            snapshot.add(new CustomerStat(DAY_PREFIX + day, actual, now));
+        });
+
+        customerStatRepository.deleteAllInBatch();
+        customerStatRepository.saveAll(snapshot);
+        reconciledAt = now;
+
+        if (drift != 0) {
+            log.info("Customer stats reconciled with status drift of {}", drift);
+        }
+    }
+
+    private void load(List<CustomerStat> snapshot) {
+        for (CustomerStat stat : snapshot) {
+            if (stat.getStatKey().startsWith(STATUS_PREFIX)) {
+                CustomerStatus status = CustomerStatus.valueOf(stat.getStatKey().substring(STATUS_PREFIX.length()));
+                statusCounts.get(status).add(stat.getCount());
+            } else if (stat.getStatKey().startsWith(DAY_PREFIX)) {
+                LocalDate day = LocalDate.parse(stat.getStatKey().substring(DAY_PREFIX.length()));
+                dailyCreated.computeIfAbsent(day, d -> new LongAdder()).add(stat.getCount());
+            }
+        }
+        reconciledAt = snapshot.get(0).getReconciledAt();
+    }
+
+    // Only count writes that actually commit
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
@@ -6,10 +6,12 @@ import com.example.secure_customer_api.exception.ResourceNotFoundException;
 import com.example.secure_customer_api.repository.RefreshTokenRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -51,4 +53,15 @@ public class RefreshTokenService {
   public void deleteByUser(User user) {
     refreshTokenRepository.deleteByUser(user);
   }
+
+  // One DELETE for a whole chunk of deactivated users
+  public int deleteByUserIds(Collection<Long> userIds) {
+    return refreshTokenRepository.deleteByUserIdIn(userIds);
+  }
+
+  // Expired tokens are otherwise only removed when presented; uses idx_refresh_tokens_expiry_date
+  @Scheduled(fixedDelayString = "${jwt.refresh-cleanup-interval:3600000}")
+  public void deleteExpiredTokens() {
+    refreshTokenRepository.deleteExpired(LocalDateTime.now());
+  }
 }
@@ -0,0 +1,161 @@
+package com.example.secure_customer_api.service;
+
+import com.example.secure_customer_api.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory Bloom filters of taken usernames and emails.
+ * Lets registration and profile updates skip the existence queries for names
+ * that are definitely free; a "maybe taken" answer still goes to the database,
+ * and the unique constraints remain the final arbiter.
+ */
+@Component
+public class RegistrationAvailabilityFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(RegistrationAvailabilityFilter.class);
+
+    @Value("${registration.filter.false-positive-rate:0.01}")
+    private double falsePositiveRate;
+
+    // Headroom so the filter can absorb signups between rebuilds without degrading
+    @Value("${registration.filter.min-capacity:100000}")
+    private long minCapacity;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private volatile Filters current;
+    private volatile Filters rebuilding;
+
+    private final AtomicLong lookups = new AtomicLong();
+    private final AtomicLong skippedQueries = new AtomicLong();
+    private final AtomicLong falsePositives = new AtomicLong();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        rebuild();
+    }
+
+    @Scheduled(fixedDelayString = "${registration.filter.rebuild-interval:3600000}",
+            initialDelayString = "${registration.filter.rebuild-interval:3600000}")
+    @Transactional(readOnly = true)
+    public synchronized void rebuild() {
+        long count = userRepository.count();
+        Filters next = new Filters(Math.max(minCapacity, count * 2), falsePositiveRate);
+        // Writes that land while we load are recorded in both filters
+        rebuilding = next;
+        try {
+            userRepository.findAllUsernames().forEach(username -> next.usernames.put(normalize(username)));
+            userRepository.findAllEmails().forEach(email -> next.emails.put(normalize(email)));
+            current = next;
+            falsePositives.set(0);
+            lookups.set(0);
+            skippedQueries.set(0);
+            log.info("Registration availability filter built with {} users ({} bytes)", count, next.sizeInBytes());
+        } finally {
+            rebuilding = null;
+        }
+    }
+
+    /** Returns false only if the username is definitely not taken. */
+    public boolean mightContainUsername(String username) {
+        return mightContain(username, true);
+    }
+
+    /** Returns false only if the email is definitely not taken. */
+    public boolean mightContainEmail(String email) {
+        return mightContain(email, false);
+    }
+
+    /** Called when the database answered "not taken" after the filter said "maybe". */
+    public void recordFalsePositive() {
+        falsePositives.incrementAndGet();
+    }
+
+    public void addUsername(String username) {
+        add(username, true);
+    }
+
+    public void addEmail(String email) {
+        add(email, false);
+    }
+
+    public Map<String, Object> getStats() {
+        Filters filters = current;
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("ready", filters != null);
+        stats.put("lookups", lookups.get());
+        stats.put("skippedQueries", skippedQueries.get());
+        stats.put("falsePositives", falsePositives.get());
+        long maybeAnswers = lookups.get() - skippedQueries.get();
+        stats.put("observedFalsePositiveRate",
+                maybeAnswers == 0 ? 0.0 : (double) falsePositives.get() / maybeAnswers);
+        if (filters != null) {
+            stats.put("expectedUsernameFalsePositiveRate", filters.usernames.expectedFalsePositiveRate());
+            stats.put("expectedEmailFalsePositiveRate", filters.emails.expectedFalsePositiveRate());
+            stats.put("insertions", filters.usernames.getInsertions() + filters.emails.getInsertions());
+            stats.put("hashFunctions", filters.usernames.getHashCount());
+            stats.put("memoryBytes", filters.sizeInBytes());
+        }
+        return stats;
+    }
+
+    private boolean mightContain(String value, boolean username) {
+        Filters filters = current;
+        if (filters == null || value == null) {
+            // Not built yet - fall back to the database
+            return true;
+        }
+        lookups.incrementAndGet();
+        BloomFilter filter = username ? filters.usernames : filters.emails;
+        boolean maybe = filter.mightContain(normalize(value));
+        if (!maybe) {
+            skippedQueries.incrementAndGet();
+        }
+        return maybe;
+    }
+
+    private void add(String value, boolean username) {
+        if (value == null) {
+            return;
+        }
+        String normalized = normalize(value);
+        for (Filters filters : new Filters[] { current, rebuilding }) {
+            if (filters != null) {
+                (username ? filters.usernames : filters.emails).put(normalized);
+            }
+        }
+    }
+
+    // MySQL's default collation compares case-insensitively, so must the filter
+    private static String normalize(String value) {
+        return value.toLowerCase(Locale.ROOT);
+    }
+
+    private static final class Filters {
+        private final BloomFilter usernames;
+        private final BloomFilter emails;
+
+        private Filters(long capacity, double falsePositiveRate) {
+            this.usernames = new BloomFilter(capacity, falsePositiveRate);
+            this.emails = new BloomFilter(capacity, falsePositiveRate);
+        }
+
+        private long sizeInBytes() {
+            return usernames.getSizeInBytes() + emails.getSizeInBytes();
+        }
+    }
+}
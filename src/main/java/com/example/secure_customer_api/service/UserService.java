@@ -1,7 +1,10 @@
 package com.example.secure_customer_api.service;
 
 import com.example.secure_customer_api.dto.*;
+import com.example.secure_customer_api.entity.Role;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
 import java.util.Map;
 
@@ -27,9 +30,18 @@ public interface UserService {
     Map<String, String> deleteAccount(String username, String password);
 
     // Exercise 8: Admin Endpoints
-    List<UserResponseDTO> getAllUsers();
+    // Keyset pages by default; a non-null page switches to offset paging with totals
+    UserPageDTO listUsers(UserFilterDTO filter, String sortBy, String sortDir, String cursor, Integer page, int size);
+
+    // Every matching user as NDJSON, read in keyset batches
+    void exportUsers(UserFilterDTO filter, OutputStream out) throws IOException;
 
     UserResponseDTO updateUserRole(Long id, UpdateRoleDTO updateRoleDTO);
 
     UserResponseDTO toggleUserStatus(Long id);
+
+    // Bulk admin updates over explicit ids or a filter (exactly one must be non-null)
+    BulkUserResultDTO setUsersActive(List<Long> ids, UserFilterDTO filter, boolean active);
+
+    BulkUserResultDTO setUsersRole(List<Long> ids, UserFilterDTO filter, Role role);
 }
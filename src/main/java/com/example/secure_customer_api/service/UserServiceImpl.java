@@ -3,28 +3,55 @@ package com.example.secure_customer_api.service;
 import com.example.secure_customer_api.dto.*;
 import com.example.secure_customer_api.entity.Role;
 import com.example.secure_customer_api.entity.User;
+import com.example.secure_customer_api.exception.ConstraintViolations;
 import com.example.secure_customer_api.exception.DuplicateResourceException;
+import com.example.secure_customer_api.exception.InvalidRequestException;
 import com.example.secure_customer_api.exception.ResourceNotFoundException;
 import com.example.secure_customer_api.repository.UserRepository;
 import com.example.secure_customer_api.security.JwtTokenProvider;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.observation.annotation.Observed;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.Tuple;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Base64;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 @Service
 @Transactional
+@Observed(name = "user.service")
 public class UserServiceImpl implements UserService {
 
     @Autowired
@@ -42,6 +69,36 @@ public class UserServiceImpl implements UserService {
     @Autowired(required = false)
     private RefreshTokenService refreshTokenService;
 
+    @Autowired
+    private RegistrationAvailabilityFilter availabilityFilter;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Timer mappingTimer;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    // Columns with an index that can serve ORDER BY <column>, id
+    private static final List<String> USER_SORT_COLUMNS = List.of("id", "username", "email", "createdAt");
+
+    private static final int EXPORT_BATCH_SIZE = 1000;
+
+    // Ids per SELECT ... FOR UPDATE / UPDATE ... WHERE id IN (...) in bulk admin updates
+    private static final int BULK_CHUNK_SIZE = 500;
+
+    @Value("${admin.bulk.max-users:5000}")
+    private int bulkMaxUsers;
+
+    @PostConstruct
+    void registerMeters() {
+        mappingTimer = Timer.builder("dto.mapping")
+                .description("Time spent mapping entity lists to response DTOs")
+                .tag("type", "user")
+                .register(meterRegistry);
+    }
+
     // ==================== Authentication ====================
 
     @Override
@@ -78,12 +135,12 @@ public class UserServiceImpl implements UserService {
     @Override
     public UserResponseDTO register(RegisterRequestDTO registerRequest) {
         // Check if username exists
-        if (userRepository.existsByUsername(registerRequest.getUsername())) {
+        if (isUsernameTaken(registerRequest.getUsername())) {
             throw new DuplicateResourceException("Username already exists");
         }
 
         // Check if email exists
-        if (userRepository.existsByEmail(registerRequest.getEmail())) {
+        if (isEmailTaken(registerRequest.getEmail())) {
             throw new DuplicateResourceException("Email already exists");
         }
 
@@ -96,7 +153,9 @@ public class UserServiceImpl implements UserService {
         user.setRole(Role.USER); // Default role
         user.setIsActive(true);
 
-        User savedUser = userRepository.save(user);
+        User savedUser = saveUnique(user);
+        availabilityFilter.addUsername(savedUser.getUsername());
+        availabilityFilter.addEmail(savedUser.getEmail());
 
         return convertToDTO(savedUser);
     }
@@ -157,9 +216,7 @@ public class UserServiceImpl implements UserService {
 
     @Override
     public Map<String, String> resetPassword(ResetPasswordDTO resetPasswordDTO) {
-        User user = userRepository.findAll().stream()
-                .filter(u -> resetPasswordDTO.getToken().equals(u.getResetToken()))
-                .findFirst()
+        User user = userRepository.findByResetToken(resetPasswordDTO.getToken())
                 .orElseThrow(() -> new ResourceNotFoundException("Invalid reset token"));
 
         // Check if token is expired
@@ -193,7 +250,7 @@ public class UserServiceImpl implements UserService {
         // Check if new email already exists (and is different from current)
         if (updateProfileDTO.getEmail() != null &&
                 !updateProfileDTO.getEmail().equals(user.getEmail()) &&
-                userRepository.existsByEmail(updateProfileDTO.getEmail())) {
+                isEmailTaken(updateProfileDTO.getEmail())) {
             throw new DuplicateResourceException("Email already exists");
         }
 
@@ -205,7 +262,8 @@ public class UserServiceImpl implements UserService {
             user.setEmail(updateProfileDTO.getEmail());
         }
 
-        User updatedUser = userRepository.save(user);
+        User updatedUser = saveUnique(user);
+        availabilityFilter.addEmail(updatedUser.getEmail());
         return convertToDTO(updatedUser);
     }
 
@@ -231,10 +289,65 @@ public class UserServiceImpl implements UserService {
     // ==================== Exercise 8: Admin Endpoints ====================
 
     @Override
-    public List<UserResponseDTO> getAllUsers() {
-        return userRepository.findAll().stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public UserPageDTO listUsers(UserFilterDTO filter, String sortBy, String sortDir, String cursor,
+                                 Integer page, int size) {
+        if (!USER_SORT_COLUMNS.contains(sortBy)) {
+            throw new InvalidRequestException("Cannot sort users by '" + sortBy + "'; allowed: " + USER_SORT_COLUMNS);
+        }
+        boolean ascending = !sortDir.equalsIgnoreCase("desc");
+
+        if (page != null) {
+            if (cursor != null) {
+                throw new InvalidRequestException("Use either cursor or page, not both");
+            }
+            Sort.Direction direction = ascending ? Sort.Direction.ASC : Sort.Direction.DESC;
+            Sort sort = sortBy.equals("id") ? Sort.by(direction, "id") : Sort.by(direction, sortBy, "id");
+            Page<Tuple> rows = userRepository.findSummaries(filter, PageRequest.of(page, size, sort));
+            return new UserPageDTO(toSummaries(rows.getContent()), rows.getNumber(),
+                    rows.getTotalElements(), rows.getTotalPages());
+        }
+
+        Object afterValue = null;
+        Long afterId = null;
+        if (cursor != null) {
+            String[] position = decodeCursor(cursor, sortBy, ascending);
+            afterId = parseCursorId(position[3]);
+            afterValue = parseSortValue(sortBy, position[2]);
+        }
+
+        // One extra row tells us whether there is a next page without a COUNT
+        List<Tuple> rows = userRepository.findSummariesAfter(filter, sortBy, ascending, afterValue, afterId, size + 1);
+        String nextCursor = null;
+        if (rows.size() > size) {
+            rows = rows.subList(0, size);
+            Tuple last = rows.get(size - 1);
+            nextCursor = encodeCursor(sortBy, ascending, last.get(sortBy), last.get("id", Long.class));
+        }
+        return new UserPageDTO(toSummaries(rows), nextCursor);
+    }
+
+    // No surrounding transaction: each batch is its own short read, so a slow client never pins a connection
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void exportUsers(UserFilterDTO filter, OutputStream out) throws IOException {
+        // One small generator per row; the response stream stays open and is flushed per batch
+        ObjectWriter writer = objectMapper.writerFor(UserResponseDTO.class)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        Long afterId = null;
+        List<Tuple> rows;
+        do {
+            rows = userRepository.findSummariesAfter(filter, "id", true, null, afterId, EXPORT_BATCH_SIZE);
+            for (Tuple row : rows) {
+                writer.writeValue(out, toSummary(row));
+                out.write('\n');
+            }
+            if (!rows.isEmpty()) {
+                afterId = rows.get(rows.size() - 1).get("id", Long.class);
+            }
+            out.flush();
+        } while (rows.size() == EXPORT_BATCH_SIZE);
     }
 
     @Override
@@ -256,12 +369,197 @@ public class UserServiceImpl implements UserService {
         // Toggle isActive status
         user.setIsActive(!user.getIsActive());
         User updatedUser = userRepository.save(user);
+        if (!updatedUser.getIsActive() && refreshTokenService != null) {
+            refreshTokenService.deleteByUser(updatedUser);
+        }
 
         return convertToDTO(updatedUser);
     }
 
+    @Override
+    public BulkUserResultDTO setUsersActive(List<Long> ids, UserFilterDTO filter, boolean active) {
+        return bulkUpdate(resolveBulkTargets(ids, filter),
+                row -> !Boolean.valueOf(active).equals(row[2]),
+                changed -> {
+                    userRepository.updateActiveByIdIn(changed, active, LocalDateTime.now());
+                    // A deactivated user must not be able to mint new access tokens
+                    if (!active && refreshTokenService != null) {
+                        refreshTokenService.deleteByUserIds(changed);
+                    }
+                });
+    }
+
+    @Override
+    public BulkUserResultDTO setUsersRole(List<Long> ids, UserFilterDTO filter, Role role) {
+        return bulkUpdate(resolveBulkTargets(ids, filter),
+                row -> row[1] != role,
+                changed -> userRepository.updateRoleByIdIn(changed, role, LocalDateTime.now()));
+    }
+
     // ==================== Helper Methods ====================
 
+    // Distinct ids in request order, or every id matching the filter; capped at admin.bulk.max-users
+    private List<Long> resolveBulkTargets(List<Long> ids, UserFilterDTO filter) {
+        if ((ids == null) == (filter == null)) {
+            throw new InvalidRequestException("Specify either ids or filter");
+        }
+        if (ids != null) {
+            List<Long> targets = ids.stream().filter(Objects::nonNull).distinct().toList();
+            if (targets.size() > bulkMaxUsers) {
+                throw new InvalidRequestException("At most " + bulkMaxUsers + " users per bulk update");
+            }
+            return targets;
+        }
+        List<Long> targets = new ArrayList<>();
+        Long afterId = null;
+        List<Long> batch;
+        do {
+            batch = userRepository.findIdsAfter(filter, afterId, BULK_CHUNK_SIZE);
+            targets.addAll(batch);
+            if (targets.size() > bulkMaxUsers) {
+                throw new InvalidRequestException("Filter matches more than " + bulkMaxUsers + " users; narrow it");
+            }
+            if (!batch.isEmpty()) {
+                afterId = batch.get(batch.size() - 1);
+            }
+        } while (batch.size() == BULK_CHUNK_SIZE);
+        return targets;
+    }
+
+    // Per chunk: one locking SELECT to classify the ids, then one set-based write for those that differ
+    private BulkUserResultDTO bulkUpdate(List<Long> targets, Predicate<Object[]> needsChange,
+                                         Consumer<List<Long>> apply) {
+        BulkUserResultDTO result = new BulkUserResultDTO();
+        for (int from = 0; from < targets.size(); from += BULK_CHUNK_SIZE) {
+            List<Long> chunk = targets.subList(from, Math.min(from + BULK_CHUNK_SIZE, targets.size()));
+            Map<Long, Object[]> rows = new HashMap<>();
+            for (Object[] row : userRepository.findRoleAndStatusByIdIn(chunk)) {
+                rows.put((Long) row[0], row);
+            }
+            List<Long> changed = new ArrayList<>();
+            for (Long id : chunk) {
+                Object[] row = rows.get(id);
+                if (row == null) {
+                    result.getNotFound().add(id);
+                } else if (needsChange.test(row)) {
+                    changed.add(id);
+                } else {
+                    result.getUnchanged().add(id);
+                }
+            }
+            if (!changed.isEmpty()) {
+                apply.accept(changed);
+                result.getUpdated().addAll(changed);
+            }
+        }
+        return result;
+    }
+
+    // The Bloom filter answers "definitely free" without touching the database
+    private boolean isUsernameTaken(String username) {
+        if (!availabilityFilter.mightContainUsername(username)) {
+            return false;
+        }
+        boolean taken = userRepository.existsByUsername(username);
+        if (!taken) {
+            availabilityFilter.recordFalsePositive();
+        }
+        return taken;
+    }
+
+    private boolean isEmailTaken(String email) {
+        if (!availabilityFilter.mightContainEmail(email)) {
+            return false;
+        }
+        boolean taken = userRepository.existsByEmail(email);
+        if (!taken) {
+            availabilityFilter.recordFalsePositive();
+        }
+        return taken;
+    }
+
+    // Unique constraints stay the final arbiter for races the checks above miss
+    private User saveUnique(User user) {
+        try {
+            return userRepository.saveAndFlush(user);
+        } catch (DataIntegrityViolationException ex) {
+            String constraint = ConstraintViolations.violatedConstraint(ex);
+            if (constraint.contains(User.UK_USERNAME) || constraint.contains("username")) {
+                throw new DuplicateResourceException("Username already exists", ex);
+            }
+            if (constraint.contains(User.UK_EMAIL) || constraint.contains("email")) {
+                throw new DuplicateResourceException("Email already exists", ex);
+            }
+            throw ex;
+        }
+    }
+
+    private List<UserResponseDTO> toSummaries(List<Tuple> rows) {
+        return mappingTimer.record(() -> rows.stream()
+                .map(this::toSummary)
+                .collect(Collectors.toList()));
+    }
+
+    private UserResponseDTO toSummary(Tuple row) {
+        return new UserResponseDTO(
+                row.get("id", Long.class),
+                row.get("username", String.class),
+                row.get("email", String.class),
+                row.get("fullName", String.class),
+                row.get("role", Role.class).name(),
+                row.get("isActive", Boolean.class),
+                row.get("createdAt", LocalDateTime.class));
+    }
+
+    // Cursor = base64url("sortBy|asc|value|id"); sort and direction are checked so a cursor cannot be reused elsewhere.
+    // A null value (createdAt of legacy rows) is written as an empty string.
+    private static String encodeCursor(String sortBy, boolean ascending, Object value, Long id) {
+        String raw = sortBy + "|" + (ascending ? "asc" : "desc") + "|" + (value == null ? "" : value) + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String[] decodeCursor(String cursor, String sortBy, boolean ascending) {
+        String raw;
+        try {
+            raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException ex) {
+            throw new InvalidRequestException("Malformed cursor");
+        }
+        // Username and email may contain '|', so split the id off the end
+        int first = raw.indexOf('|');
+        int second = first < 0 ? -1 : raw.indexOf('|', first + 1);
+        int last = raw.lastIndexOf('|');
+        if (second < 0 || last <= second) {
+            throw new InvalidRequestException("Malformed cursor");
+        }
+        String[] position = {raw.substring(0, first), raw.substring(first + 1, second),
+                raw.substring(second + 1, last), raw.substring(last + 1)};
+        if (!position[0].equals(sortBy) || !position[1].equals(ascending ? "asc" : "desc")) {
+            throw new InvalidRequestException("Cursor was issued for a different sortBy/sortDir");
+        }
+        return position;
+    }
+
+    private static Long parseCursorId(String id) {
+        try {
+            return Long.valueOf(id);
+        } catch (NumberFormatException ex) {
+            throw new InvalidRequestException("Malformed cursor");
+        }
+    }
+
+    private static Object parseSortValue(String sortBy, String value) {
+        try {
+            return switch (sortBy) {
+                case "id" -> Long.valueOf(value);
+                case "createdAt" -> value.isEmpty() ? null : LocalDateTime.parse(value);
+                default -> value;
+            };
+        } catch (NumberFormatException | DateTimeParseException ex) {
+            throw new InvalidRequestException("Malformed cursor");
+        }
+    }
+
     private UserResponseDTO convertToDTO(User user) {
         return new UserResponseDTO(
                 user.getId(),
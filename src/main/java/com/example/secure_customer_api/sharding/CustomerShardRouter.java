@@ -0,0 +1,50 @@
+package com.example.secure_customer_api.sharding;
+
+import java.nio.charset.StandardCharsets;
+import java.util.zip.CRC32;
+
+/**
+ * Maps customers to shards. New customers go to the shard picked by a CRC32
+ * of their customer code, so a code is unique across shards as long as it is
+ * unique within one. Ids carry their shard in the low "digits":
+ * {@code id = localId * MAX_SHARDS + shard}, where localId is the shard's
+ * AUTO_INCREMENT value, so a lookup by id needs no directory.
+ */
+public final class CustomerShardRouter {
+
+    // Fixed so ids keep decoding if shards are added later
+    public static final int MAX_SHARDS = 64;
+
+    private final int shardCount;
+
+    public CustomerShardRouter(int shardCount) {
+        if (shardCount < 1 || shardCount > MAX_SHARDS) {
+            throw new IllegalArgumentException("Shard count must be between 1 and " + MAX_SHARDS + ": " + shardCount);
+        }
+        this.shardCount = shardCount;
+    }
+
+    public int shardCount() {
+        return shardCount;
+    }
+
+    public int shardFor(String customerCode) {
+        CRC32 crc = new CRC32();
+        crc.update(customerCode.getBytes(StandardCharsets.UTF_8));
+        return (int) (crc.getValue() % shardCount);
+    }
+
+    // -1 for ids that cannot have been issued by any configured shard
+    public int shardOf(long id) {
+        int shard = (int) (id % MAX_SHARDS);
+        return id > 0 && shard < shardCount ? shard : -1;
+    }
+
+    public long localId(long id) {
+        return id / MAX_SHARDS;
+    }
+
+    public long globalId(int shard, long localId) {
+        return localId * MAX_SHARDS + shard;
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.secure_customer_api.sharding;
+
+import com.example.secure_customer_api.observability.SqlStatementCounter;
+import com.zaxxer.hikari.HikariDataSource;
+import org.flywaydb.core.Flyway;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
+
+/**
+ * The customer shard databases: one connection pool per JDBC URL, each
+ * migrated from {@code classpath:db/shard} on startup, plus the thread pool
+ * that runs scatter-gather queries. Shard order is significant - the index
+ * in {@code urls} is the shard number encoded in customer ids.
+ * <p>
+ * Queries go through the pools as returned by the {@code decorator} (the SQL
+ * statement counting proxy in the application), and scatter-gather tasks run
+ * in their caller's {@link SqlStatementCounter} scope.
+ */
+public class CustomerShards implements AutoCloseable {
+
+    private final List<HikariDataSource> dataSources = new ArrayList<>();
+    private final List<NamedParameterJdbcTemplate> templates = new ArrayList<>();
+    private final ExecutorService queryExecutor;
+
+    public CustomerShards(List<String> urls, String username, String password, int poolSize, int queryThreads) {
+        this(urls, username, password, poolSize, queryThreads, (name, dataSource) -> dataSource);
+    }
+
+    /**
+     * @param decorator wraps each shard pool (given its pool name) before queries use it;
+     *                  Flyway migrates the undecorated pool
+     */
+    public CustomerShards(List<String> urls, String username, String password, int poolSize, int queryThreads,
+                          BiFunction<String, DataSource, DataSource> decorator) {
+        try {
+            for (int shard = 0; shard < urls.size(); shard++) {
+                HikariDataSource dataSource = new HikariDataSource();
+                dataSource.setPoolName("customer-shard-" + shard);
+                dataSource.setJdbcUrl(urls.get(shard).trim());
+                dataSource.setUsername(username);
+                dataSource.setPassword(password);
+                dataSource.setMaximumPoolSize(poolSize);
+                dataSources.add(dataSource);
+
+                Flyway.configure()
+                        .dataSource(dataSource)
+                        .locations("classpath:db/shard")
+                        .load()
+                        .migrate();
+                templates.add(new NamedParameterJdbcTemplate(decorator.apply(dataSource.getPoolName(), dataSource)));
+            }
+        } catch (RuntimeException ex) {
+            dataSources.forEach(HikariDataSource::close);
+            throw ex;
+        }
+
+        // Dedicated pool: callers may themselves run on the application executor (e.g. batch sub-requests)
+        AtomicInteger threads = new AtomicInteger();
+        this.queryExecutor = Executors.newFixedThreadPool(queryThreads, runnable -> {
+            Thread thread = new Thread(runnable, "customer-shard-query-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public int size() {
+        return templates.size();
+    }
+
+    public NamedParameterJdbcTemplate jdbc(int shard) {
+        return templates.get(shard);
+    }
+
+    public Executor queryExecutor() {
+        return task -> queryExecutor.execute(SqlStatementCounter.propagate(task));
+    }
+
+    @Override
+    public void close() {
+        queryExecutor.shutdownNow();
+        dataSources.forEach(HikariDataSource::close);
+    }
+}
@@ -0,0 +1,414 @@
+package com.example.secure_customer_api.sharding;
+
+import com.example.secure_customer_api.entity.Customer;
+import com.example.secure_customer_api.entity.CustomerStatus;
+import com.example.secure_customer_api.exception.DuplicateResourceException;
+import com.example.secure_customer_api.exception.InvalidRequestException;
+import com.example.secure_customer_api.repository.CustomerStore;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+
+/**
+ * {@link CustomerStore} over several databases. Point reads and writes go to
+ * the one shard the customer code or id routes to (see
+ * {@link CustomerShardRouter}); {@code findAll}, search, status filters and
+ * the stats aggregates query every shard in parallel and merge the results.
+ * <p>
+ * Email uniqueness across shards is held by {@code customer_emails} on the
+ * primary database, inside the caller's transaction. The shard write commits
+ * on its own, so every write changes the directory first and touches the shard
+ * last: a failing shard write undoes the directory change and, by throwing,
+ * rolls back the caller's transaction (CustomerServiceImpl appends the outbox
+ * event before updating or deleting for the same reason). Only a failure of
+ * the primary commit itself can still leave the shard ahead. For an insert,
+ * where the outbox event needs the shard's id, that means a shard row without
+ * a reserved email; a retry then fails on the customer code.
+ */
+public class ShardedCustomerStore implements CustomerStore {
+
+    private static final String COLUMNS =
+            "id, customer_code, full_name, email, phone, address, status, created_at, updated_at";
+
+    // Customer attribute -> column, for ORDER BY (only these can be sorted on)
+    private static final Map<String, String> SORT_COLUMNS = Map.of(
+            "id", "id", "customerCode", "customer_code", "fullName", "full_name", "email", "email",
+            "status", "status", "createdAt", "created_at", "updatedAt", "updated_at");
+
+    private final CustomerShards shards;
+    private final CustomerShardRouter router;
+    private final JdbcTemplate primary;
+
+    public ShardedCustomerStore(CustomerShards shards, JdbcTemplate primary) {
+        this.shards = shards;
+        this.router = new CustomerShardRouter(shards.size());
+        this.primary = primary;
+    }
+
+    // ==================== Point reads and writes ====================
+
+    @Override
+    public Optional<Customer> findById(Long id) {
+        int shard = router.shardOf(id);
+        if (shard < 0) {
+            return Optional.empty();
+        }
+        List<Customer> rows = shards.jdbc(shard).query("SELECT " + COLUMNS + " FROM customers WHERE id = :id",
+                Map.of("id", router.localId(id)), mapper(shard));
+        return rows.stream().findFirst();
+    }
+
+    @Override
+    public List<Customer> findAllById(Collection<Long> ids) {
+        Map<Integer, List<Long>> localIdsByShard = new TreeMap<>();
+        for (Long id : ids) {
+            int shard = router.shardOf(id);
+            if (shard >= 0) {
+                localIdsByShard.computeIfAbsent(shard, s -> new ArrayList<>()).add(router.localId(id));
+            }
+        }
+        List<Customer> result = new ArrayList<>();
+        gather(localIdsByShard.keySet(), (shard, jdbc) -> jdbc.query(
+                "SELECT " + COLUMNS + " FROM customers WHERE id IN (:ids)",
+                Map.of("ids", localIdsByShard.get(shard)), mapper(shard))).forEach(result::addAll);
+        return result;
+    }
+
+    @Override
+    public boolean existsByEmail(String email) {
+        Integer count = primary.queryForObject("SELECT COUNT(*) FROM customer_emails WHERE email = ?",
+                Integer.class, email);
+        return count != null && count > 0;
+    }
+
+    @Override
+    public Customer insert(Customer customer) {
+        int shard = router.shardFor(customer.getCustomerCode());
+        reserveEmail(customer.getEmail(), customer.getCustomerCode());
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            customer.setCreatedAt(now);
+            customer.setUpdatedAt(now);
+            KeyHolder keys = new GeneratedKeyHolder();
+            shards.jdbc(shard).update("INSERT INTO customers (customer_code, full_name, email, phone, address, "
+                            + "status, created_at, updated_at) VALUES (:customerCode, :fullName, :email, :phone, "
+                            + ":address, :status, :createdAt, :updatedAt)",
+                    parameters(customer), keys, new String[] {"id"});
+            customer.setId(router.globalId(shard, keys.getKey().longValue()));
+            return customer;
+        } catch (RuntimeException ex) {
+            releaseEmail(customer.getEmail(), customer.getCustomerCode());
+            throw ex;
+        }
+    }
+
+    @Override
+    public Customer update(Customer customer) {
+        int shard = router.shardOf(customer.getId());
+        NamedParameterJdbcTemplate jdbc = shards.jdbc(shard);
+        MapSqlParameterSource id = new MapSqlParameterSource("id", router.localId(customer.getId()));
+        String previousEmail = jdbc.queryForObject("SELECT email FROM customers WHERE id = :id", id, String.class);
+
+        boolean emailChanged = !customer.getEmail().equals(previousEmail);
+        if (emailChanged) {
+            reserveEmail(customer.getEmail(), customer.getCustomerCode());
+            releaseEmail(previousEmail, customer.getCustomerCode());
+        }
+        try {
+            customer.setUpdatedAt(LocalDateTime.now());
+            jdbc.update("UPDATE customers SET full_name = :fullName, email = :email, phone = :phone, "
+                    + "address = :address, status = :status, updated_at = :updatedAt WHERE id = :id",
+                    parameters(customer).addValue("id", router.localId(customer.getId())));
+        } catch (RuntimeException ex) {
+            // Also rolled back with the caller's transaction; this covers callers without one
+            if (emailChanged) {
+                releaseEmail(customer.getEmail(), customer.getCustomerCode());
+                reserveEmail(previousEmail, customer.getCustomerCode());
+            }
+            throw ex;
+        }
+        return customer;
+    }
+
+    @Override
+    public void delete(Customer customer) {
+        releaseEmail(customer.getEmail(), customer.getCustomerCode());
+        try {
+            shards.jdbc(router.shardOf(customer.getId())).update("DELETE FROM customers WHERE id = :id",
+                    Map.of("id", router.localId(customer.getId())));
+        } catch (RuntimeException ex) {
+            reserveEmail(customer.getEmail(), customer.getCustomerCode());
+            throw ex;
+        }
+    }
+
+    // ==================== Scatter-gather reads ====================
+
+    /**
+     * Each shard returns its first offset + size rows in the requested order;
+     * the merged page is cut from those. Deep pages therefore cost
+     * shards x (offset + size) rows - prefer narrow filters over page 500.
+     */
+    @Override
+    public Page<Customer> findAll(Pageable pageable) {
+        Sort sort = pageable.getSort();
+        String sql = "SELECT " + COLUMNS + " FROM customers ORDER BY " + orderBy(sort)
+                + (pageable.isPaged() ? " LIMIT :limit" : "");
+        Map<String, Object> params = pageable.isPaged()
+                ? Map.of("limit", pageable.getOffset() + pageable.getPageSize())
+                : Map.of();
+
+        List<Customer> candidates = new ArrayList<>();
+        long total = 0;
+        for (ShardPage page : gatherAll((shard, jdbc) -> new ShardPage(jdbc.query(sql, params, mapper(shard)),
+                jdbc.getJdbcTemplate().queryForObject("SELECT COUNT(*) FROM customers", Long.class)))) {
+            candidates.addAll(page.rows());
+            total += page.total();
+        }
+        candidates.sort(comparator(sort));
+
+        if (pageable.isUnpaged()) {
+            return new PageImpl<>(candidates, pageable, total);
+        }
+        int from = (int) Math.min(pageable.getOffset(), candidates.size());
+        int to = Math.min(from + pageable.getPageSize(), candidates.size());
+        return new PageImpl<>(new ArrayList<>(candidates.subList(from, to)), pageable, total);
+    }
+
+    @Override
+    public List<Customer> findByStatus(CustomerStatus status) {
+        return mergeById(gatherAll((shard, jdbc) -> jdbc.query(
+                "SELECT " + COLUMNS + " FROM customers WHERE status = :status",
+                Map.of("status", status.name()), mapper(shard))));
+    }
+
+    // Same match as CustomerRepository.searchCustomers
+    @Override
+    public List<Customer> searchCustomers(String keyword) {
+        String pattern = "%" + keyword.toLowerCase(Locale.ROOT) + "%";
+        return mergeById(gatherAll((shard, jdbc) -> jdbc.query(
+                "SELECT " + COLUMNS + " FROM customers WHERE LOWER(full_name) LIKE :pattern "
+                        + "OR LOWER(email) LIKE :pattern OR LOWER(customer_code) LIKE :pattern",
+                Map.of("pattern", pattern), mapper(shard))));
+    }
+
+    @Override
+    public List<Object[]> countByStatus() {
+        Map<CustomerStatus, Long> totals = new EnumMap<>(CustomerStatus.class);
+        for (List<Object[]> rows : gatherAll((shard, jdbc) -> jdbc.query(
+                "SELECT status, COUNT(*) FROM customers GROUP BY status", Map.of(),
+                (rs, rowNum) -> new Object[] {CustomerStatus.valueOf(rs.getString(1)), rs.getLong(2)}))) {
+            for (Object[] row : rows) {
+                totals.merge((CustomerStatus) row[0], (Long) row[1], Long::sum);
+            }
+        }
+        return totals.entrySet().stream().map(e -> new Object[] {e.getKey(), e.getValue()}).toList();
+    }
+
+    @Override
+    public List<Object[]> countCreatedPerDaySince(LocalDateTime since) {
+        Map<LocalDate, Long> totals = new TreeMap<>();
+        for (List<Object[]> rows : gatherAll((shard, jdbc) -> jdbc.query(
+                "SELECT CAST(created_at AS DATE), COUNT(*) FROM customers WHERE created_at >= :since "
+                        + "GROUP BY CAST(created_at AS DATE)", Map.of("since", since),
+                (rs, rowNum) -> new Object[] {rs.getObject(1, LocalDate.class), rs.getLong(2)}))) {
+            for (Object[] row : rows) {
+                totals.merge((LocalDate) row[0], (Long) row[1], Long::sum);
+            }
+        }
+        return totals.entrySet().stream().map(e -> new Object[] {e.getKey(), e.getValue()}).toList();
+    }
+
+    // Sparse reads load whole rows from the shards and trim them here
+
+    @Override
+    public Page<Map<String, Object>> findAllProjected(List<String> attributes, Pageable pageable) {
+        return findAll(pageable).map(customer -> project(customer, attributes));
+    }
+
+    @Override
+    public Optional<Map<String, Object>> findByIdProjected(Long id, List<String> attributes) {
+        return findById(id).map(customer -> project(customer, attributes));
+    }
+
+    @Override
+    public List<Map<String, Object>> findByStatusProjected(CustomerStatus status, List<String> attributes) {
+        return findByStatus(status).stream().map(customer -> project(customer, attributes)).toList();
+    }
+
+    @Override
+    public List<Map<String, Object>> searchProjected(String keyword, List<String> attributes) {
+        return searchCustomers(keyword).stream().map(customer -> project(customer, attributes)).toList();
+    }
+
+    // ==================== Helpers ====================
+
+    private void reserveEmail(String email, String customerCode) {
+        try {
+            primary.update("INSERT INTO customer_emails (email, customer_code) VALUES (?, ?)", email, customerCode);
+        } catch (DuplicateKeyException ex) {
+            throw new DuplicateResourceException("Email already exists: " + email, ex);
+        }
+    }
+
+    private void releaseEmail(String email, String customerCode) {
+        primary.update("DELETE FROM customer_emails WHERE email = ? AND customer_code = ?", email, customerCode);
+    }
+
+    private <T> List<T> gatherAll(ShardQuery<T> query) {
+        List<Integer> all = new ArrayList<>(shards.size());
+        for (int shard = 0; shard < shards.size(); shard++) {
+            all.add(shard);
+        }
+        return gather(all, query);
+    }
+
+    // Runs the query on each listed shard in parallel; results are in shard order
+    private <T> List<T> gather(Collection<Integer> targets, ShardQuery<T> query) {
+        List<CompletableFuture<T>> futures = new ArrayList<>(targets.size());
+        for (int shard : targets) {
+            futures.add(CompletableFuture.supplyAsync(() -> query.run(shard, shards.jdbc(shard)),
+                    shards.queryExecutor()));
+        }
+        try {
+            return futures.stream().map(CompletableFuture::join).toList();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+
+    private static List<Customer> mergeById(List<List<Customer>> perShard) {
+        List<Customer> merged = new ArrayList<>();
+        perShard.forEach(merged::addAll);
+        merged.sort(Comparator.comparing(Customer::getId));
+        return merged;
+    }
+
+    private static String orderBy(Sort sort) {
+        StringBuilder orderBy = new StringBuilder();
+        boolean byId = false;
+        for (Sort.Order order : sort) {
+            String column = SORT_COLUMNS.get(order.getProperty());
+            if (column == null) {
+                throw new InvalidRequestException("Cannot sort customers by '" + order.getProperty()
+                        + "'; allowed: " + SORT_COLUMNS.keySet());
+            }
+            byId |= column.equals("id");
+            orderBy.append(column).append(order.isAscending() ? " ASC, " : " DESC, ");
+        }
+        // Local ids grow with global ids, so the tie-break agrees with comparator()
+        return byId ? orderBy.substring(0, orderBy.length() - 2) : orderBy.append("id ASC").toString();
+    }
+
+    // Mirrors orderBy(): nulls first ascending as in MySQL, strings compared like its default _ci collation
+    private static Comparator<Customer> comparator(Sort sort) {
+        Comparator<Customer> comparator = null;
+        for (Sort.Order order : sort) {
+            Function<Customer, Comparable<Object>> key = sortKey(order.getProperty());
+            Comparator<Customer> next = Comparator.comparing(key, Comparator.nullsFirst(Comparator.naturalOrder()));
+            if (order.isDescending()) {
+                next = next.reversed();
+            }
+            comparator = comparator == null ? next : comparator.thenComparing(next);
+        }
+        Comparator<Customer> byId = Comparator.comparing(Customer::getId);
+        return comparator == null ? byId : comparator.thenComparing(byId);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Function<Customer, Comparable<Object>> sortKey(String property) {
+        Function<Customer, ?> key = switch (property) {
+            case "id" -> Customer::getId;
+            case "customerCode" -> customer -> lower(customer.getCustomerCode());
+            case "fullName" -> customer -> lower(customer.getFullName());
+            case "email" -> customer -> lower(customer.getEmail());
+            case "status" -> customer -> customer.getStatus().name();
+            case "createdAt" -> Customer::getCreatedAt;
+            case "updatedAt" -> Customer::getUpdatedAt;
+            default -> throw new InvalidRequestException("Cannot sort customers by '" + property + "'");
+        };
+        return (Function<Customer, Comparable<Object>>) key;
+    }
+
+    private static String lower(String value) {
+        return value == null ? null : value.toLowerCase(Locale.ROOT);
+    }
+
+    private RowMapper<Customer> mapper(int shard) {
+        return (rs, rowNum) -> {
+            Customer customer = new Customer(rs.getString("customer_code"), rs.getString("full_name"),
+                    rs.getString("email"), rs.getString("phone"), rs.getString("address"));
+            customer.setId(router.globalId(shard, rs.getLong("id")));
+            customer.setStatus(CustomerStatus.valueOf(rs.getString("status")));
+            customer.setCreatedAt(rs.getObject("created_at", LocalDateTime.class));
+            customer.setUpdatedAt(rs.getObject("updated_at", LocalDateTime.class));
+            return customer;
+        };
+    }
+
+    private static MapSqlParameterSource parameters(Customer customer) {
+        return new MapSqlParameterSource()
+                .addValue("customerCode", customer.getCustomerCode())
+                .addValue("fullName", customer.getFullName())
+                .addValue("email", customer.getEmail())
+                .addValue("phone", customer.getPhone())
+                .addValue("address", customer.getAddress())
+                .addValue("status", customer.getStatus().name())
+                .addValue("createdAt", customer.getCreatedAt())
+                .addValue("updatedAt", customer.getUpdatedAt());
+    }
+
+    // Same values as CustomerServiceImpl.convertToResponseDTO, restricted to the selected fields
+    private static Map<String, Object> project(Customer customer, List<String> attributes) {
+        Map<String, Object> result = new LinkedHashMap<>(attributes.size() * 2);
+        for (String attribute : attributes) {
+            result.put(attribute, switch (attribute) {
+                case "id" -> customer.getId();
+                case "customerCode" -> customer.getCustomerCode();
+                case "fullName" -> customer.getFullName();
+                case "email" -> customer.getEmail();
+                case "phone" -> customer.getPhone();
+                case "address" -> customer.getAddress();
+                case "status" -> customer.getStatus().name();
+                case "createdAt" -> customer.getCreatedAt();
+                default -> throw new InvalidRequestException("Unknown field " + attribute);
+            });
+        }
+        return result;
+    }
+
+    @FunctionalInterface
+    private interface ShardQuery<T> {
+        T run(int shard, NamedParameterJdbcTemplate jdbc);
+    }
+
+    private record ShardPage(List<Customer> rows, long total) {
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.secure_customer_api.sharding;
+
+import com.example.secure_customer_api.observability.SqlStatementCountingPostProcessor;
+import com.example.secure_customer_api.repository.CustomerStore;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+/**
+ * Replaces {@code JpaCustomerStore} with {@link ShardedCustomerStore} when
+ * {@code customer.sharding.enabled=true}. Everything except the customers
+ * table (users, outbox, stats, customer_emails) stays on the primary
+ * datasource. Existing rows in the primary's customers table are not moved.
+ */
+@Configuration
+@ConditionalOnProperty(name = "customer.sharding.enabled", havingValue = "true")
+public class ShardingConfig {
+
+    @Bean(destroyMethod = "close")
+    public CustomerShards customerShards(@Value("${customer.sharding.urls}") List<String> urls,
+                                         @Value("${customer.sharding.username:${spring.datasource.username:}}") String username,
+                                         @Value("${customer.sharding.password:${spring.datasource.password:}}") String password,
+                                         @Value("${customer.sharding.pool-size:10}") int poolSize,
+                                         @Value("${customer.sharding.query-threads:16}") int queryThreads,
+                                         SqlStatementCountingPostProcessor sqlStatementCounting) {
+        // The shard pools are not beans, so the counting proxy is applied here
+        return new CustomerShards(urls, username, password, poolSize, queryThreads, 
+                (name, dataSource) -> sqlStatementCounting.wrap(dataSource, name));
+    }
+
+    @Bean
+    public CustomerStore shardedCustomerStore(CustomerShards customerShards, JdbcTemplate jdbcTemplate) {
+        return new ShardedCustomerStore(customerShards, jdbcTemplate);
+    }
+}
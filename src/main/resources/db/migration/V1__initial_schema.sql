@@ -0,0 +1,60 @@
+-- Schema as previously generated by ddl-auto=update, with explicitly named unique constraints.
+-- Existing databases are baselined at this version (spring.flyway.baseline-on-migrate).
+
+CREATE TABLE users (
+    id                 BIGINT       NOT NULL AUTO_INCREMENT,
+    username           VARCHAR(50)  NOT NULL,
+    email              VARCHAR(100) NOT NULL,
+    password           VARCHAR(255) NOT NULL,
+    full_name          VARCHAR(100) NOT NULL,
+    role               VARCHAR(20)  NOT NULL,
+    is_active          BOOLEAN      NOT NULL,
+    reset_token        VARCHAR(255),
+    reset_token_expiry DATETIME(6),
+    created_at         DATETIME(6),
+    updated_at         DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_users_username UNIQUE (username),
+    CONSTRAINT uk_users_email UNIQUE (email)
+);
+
+CREATE TABLE customers (
+    id            BIGINT       NOT NULL AUTO_INCREMENT,
+    customer_code VARCHAR(20)  NOT NULL,
+    full_name     VARCHAR(100) NOT NULL,
+    email         VARCHAR(100) NOT NULL,
+    phone         VARCHAR(20),
+    address       TEXT,
+    status        VARCHAR(20)  NOT NULL,
+    created_at    DATETIME(6),
+    updated_at    DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_customers_customer_code UNIQUE (customer_code),
+    CONSTRAINT uk_customers_email UNIQUE (email)
+);
+
+CREATE TABLE refresh_tokens (
+    id          BIGINT       NOT NULL AUTO_INCREMENT,
+    user_id     BIGINT       NOT NULL,
+    token       VARCHAR(255) NOT NULL,
+    expiry_date DATETIME(6)  NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_refresh_tokens_token UNIQUE (token),
+    CONSTRAINT fk_refresh_tokens_user FOREIGN KEY (user_id) REFERENCES users (id)
+);
+
+CREATE TABLE customer_stats (
+    stat_key      VARCHAR(40) NOT NULL,
+    stat_count    BIGINT      NOT NULL,
+    reconciled_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (stat_key)
+);
+
+CREATE TABLE customer_outbox (
+    id          BIGINT      NOT NULL AUTO_INCREMENT,
+    customer_id BIGINT      NOT NULL,
+    change_type VARCHAR(20) NOT NULL,
+    payload     TEXT,
+    created_at  DATETIME(6) NOT NULL,
+    PRIMARY KEY (id)
+);
@@ -0,0 +1,22 @@
+-- Secondary indexes, one per repository query that previously scanned.
+-- Lookups by customer_code, email, username and refresh token use the unique constraints from V1.
+-- refresh_tokens.user_id (findByUser, deleteByUser) is indexed through its foreign key.
+-- CustomerRepository.searchCustomers uses leading-wildcard LIKE, which no B-tree index can serve.
+
+-- findByStatus, plus countByStatus as an index-only GROUP BY
+CREATE INDEX idx_customers_status_created_at ON customers (status, created_at);
+
+-- countCreatedPerDaySince (range + GROUP BY on the same column, covered) and sortBy=createdAt pages
+CREATE INDEX idx_customers_created_at ON customers (created_at);
+
+-- sortBy=updatedAt pages
+CREATE INDEX idx_customers_updated_at ON customers (updated_at);
+
+-- UserRepository.findByResetToken (resetPassword)
+CREATE INDEX idx_users_reset_token ON users (reset_token);
+
+-- RefreshTokenRepository.deleteExpired
+CREATE INDEX idx_refresh_tokens_expiry_date ON refresh_tokens (expiry_date);
+
+-- CustomerChangeEventRepository.deleteOlderThan (outbox retention)
+CREATE INDEX idx_customer_outbox_created_at ON customer_outbox (created_at);
@@ -0,0 +1,18 @@
+-- Stored responses for Idempotency-Key requests, shared by all nodes.
+-- id is a SHA-256 over caller, method, path and key; request_hash detects a key reused for a different request.
+-- IN_PROGRESS rows carry a short lease in expires_at, so a node that dies mid-request does not block the key.
+
+CREATE TABLE idempotency_keys (
+    id              CHAR(64)     NOT NULL,
+    request_hash    CHAR(64)     NOT NULL,
+    state           VARCHAR(20)  NOT NULL,
+    response_status INT,
+    content_type    VARCHAR(100),
+    response_body   MEDIUMBLOB,
+    created_at      DATETIME(6)  NOT NULL,
+    expires_at      DATETIME(6)  NOT NULL,
+    PRIMARY KEY (id)
+);
+
+-- IdempotencyKeyRepository.deleteExpired and the max-entries trim
+CREATE INDEX idx_idempotency_keys_expires_at ON idempotency_keys (expires_at);
@@ -0,0 +1,9 @@
+-- Admin user listing (UserQueryRepository). Keyset pages order by (sort column, id);
+-- InnoDB secondary indexes carry the primary key, so these also serve the id tie-break.
+-- sortBy=username/email and keyword prefix filters use the unique constraints from V1.
+
+-- sortBy=createdAt pages and createdFrom/createdTo ranges
+CREATE INDEX idx_users_created_at ON users (created_at);
+
+-- role filter, with role=ADMIN&sortBy=createdAt served in index order
+CREATE INDEX idx_users_role_created_at ON users (role, created_at);
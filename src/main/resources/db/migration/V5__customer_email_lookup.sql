@@ -0,0 +1,8 @@
+-- Global email directory for sharded customer storage (customer.sharding.enabled=true).
+-- The primary key makes an email unique across all shards; rows are written in the same
+-- transaction as the customer's outbox event. Unused in single-database mode.
+CREATE TABLE customer_emails (
+    email         VARCHAR(100) NOT NULL,
+    customer_code VARCHAR(20)  NOT NULL,
+    PRIMARY KEY (email)
+);
@@ -0,0 +1,3 @@
+-- Response headers (Location and the like) replayed with a stored Idempotency-Key response,
+-- as a JSON object of header name to values. NULL for rows stored before this column existed.
+ALTER TABLE idempotency_keys ADD COLUMN response_headers TEXT;
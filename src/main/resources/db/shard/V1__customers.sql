@@ -0,0 +1,20 @@
+-- Schema of each customer shard (CustomerShards). Same table and indexes as the primary's
+-- customers table (V1, V2); email is also unique across shards via customer_emails on the primary.
+CREATE TABLE customers (
+    id            BIGINT       NOT NULL AUTO_INCREMENT,
+    customer_code VARCHAR(20)  NOT NULL,
+    full_name     VARCHAR(100) NOT NULL,
+    email         VARCHAR(100) NOT NULL,
+    phone         VARCHAR(20),
+    address       TEXT,
+    status        VARCHAR(20)  NOT NULL,
+    created_at    DATETIME(6),
+    updated_at    DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_customers_customer_code UNIQUE (customer_code),
+    CONSTRAINT uk_customers_email UNIQUE (email)
+);
+
+CREATE INDEX idx_customers_status_created_at ON customers (status, created_at);
+CREATE INDEX idx_customers_created_at ON customers (created_at);
+CREATE INDEX idx_customers_updated_at ON customers (updated_at);
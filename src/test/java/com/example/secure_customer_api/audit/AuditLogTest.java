@@ -0,0 +1,94 @@
+package com.example.secure_customer_api.audit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Writes through the ring buffer into small segments so rotation, the sparse
+ * index and recovery after a restart are all exercised.
+ */
+class AuditLogTest {
+
+    private static final long BASE = 1_700_000_000_000L;
+    private static final int SEGMENT_SIZE = 4096;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void queriesByTimeRangeAndActorAcrossRotatedSegments() throws Exception {
+        try (AuditLog auditLog = open(64)) {
+            appendAll(auditLog, 500);
+
+            List<AuditEvent> range = auditLog.query(BASE + 100, BASE + 199, null, 1000);
+            assertThat(range).hasSize(100);
+            assertThat(range.get(0).getTimestamp()).isEqualTo(BASE + 100);
+            assertThat(range).isSortedAccordingTo((a, b) -> Long.compare(a.getTimestamp(), b.getTimestamp()));
+
+            List<AuditEvent> byActor = auditLog.query(BASE, BASE + 499, "admin3", 1000);
+            assertThat(byActor).hasSize(100).allMatch(event -> event.getActor().equals("admin3"));
+
+            assertThat(auditLog.query(BASE, BASE + 499, null, 10)).hasSize(10);
+            assertThat(auditLog.query(BASE, BASE + 499, "nobody", 1000)).isEmpty();
+        }
+        assertThat(segmentCount()).isGreaterThan(1);
+    }
+
+    @Test
+    void recoversSegmentsAfterRestart() throws Exception {
+        try (AuditLog auditLog = open(64)) {
+            appendAll(auditLog, 200);
+        }
+
+        try (AuditLog reopened = open(64)) {
+            List<AuditEvent> events = reopened.query(BASE, BASE + 199, null, 1000);
+            assertThat(events).hasSize(200);
+            AuditEvent first = events.get(0);
+            assertThat(first.getAction()).isEqualTo(AuditAction.CUSTOMER_CREATED);
+            assertThat(first.getTarget()).isEqualTo("customer:0");
+            assertThat(first.getDetail()).isEqualTo("C0");
+        }
+    }
+
+    @Test
+    void keepsAtMostMaxSegments() throws Exception {
+        try (AuditLog auditLog = open(3)) {
+            appendAll(auditLog, 1000);
+        }
+        assertThat(segmentCount()).isLessThanOrEqualTo(3);
+    }
+
+    private AuditLog open(int maxSegments) throws IOException {
+        return new AuditLog(directory, SEGMENT_SIZE, 1024, Duration.ofDays(36500), maxSegments,
+                new SimpleMeterRegistry());
+    }
+
+    private static void appendAll(AuditLog auditLog, int count) throws InterruptedException {
+        for (int i = 0; i < count; i++) {
+            auditLog.append(new AuditEvent(BASE + i, "admin" + (i % 5), AuditAction.CUSTOMER_CREATED,
+                    "customer:" + i, "C" + i));
+        }
+        // Events are visible to queries once the writer has appended them
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (auditLog.query(BASE + count - 1, BASE + count - 1, null, 1).isEmpty()
+                && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+
+    private long segmentCount() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.getFileName().toString().endsWith(".log")).count();
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.secure_customer_api.batch;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BatchSubResponseTest {
+
+    private final BatchSubResponse response = new BatchSubResponse(new MockHttpServletResponse());
+
+    @Test
+    void nullHeaderValuesFollowTheServletContract() {
+        response.setHeader("Cache-Control", "no-store");
+        response.addHeader("Vary", "Accept");
+
+        // setHeader(name, null) removes, addHeader(name, null) is ignored
+        response.setHeader("Cache-Control", null);
+        response.addHeader("Vary", null);
+        response.addHeader("X-Unset", null);
+
+        assertThat(response.containsHeader("Cache-Control")).isFalse();
+        assertThat(response.getHeaders("Vary")).containsExactly("Accept");
+        assertThat(response.getHeaderNames()).containsExactly("vary");
+    }
+
+    @Test
+    void dateHeadersAreFormattedAsHttpDates() {
+        response.setDateHeader("Expires", 0L);
+        response.addDateHeader("Last-Modified", 1_700_000_000_000L);
+
+        assertThat(response.getHeader("Expires")).isEqualTo("Thu, 01 Jan 1970 00:00:00 GMT");
+        assertThat(response.getHeader("Last-Modified")).isEqualTo("Tue, 14 Nov 2023 22:13:20 GMT");
+    }
+}
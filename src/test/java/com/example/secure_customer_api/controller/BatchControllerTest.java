@@ -0,0 +1,206 @@
+package com.example.secure_customer_api.controller;
+
+import com.example.secure_customer_api.batch.BatchService;
+import com.example.secure_customer_api.entity.Customer;
+import com.example.secure_customer_api.entity.Role;
+import com.example.secure_customer_api.entity.User;
+import com.example.secure_customer_api.repository.CustomerRepository;
+import com.example.secure_customer_api.repository.UserRepository;
+import com.example.secure_customer_api.security.JwtTokenProvider;
+import com.example.secure_customer_api.service.CustomUserDetailsService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * POST /api/batch through the real security filter chain. Sub-requests go to
+ * the application's DispatcherServlet, which the embedded server initializes
+ * at startup (load-on-startup), on the application task executor.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:web-tests;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.mvc.servlet.load-on-startup=1",
+        "audit.directory=target/test-audit"})
+@AutoConfigureMockMvc
+class BatchControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private BatchService batchService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private CustomUserDetailsService userDetailsService;
+
+    @Autowired
+    private JwtTokenProvider tokenProvider;
+
+    private Customer customer;
+
+    @BeforeEach
+    void setUp() {
+        createUser("batch-user", Role.USER);
+        createUser("batch-admin", Role.ADMIN);
+        customer = customerRepository.save(new Customer("C7001", "Batch Customer", "batch@example.com", null, null));
+    }
+
+    @AfterEach
+    void cleanUp() {
+        customerRepository.deleteById(customer.getId());
+        customerRepository.findByCustomerCode("C7002").ifPresent(customerRepository::delete);
+    }
+
+    @Test
+    void adminOnlyOperationsAreForbiddenPerItemForUsers() throws Exception {
+        batch("batch-user", """
+                [{"id": "read", "method": "GET", "path": "/api/customers/%d"},
+                 {"id": "create", "method": "POST", "path": "/api/customers",
+                  "body": {"customerCode": "C7002", "fullName": "New", "email": "new@example.com"}},
+                 {"id": "patch", "method": "PATCH", "path": "/api/customers/%d", "body": {"fullName": "Nope"}},
+                 {"id": "admin", "method": "GET", "path": "/api/admin/users"}]
+                """.formatted(customer.getId(), customer.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].status").value(200))
+                .andExpect(jsonPath("$[0].body.customerCode").value("C7001"))
+                // URL rule, checked by the privilege evaluator before dispatch
+                .andExpect(jsonPath("$[1].status").value(403))
+                // No URL rule for PATCH; @PreAuthorize denies it inside the sub-request
+                .andExpect(jsonPath("$[2].status").value(403))
+                .andExpect(jsonPath("$[3].status").value(403));
+
+        assertThat(customerRepository.findByCustomerCode("C7002")).isEmpty();
+        assertThat(customerRepository.findById(customer.getId())).get()
+                .extracting(Customer::getFullName).isEqualTo("Batch Customer");
+    }
+
+    @Test
+    void laterOperationsSeeEarlierWrites() throws Exception {
+        batch("batch-admin", """
+                [{"method": "PATCH", "path": "/api/customers/%d", "body": {"fullName": "Renamed"}},
+                 {"method": "GET", "path": "/api/customers/%d"},
+                 {"method": "POST", "path": "/api/customers",
+                  "body": {"customerCode": "C7002", "fullName": "Second", "email": "second@example.com"}},
+                 {"method": "GET", "path": "/api/customers/search?keyword=C7002"}]
+                """.formatted(customer.getId(), customer.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].status").value(200))
+                .andExpect(jsonPath("$[1].body.fullName").value("Renamed"))
+                .andExpect(jsonPath("$[2].status").value(201))
+                .andExpect(jsonPath("$[3].body[0].customerCode").value("C7002"));
+    }
+
+    @Test
+    void parallelReadsRunAsTheCaller() throws Exception {
+        batch("batch-user", """
+                [{"method": "GET", "path": "/api/users/profile"},
+                 {"method": "GET", "path": "/api/auth/me"},
+                 {"method": "GET", "path": "/api/customers/%d"}]
+                """.formatted(customer.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].body.username").value("batch-user"))
+                .andExpect(jsonPath("$[1].body.username").value("batch-user"))
+                .andExpect(jsonPath("$[2].status").value(200));
+    }
+
+    @Test
+    void invalidOperationsFailAloneAndAnonymousBatchesAreRejected() throws Exception {
+        batch("batch-user", """
+                [{"method": "TRACE", "path": "/api/customers"},
+                 {"method": "GET", "path": "/api/batch"},
+                 {"method": "GET", "path": "/api/customers/../admin/users"},
+                 {"method": "GET", "path": "/api/customers/%d"}]
+                """.formatted(customer.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].status").value(400))
+                .andExpect(jsonPath("$[1].status").value(400))
+                .andExpect(jsonPath("$[2].status").value(400))
+                .andExpect(jsonPath("$[3].status").value(200));
+
+        mockMvc.perform(post("/api/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"method\": \"GET\", \"path\": \"/api/customers\"}]"))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void operationsPastTheDeadlineTimeOut() throws Exception {
+        Duration timeout = (Duration) ReflectionTestUtils.getField(batchService, "timeout");
+        ReflectionTestUtils.setField(batchService, "timeout", Duration.ZERO);
+        try {
+            batch("batch-admin", """
+                    [{"method": "GET", "path": "/api/customers/%d"},
+                     {"method": "PATCH", "path": "/api/customers/%d", "body": {"fullName": "Late"}}]
+                    """.formatted(customer.getId(), customer.getId()))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$[0].status").value(504))
+                    .andExpect(jsonPath("$[1].status").value(504));
+        } finally {
+            ReflectionTestUtils.setField(batchService, "timeout", timeout);
+        }
+        assertThat(customerRepository.findById(customer.getId())).get()
+                .extracting(Customer::getFullName).isEqualTo("Batch Customer");
+    }
+
+    @Test
+    void resultsAreJsonEvenWhenBinaryFormatsArePreferred() throws Exception {
+        mockMvc.perform(post("/api/batch")
+                        .header("Authorization", "Bearer " + token("batch-user"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept("application/cbor, application/json;q=0.5")
+                        .content("[{\"method\": \"GET\", \"path\": \"/api/customers/" + customer.getId() + "\"}]"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$[0].body.customerCode").value("C7001"));
+    }
+
+    private ResultActions batch(String username, String operations) throws Exception {
+        return mockMvc.perform(post("/api/batch")
+                .header("Authorization", "Bearer " + token(username))
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_JSON)
+                .content(operations));
+    }
+
+    private String token(String username) {
+        UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+        return tokenProvider.generateToken(
+                new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities()));
+    }
+
+    private void createUser(String username, Role role) {
+        if (!userRepository.existsByUsername(username)) {
+            userRepository.save(new User(username, username + "@example.com",
+                    passwordEncoder.encode("password123"), username, role));
+        }
+    }
+}
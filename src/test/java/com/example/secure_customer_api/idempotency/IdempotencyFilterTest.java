@@ -0,0 +1,281 @@
+package com.example.secure_customer_api.idempotency;
+
+import com.example.secure_customer_api.dto.CustomerResponseDTO;
+import com.example.secure_customer_api.entity.Role;
+import com.example.secure_customer_api.entity.User;
+import com.example.secure_customer_api.repository.IdempotencyKeyRepository;
+import com.example.secure_customer_api.repository.UserRepository;
+import com.example.secure_customer_api.security.JwtTokenProvider;
+import com.example.secure_customer_api.service.CustomUserDetailsService;
+import com.example.secure_customer_api.service.CustomerService;
+import jakarta.servlet.Filter;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Idempotency-Key handling on POST /api/customers, behind the real security
+ * filter chain. The customer service is mocked so each test can count how
+ * often the write actually ran.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:idempotency-tests;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "audit.directory=target/test-audit",
+        "idempotency.max-request-size=1024"})
+@AutoConfigureMockMvc
+class IdempotencyFilterTest {
+
+    private static final String BODY = """
+            {"customerCode": "C8001", "fullName": "Retry Customer", "email": "retry@example.com"}""";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private CustomerService customerService;
+
+    @Autowired
+    private IdempotencyKeyRepository idempotencyKeyRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private CustomUserDetailsService userDetailsService;
+
+    @Autowired
+    private JwtTokenProvider tokenProvider;
+
+    private String token;
+
+    @BeforeEach
+    void setUp() {
+        if (!userRepository.existsByUsername("idem-admin")) {
+            userRepository.save(new User("idem-admin", "idem-admin@example.com",
+                    passwordEncoder.encode("password123"), "Idempotency Admin", Role.ADMIN));
+        }
+        UserDetails userDetails = userDetailsService.loadUserByUsername("idem-admin");
+        token = tokenProvider.generateToken(
+                new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities()));
+    }
+
+    @AfterEach
+    void cleanUp() {
+        idempotencyKeyRepository.deleteAll();
+    }
+
+    @Test
+    void completedKeyIsReplayedWithoutRunningTheWriteAgain() throws Exception {
+        when(customerService.createCustomer(any())).thenReturn(created(1L));
+
+        create("key-replay", BODY)
+                .andExpect(status().isCreated())
+                .andExpect(header().doesNotExist(IdempotencyFilter.REPLAYED_HEADER))
+                .andExpect(jsonPath("$.id").value(1));
+        create("key-replay", BODY)
+                .andExpect(status().isCreated())
+                .andExpect(header().string(IdempotencyFilter.REPLAYED_HEADER, "true"))
+                .andExpect(jsonPath("$.id").value(1))
+                .andExpect(jsonPath("$.customerCode").value("C8001"));
+
+        verify(customerService, times(1)).createCustomer(any());
+    }
+
+    @Test
+    void replayRestoresTheStoredHeaders() throws Exception {
+        when(customerService.createCustomer(any())).thenReturn(created(1L));
+
+        create("key-headers", BODY)
+                .andExpect(status().isCreated())
+                .andExpect(header().string(HttpHeaders.LOCATION, "/api/customers/1"));
+        create("key-headers", BODY)
+                .andExpect(status().isCreated())
+                .andExpect(header().string(IdempotencyFilter.REPLAYED_HEADER, "true"))
+                .andExpect(header().string(HttpHeaders.LOCATION, "/api/customers/1"))
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON));
+
+        verify(customerService, times(1)).createCustomer(any());
+    }
+
+    @Test
+    void cachedBodyCanBeReadWithAReadListener() throws Exception {
+        when(customerService.createCustomer(any())).thenReturn(created(1L));
+
+        create("key-listener", BODY).andExpect(status().isCreated());
+
+        assertThat(ReadListenerProbe.bodies).containsExactly(BODY);
+    }
+
+    @Test
+    void reusingAKeyForAnotherBodyIsRejected() throws Exception {
+        when(customerService.createCustomer(any())).thenReturn(created(1L));
+
+        create("key-mismatch", BODY).andExpect(status().isCreated());
+        create("key-mismatch", BODY.replace("Retry Customer", "Other Customer"))
+                .andExpect(status().isUnprocessableEntity());
+
+        verify(customerService, times(1)).createCustomer(any());
+    }
+
+    @Test
+    void concurrentDuplicatesRunTheWriteOnce() throws Exception {
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(customerService.createCustomer(any())).thenAnswer(invocation -> {
+            entered.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return created(1L);
+        });
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<MvcResult> first = executor.submit(() -> create("key-concurrent", BODY).andReturn());
+            assertThat(entered.await(5, TimeUnit.SECONDS)).isTrue();
+            Future<MvcResult> second = executor.submit(() -> create("key-concurrent", BODY).andReturn());
+            // Give the duplicate time to find the in-flight request before the original finishes
+            Thread.sleep(200);
+            release.countDown();
+
+            List<MvcResult> results = List.of(first.get(10, TimeUnit.SECONDS), second.get(10, TimeUnit.SECONDS));
+            assertThat(results).extracting(result -> result.getResponse().getStatus()).containsOnly(201);
+            assertThat(results).extracting(result -> result.getResponse().getHeader(IdempotencyFilter.REPLAYED_HEADER))
+                    .containsExactly(null, "true");
+            assertThat(results.get(1).getResponse().getContentAsString())
+                    .isEqualTo(results.get(0).getResponse().getContentAsString());
+        } finally {
+            executor.shutdownNow();
+        }
+        verify(customerService, times(1)).createCustomer(any());
+    }
+
+    @Test
+    void serverErrorReleasesTheKey() throws Exception {
+        when(customerService.createCustomer(any()))
+                .thenThrow(new IllegalStateException("database unavailable"))
+                .thenReturn(created(2L));
+
+        create("key-retry", BODY).andExpect(status().isInternalServerError());
+        assertThat(idempotencyKeyRepository.count()).isZero();
+
+        create("key-retry", BODY)
+                .andExpect(status().isCreated())
+                .andExpect(header().doesNotExist(IdempotencyFilter.REPLAYED_HEADER))
+                .andExpect(jsonPath("$.id").value(2));
+
+        verify(customerService, times(2)).createCustomer(any());
+    }
+
+    @Test
+    void oversizedBodyIsRejectedBeforeHashing() throws Exception {
+        String body = BODY.replace("Retry Customer", "x".repeat(2000));
+
+        create("key-large", body).andExpect(status().is(413));
+
+        assertThat(idempotencyKeyRepository.count()).isZero();
+        verify(customerService, never()).createCustomer(any());
+    }
+
+    // Stands in for a controller that sets Location, and for an async reader of the cached body
+    @TestConfiguration
+    static class ReadListenerProbe {
+
+        static final List<String> bodies = new CopyOnWriteArrayList<>();
+
+        @Bean
+        @Order(SecurityProperties.DEFAULT_FILTER_ORDER + 2)
+        Filter locationAndBodyProbe() {
+            return (request, response, chain) -> {
+                HttpServletRequest http = (HttpServletRequest) request;
+                if ("key-headers".equals(http.getHeader(IdempotencyFilter.HEADER))) {
+                    ((HttpServletResponse) response).setHeader(HttpHeaders.LOCATION, "/api/customers/1");
+                }
+                if ("key-listener".equals(http.getHeader(IdempotencyFilter.HEADER))) {
+                    ServletInputStream in = request.getInputStream();
+                    ByteArrayOutputStream read = new ByteArrayOutputStream();
+                    in.setReadListener(new ReadListener() {
+                        @Override
+                        public void onDataAvailable() throws IOException {
+                            while (in.isReady() && !in.isFinished()) {
+                                read.write(in.read());
+                            }
+                        }
+
+                        @Override
+                        public void onAllDataRead() {
+                            bodies.add(read.toString(StandardCharsets.UTF_8));
+                        }
+
+                        @Override
+                        public void onError(Throwable t) {
+                            bodies.add("error: " + t);
+                        }
+                    });
+                }
+                chain.doFilter(request, response);
+            };
+        }
+    }
+
+    private ResultActions create(String key, String body) throws Exception {
+        return mockMvc.perform(post("/api/customers")
+                .header("Authorization", "Bearer " + token)
+                .header(IdempotencyFilter.HEADER, key)
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_JSON)
+                .content(body));
+    }
+
+    private static CustomerResponseDTO created(Long id) {
+        return new CustomerResponseDTO(id, "C8001", "Retry Customer", "retry@example.com", null, null, "ACTIVE",
+                LocalDateTime.now());
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.secure_customer_api.observability;
+
+import com.example.secure_customer_api.config.AsyncConfig;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.TaskDecorator;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SqlStatementCounterTest {
+
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newFixedThreadPool(4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void propagatedTasksCountTowardTheCallersScope() throws Exception {
+        try (SqlStatementCounter.Capture capture = SqlStatementCounter.capture()) {
+            for (int i = 0; i < 100; i++) {
+                executor.execute(SqlStatementCounter.propagate(SqlStatementCounterTest::recordStatement));
+            }
+            // Without propagation the task runs outside any scope
+            executor.execute(SqlStatementCounterTest::recordStatement);
+            executor.shutdown();
+            assertThat(executor.awaitTermination(5, TimeUnit.SECONDS)).isTrue();
+
+            assertThat(capture.statements()).isEqualTo(100);
+            assertThat(capture.stats().getMaxRepetitions()).isEqualTo(100);
+        }
+    }
+
+    @Test
+    void applicationTaskDecoratorCarriesTheScope() throws Exception {
+        TaskDecorator decorator = new AsyncConfig().securityContextTaskDecorator();
+        try (SqlStatementCounter.Capture capture = SqlStatementCounter.capture()) {
+            executor.submit(decorator.decorate(SqlStatementCounterTest::recordStatement)).get(5, TimeUnit.SECONDS);
+
+            assertThat(capture.statements()).isEqualTo(1);
+        }
+    }
+
+    @Test
+    void workerThreadsAreLeftWithoutAScope() throws Exception {
+        ExecutorService worker = Executors.newSingleThreadExecutor();
+        try {
+            try (SqlStatementCounter.Capture capture = SqlStatementCounter.capture()) {
+                worker.submit(SqlStatementCounter.propagate(SqlStatementCounterTest::recordStatement))
+                        .get(5, TimeUnit.SECONDS);
+            }
+            assertThat(worker.submit(SqlStatementCounter::current).get(5, TimeUnit.SECONDS)).isNull();
+        } finally {
+            worker.shutdownNow();
+        }
+    }
+
+    private static void recordStatement() {
+        SqlStatementStats stats = SqlStatementCounter.current();
+        if (stats != null) {
+            stats.recordStatement("SELECT 1", 1, 0);
+        }
+    }
+}
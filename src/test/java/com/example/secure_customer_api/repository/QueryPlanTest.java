@@ -0,0 +1,174 @@
+package com.example.secure_customer_api.repository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the Flyway migrations on H2 in MySQL mode, seeds it and checks that the
+ * SQL behind each repository query is planned on the intended index rather
+ * than a table scan. Drop or rename an index and this fails.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:query-plans;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class QueryPlanTest {
+
+    private static final int CUSTOMERS = 2000;
+    private static final int USERS = 500;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void seed() {
+        LocalDateTime base = LocalDateTime.now().minusDays(400);
+
+        List<Object[]> customers = new ArrayList<>();
+        for (int i = 0; i < CUSTOMERS; i++) {
+            Timestamp created = Timestamp.valueOf(base.plusHours(i * 4L));
+            customers.add(new Object[] {"C" + i, "Customer " + i, "customer" + i + "@example.com",
+                    i % 10 == 0 ? "INACTIVE" : "ACTIVE", created, created});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO customers (customer_code, full_name, email, status, created_at, updated_at) "
+                + "VALUES (?, ?, ?, ?, ?, ?)", customers);
+
+        List<Object[]> users = new ArrayList<>();
+        for (int i = 0; i < USERS; i++) {
+            users.add(new Object[] {"user" + i, "user" + i + "@example.com", "hash", "User " + i, "USER", true,
+                    i % 50 == 0 ? "reset-" + i : null, Timestamp.valueOf(base.plusDays(i % 400))});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO users (username, email, password, full_name, role, is_active, reset_token, "
+                + "created_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?)", users);
+
+        jdbcTemplate.update("INSERT INTO refresh_tokens (user_id, token, expiry_date) "
+                + "SELECT id, CONCAT('token-', id), DATEADD('DAY', MOD(id, 14) - 7, CURRENT_TIMESTAMP) FROM users");
+        jdbcTemplate.update("INSERT INTO customer_outbox (customer_id, change_type, payload, created_at) "
+                + "SELECT id, 'CREATED', '{}', created_at FROM customers");
+        jdbcTemplate.update("INSERT INTO idempotency_keys (id, request_hash, state, response_status, created_at, expires_at) "
+                + "SELECT LPAD(id, 64, '0'), LPAD(id, 64, '0'), 'COMPLETED', 201, created_at, "
+                + "DATEADD('DAY', 1, created_at) FROM customers");
+    }
+
+    // ==================== CustomerRepository ====================
+
+    @Test
+    void findByStatusUsesStatusIndex() {
+        assertUsesIndex(plan("SELECT * FROM customers WHERE status = ?", "INACTIVE"),
+                "idx_customers_status_created_at");
+    }
+
+    @Test
+    void countCreatedPerDaySinceUsesCreatedAtIndex() {
+        assertUsesIndex(plan("SELECT CAST(created_at AS DATE), COUNT(*) FROM customers WHERE created_at >= ? "
+                        + "GROUP BY CAST(created_at AS DATE)", Timestamp.valueOf(LocalDateTime.now().minusDays(30))),
+                "idx_customers_created_at");
+    }
+
+    @Test
+    void pagesSortedByUpdatedAtReadTheIndexInOrder() {
+        // H2 only reports index order for ascending sorts; MySQL also scans it backwards for DESC
+        String plan = plan("SELECT * FROM customers ORDER BY updated_at LIMIT 20");
+        assertUsesIndex(plan, "idx_customers_updated_at");
+        assertThat(plan).contains("index sorted");
+    }
+
+    @Test
+    void lookupsByCodeAndEmailUseUniqueConstraints() {
+        assertUsesIndex(plan("SELECT * FROM customers WHERE customer_code = ?", "C42"), "uk_customers_customer_code");
+        assertUsesIndex(plan("SELECT * FROM customers WHERE email = ?", "customer42@example.com"), "uk_customers_email");
+    }
+
+    // ==================== UserRepository ====================
+
+    @Test
+    void findByResetTokenUsesIndex() {
+        assertUsesIndex(plan("SELECT * FROM users WHERE reset_token = ?", "reset-50"), "idx_users_reset_token");
+    }
+
+    @Test
+    void lookupsByUsernameAndEmailUseUniqueConstraints() {
+        assertUsesIndex(plan("SELECT * FROM users WHERE username = ?", "user7"), "uk_users_username");
+        assertUsesIndex(plan("SELECT * FROM users WHERE email = ?", "user7@example.com"), "uk_users_email");
+    }
+
+    @Test
+    void userPagesSortedByCreatedAtReadTheIndexInOrder() {
+        String plan = plan("SELECT id, username FROM users WHERE created_at >= ? ORDER BY created_at, id LIMIT 50",
+                Timestamp.valueOf(LocalDateTime.now().minusDays(10)));
+        assertUsesIndex(plan, "idx_users_created_at");
+    }
+
+    @Test
+    void userRoleFilterUsesRoleIndex() {
+        assertUsesIndex(plan("SELECT id, username FROM users WHERE role = ? ORDER BY created_at LIMIT 50", "ADMIN"),
+                "idx_users_role_created_at");
+    }
+
+    @Test
+    void userKeywordPrefixUsesUniqueConstraint() {
+        assertUsesIndex(plan("SELECT id, username FROM users WHERE username LIKE 'user4%'"), "uk_users_username");
+    }
+
+    // ==================== RefreshTokenRepository ====================
+
+    @Test
+    void findByTokenUsesUniqueConstraint() {
+        assertUsesIndex(plan("SELECT * FROM refresh_tokens WHERE token = ?", "token-1"), "uk_refresh_tokens_token");
+    }
+
+    @Test
+    void findByUserDoesNotScan() {
+        assertThat(plan("SELECT * FROM refresh_tokens WHERE user_id = ?", 1L)).doesNotContain("tablescan");
+    }
+
+    @Test
+    void deleteExpiredUsesExpiryIndex() {
+        assertUsesIndex(plan("DELETE FROM refresh_tokens WHERE expiry_date < ?", Timestamp.valueOf(LocalDateTime.now())),
+                "idx_refresh_tokens_expiry_date");
+    }
+
+    // ==================== CustomerChangeEventRepository ====================
+
+    @Test
+    void outboxPruneUsesCreatedAtIndex() {
+        assertUsesIndex(plan("DELETE FROM customer_outbox WHERE created_at < ?",
+                Timestamp.valueOf(LocalDateTime.now().minusDays(300))), "idx_customer_outbox_created_at");
+    }
+
+    @Test
+    void outboxPollingUsesPrimaryKeyRange() {
+        assertThat(plan("SELECT * FROM customer_outbox WHERE id > ? ORDER BY id LIMIT 500", 100L))
+                .contains("primary_key")
+                .doesNotContain("tablescan");
+    }
+
+    // ==================== IdempotencyKeyRepository ====================
+
+    @Test
+    void idempotencyKeyExpiryUsesExpiresAtIndex() {
+        assertUsesIndex(plan("DELETE FROM idempotency_keys WHERE expires_at < ?",
+                Timestamp.valueOf(LocalDateTime.now().minusDays(300))), "idx_idempotency_keys_expires_at");
+    }
+
+    private String plan(String sql, Object... args) {
+        return jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class, args).toLowerCase(Locale.ROOT);
+    }
+
+    private static void assertUsesIndex(String plan, String index) {
+        assertThat(plan).contains(index).doesNotContain("tablescan");
+    }
+}
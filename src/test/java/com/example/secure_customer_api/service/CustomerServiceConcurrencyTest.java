@@ -0,0 +1,105 @@
+package com.example.secure_customer_api.service;
+
+import com.example.secure_customer_api.dto.CustomerRequestDTO;
+import com.example.secure_customer_api.exception.DuplicateResourceException;
+import com.example.secure_customer_api.repository.CustomerRepository;
+import com.example.secure_customer_api.repository.JpaCustomerStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.IntFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Schema from the entity mappings; the Flyway migrations are exercised by QueryPlanTest
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.flyway.enabled=false"})
+@Import({CustomerServiceImpl.class, JpaCustomerStore.class, CustomerStatsService.class,
+        CustomerOutboxService.class, CustomerChangeStreamService.class, SimpleMeterRegistry.class})
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class CustomerServiceConcurrencyTest {
+
+    private static final int THREADS = 8;
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @AfterEach
+    void cleanUp() {
+        customerRepository.deleteAll();
+    }
+
+    @Test
+    void parallelCreatesWithSameCustomerCodeInsertOnce() throws Exception {
+        int conflicts = runConcurrently(n -> request("C001", "user" + n + "@example.com"), "Customer code");
+
+        assertThat(conflicts).isEqualTo(THREADS - 1);
+        assertThat(customerRepository.count()).isEqualTo(1);
+    }
+
+    @Test
+    void parallelCreatesWithSameEmailInsertOnce() throws Exception {
+        int conflicts = runConcurrently(n -> request("C10" + n, "shared@example.com"), "Email");
+
+        assertThat(conflicts).isEqualTo(THREADS - 1);
+        assertThat(customerRepository.count()).isEqualTo(1);
+    }
+
+    // Fires all creates at once and returns how many were rejected as duplicates
+    private int runConcurrently(IntFunction<CustomerRequestDTO> requests, String expectedField) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            CustomerRequestDTO dto = requests.apply(i);
+            futures.add(pool.submit(() -> {
+                start.await();
+                return customerService.createCustomer(dto);
+            }));
+        }
+        start.countDown();
+
+        int conflicts = 0;
+        try {
+            for (Future<?> future : futures) {
+                try {
+                    future.get();
+                } catch (ExecutionException ex) {
+                    // Anything other than a 409-mapped exception would surface as a 500
+                    assertThat(ex.getCause())
+                            .isInstanceOf(DuplicateResourceException.class)
+                            .hasMessageStartingWith(expectedField);
+                    conflicts++;
+                }
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        return conflicts;
+    }
+
+    private CustomerRequestDTO request(String customerCode, String email) {
+        return new CustomerRequestDTO(customerCode, "Test Customer", email, null, null);
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.secure_customer_api.service;
+
+import com.example.secure_customer_api.dto.CustomerUpdateDTO;
+import com.example.secure_customer_api.entity.Customer;
+import com.example.secure_customer_api.entity.CustomerChangeType;
+import com.example.secure_customer_api.repository.CustomerChangeEventRepository;
+import com.example.secure_customer_api.repository.CustomerStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * The store write comes after the outbox append, so a sharded store (whose
+ * shard write commits on its own) fails before anything else would need
+ * undoing, and its exception rolls the outbox event back.
+ */
+class CustomerServiceWriteOrderTest {
+
+    private CustomerStore store;
+    private CustomerOutboxService outbox;
+    private CustomerStatsService stats;
+    private CustomerServiceImpl service;
+    private Customer customer;
+
+    @BeforeEach
+    void setUp() {
+        store = mock(CustomerStore.class);
+        outbox = mock(CustomerOutboxService.class);
+        stats = mock(CustomerStatsService.class);
+        service = new CustomerServiceImpl(store, stats, outbox, mock(CustomerChangeEventRepository.class),
+                mock(CustomerChangeStreamService.class), new SimpleMeterRegistry());
+
+        customer = new Customer("C001", "Test Customer", "c001@example.com", null, null);
+        customer.setId(1L);
+        when(store.findById(1L)).thenReturn(Optional.of(customer));
+    }
+
+    @Test
+    void updateAppendsTheEventBeforeWritingTheStore() {
+        CustomerUpdateDTO update = new CustomerUpdateDTO();
+        update.setFullName("Renamed");
+
+        service.partialUpdateCustomer(1L, update);
+
+        InOrder order = inOrder(outbox, store);
+        order.verify(outbox).append(eq(CustomerChangeType.UPDATED), any());
+        order.verify(store).update(customer);
+    }
+
+    @Test
+    void deleteAppendsTheEventBeforeWritingTheStore() {
+        service.deleteCustomer(1L);
+
+        InOrder order = inOrder(outbox, store, stats);
+        order.verify(outbox).appendDeleted(1L);
+        order.verify(store).delete(customer);
+        order.verify(stats).recordDeleted(customer.getStatus(), customer.getCreatedAt());
+    }
+
+    @Test
+    void failedStoreDeleteLeavesTheStatsAlone() {
+        doThrow(new IllegalStateException("shard unavailable")).when(store).delete(customer);
+
+        assertThatThrownBy(() -> service.deleteCustomer(1L)).isInstanceOf(IllegalStateException.class);
+
+        verify(stats, never()).recordDeleted(any(), any());
+    }
+}
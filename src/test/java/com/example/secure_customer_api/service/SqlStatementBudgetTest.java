@@ -0,0 +1,281 @@
+package com.example.secure_customer_api.service;
+
+import com.example.secure_customer_api.dto.BulkUserResultDTO;
+import com.example.secure_customer_api.dto.CustomerRequestDTO;
+import com.example.secure_customer_api.dto.CustomerResponseDTO;
+import com.example.secure_customer_api.dto.RegisterRequestDTO;
+import com.example.secure_customer_api.dto.ResetPasswordDTO;
+import com.example.secure_customer_api.dto.UserFilterDTO;
+import com.example.secure_customer_api.dto.UserPageDTO;
+import com.example.secure_customer_api.dto.UserResponseDTO;
+import com.example.secure_customer_api.entity.User;
+import com.example.secure_customer_api.observability.SqlStatementCounter;
+import com.example.secure_customer_api.observability.SqlStatementCountingConfig;
+import com.example.secure_customer_api.repository.CustomerRepository;
+import com.example.secure_customer_api.repository.JpaCustomerStore;
+import com.example.secure_customer_api.repository.RefreshTokenRepository;
+import com.example.secure_customer_api.repository.UserRepository;
+import com.example.secure_customer_api.security.JwtTokenProvider;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Statement budgets for the service paths behind the busiest endpoints.
+ * A change that adds a query (or turns a lookup into a scan) fails here
+ * instead of showing up as latency in production.
+ */
+// Schema from the entity mappings; the Flyway migrations are exercised by QueryPlanTest
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.flyway.enabled=false"})
+@Import({SqlStatementCountingConfig.class, CustomerServiceImpl.class, JpaCustomerStore.class,
+        CustomerStatsService.class, CustomerOutboxService.class, CustomerChangeStreamService.class, UserServiceImpl.class,
+        RefreshTokenService.class, RegistrationAvailabilityFilter.class, BCryptPasswordEncoder.class,
+        SimpleMeterRegistry.class})
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class SqlStatementBudgetTest {
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+
+    @Autowired
+    private RegistrationAvailabilityFilter availabilityFilter;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @MockitoBean
+    private AuthenticationManager authenticationManager;
+
+    @MockitoBean
+    private JwtTokenProvider tokenProvider;
+
+    @BeforeEach
+    void setUp() {
+        availabilityFilter.rebuild();
+    }
+
+    @AfterEach
+    void cleanUp() {
+        customerRepository.deleteAll();
+        refreshTokenRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void createCustomerInsertsRowAndOutboxEvent() {
+        try (SqlStatementCounter.Capture sql = SqlStatementCounter.capture()) {
+            customerService.createCustomer(customer("C001"));
+
+            assertThat(sql.statements()).isLessThanOrEqualTo(2);
+        }
+    }
+
+    @Test
+    void getCustomerByIdIsOneSelect() {
+        CustomerResponseDTO created = customerService.createCustomer(customer("C001"));
+
+        try (SqlStatementCounter.Capture sql = SqlStatementCounter.capture()) {
+            customerService.getCustomerById(created.getId());
+
+            assertThat(sql.statements()).isEqualTo(1);
+            assertThat(sql.rows()).isEqualTo(1);
+        }
+    }
+
+    @Test
+    void deleteCustomerDoesNotReloadTheRow() {
+        CustomerResponseDTO created = customerService.createCustomer(customer("C001"));
+
+        try (SqlStatementCounter.Capture sql = SqlStatementCounter.capture()) {
+            customerService.deleteCustomer(created.getId());
+
+            // select, delete, outbox insert
+            assertThat(sql.statements()).isLessThanOrEqualTo(3);
+        }
+    }
+
+    @Test
+    void customerPageDoesNotLoadRowsOneByOne() {
+        for (int i = 0; i < 5; i++) {
+            customerService.createCustomer(customer("C00" + i));
+        }
+
+        try (SqlStatementCounter.Capture sql = SqlStatementCounter.capture()) {
+            customerService.getAllCustomers(PageRequest.of(0, 3));
+
+            // page select + count
+            assertThat(sql.statements()).isLessThanOrEqualTo(2);
+        }
+    }
+
+    @Test
+    void sparseFieldsSelectOnlyRequestedColumns() {
+        CustomerResponseDTO created = customerService.createCustomer(customer("C001"));
+
+        try (SqlStatementCounter.Capture sql = SqlStatementCounter.capture()) {
+            Map<String, Object> row = customerService.getCustomerById(created.getId(),
+                    CustomerFields.parse("status,id,fullName"));
+
+            assertThat(row).containsOnlyKeys("id", "fullName", "status");
+            assertThat(List.copyOf(row.keySet())).containsExactly("id", "fullName", "status");
+            assertThat(row.get("status")).isEqualTo("ACTIVE");
+            assertThat(sql.statements()).isEqualTo(1);
+            assertThat(sql.stats().getMostRepeatedSql()).doesNotContain("address");
+        }
+    }
+
+    @Test
+    void registerSkipsExistenceQueriesForFreeNames() {
+        try (SqlStatementCounter.Capture sql = SqlStatementCounter.capture()) {
+            userService.register(new RegisterRequestDTO("alice", "alice@example.com", "password123", "Alice"));
+
+            assertThat(sql.statements()).isEqualTo(1);
+        }
+    }
+
+    @Test
+    void getCurrentUserIsOneSelect() {
+        userService.register(new RegisterRequestDTO("alice", "alice@example.com", "password123", "Alice"));
+
+        try (SqlStatementCounter.Capture sql = SqlStatementCounter.capture()) {
+            userService.getCurrentUser("alice");
+
+            assertThat(sql.statements()).isEqualTo(1);
+        }
+    }
+
+    @Test
+    void resetPasswordLooksUpTokenInsteadOfScanningUsers() {
+        for (String name : new String[] {"alice", "bob", "carol"}) {
+            userService.register(new RegisterRequestDTO(name, name + "@example.com", "password123", name));
+        }
+        User bob = userRepository.findByUsername("bob").orElseThrow();
+        bob.setResetToken("reset-token");
+        bob.setResetTokenExpiry(LocalDateTime.now().plusHours(1));
+        userRepository.save(bob);
+
+        try (SqlStatementCounter.Capture sql = SqlStatementCounter.capture()) {
+            userService.resetPassword(new ResetPasswordDTO("reset-token", "newPassword1", "newPassword1"));
+
+            // select by token + update
+            assertThat(sql.statements()).isLessThanOrEqualTo(2);
+            assertThat(sql.rows()).isEqualTo(1);
+        }
+    }
+
+    @Test
+    void userKeysetPageIsOneSelectWithoutSecrets() {
+        for (String name : new String[] {"alice", "bob", "carol"}) {
+            userService.register(new RegisterRequestDTO(name, name + "@example.com", "password123", name));
+        }
+
+        UserPageDTO first;
+        try (SqlStatementCounter.Capture sql = SqlStatementCounter.capture()) {
+            first = userService.listUsers(new UserFilterDTO(), "username", "asc", null, null, 2);
+
+            // no COUNT for keyset pages, and never the password hash or reset token
+            assertThat(sql.statements()).isEqualTo(1);
+            assertThat(sql.stats().getMostRepeatedSql()).doesNotContain("password").doesNotContain("reset_token");
+        }
+        assertThat(first.getUsers()).extracting(UserResponseDTO::getUsername).containsExactly("alice", "bob");
+        assertThat(first.getNextCursor()).isNotNull();
+
+        UserPageDTO second = userService.listUsers(new UserFilterDTO(), "username", "asc", first.getNextCursor(), null, 2);
+        assertThat(second.getUsers()).extracting(UserResponseDTO::getUsername).containsExactly("carol");
+        assertThat(second.getNextCursor()).isNull();
+    }
+
+    @Test
+    void userCursorPagesPastNullCreatedAt() {
+        for (String name : new String[] {"alice", "bob", "carol", "dave"}) {
+            userService.register(new RegisterRequestDTO(name, name + "@example.com", "password123", name));
+        }
+        // Rows from before created_at was populated
+        jdbcTemplate.update("UPDATE users SET created_at = NULL WHERE username IN ('bob', 'carol')");
+
+        for (String direction : new String[] {"asc", "desc"}) {
+            List<String> seen = new ArrayList<>();
+            String cursor = null;
+            do {
+                UserPageDTO page = userService.listUsers(new UserFilterDTO(), "createdAt", direction, cursor, null, 1);
+                page.getUsers().forEach(user -> seen.add(user.getUsername()));
+                cursor = page.getNextCursor();
+            } while (cursor != null);
+
+            assertThat(seen).as(direction).containsExactlyInAnyOrder("alice", "bob", "carol", "dave");
+        }
+    }
+
+    @Test
+    void bulkDeactivationIsSetBasedAndIdempotent() {
+        for (int i = 0; i < 5; i++) {
+            userService.register(new RegisterRequestDTO("user" + i, "user" + i + "@example.com", "password123", "User"));
+        }
+        List<Long> ids = new ArrayList<>(userRepository.findAll().stream().map(User::getId).toList());
+        ids.add(-1L);
+        userService.register(new RegisterRequestDTO("keeper", "keeper@example.com", "password123", "Keeper"));
+        userRepository.findAll().forEach(refreshTokenService::createRefreshToken);
+        User keeper = userRepository.findByUsername("keeper").orElseThrow();
+
+        try (SqlStatementCounter.Capture sql = SqlStatementCounter.capture()) {
+            BulkUserResultDTO result = userService.setUsersActive(ids, null, false);
+
+            assertThat(result.getUpdated()).hasSize(5);
+            assertThat(result.getNotFound()).containsExactly(-1L);
+            // select for update, one UPDATE and one refresh token DELETE, not per user
+            assertThat(sql.statements()).isLessThanOrEqualTo(3);
+        }
+        assertThat(userRepository.findAllById(ids)).noneMatch(User::getIsActive);
+        // Deactivated users cannot refresh their sessions; other users keep theirs
+        assertThat(refreshTokenRepository.findAll()).singleElement()
+                .satisfies(token -> assertThat(token.getUser().getId()).isEqualTo(keeper.getId()));
+
+        // Repeating the request changes nothing
+        BulkUserResultDTO again = userService.setUsersActive(ids, null, false);
+        assertThat(again.getUpdated()).isEmpty();
+        assertThat(again.getUnchanged()).hasSize(5);
+    }
+
+    private CustomerRequestDTO customer(String code) {
+        return new CustomerRequestDTO(code, "Test Customer", code.toLowerCase() + "@example.com", null, null);
+    }
+}
@@ -0,0 +1,213 @@
+package com.example.secure_customer_api.sharding;
+
+import com.example.secure_customer_api.entity.Customer;
+import com.example.secure_customer_api.entity.CustomerStatus;
+import com.example.secure_customer_api.exception.DuplicateResourceException;
+import com.example.secure_customer_api.observability.SqlStatementCounter;
+import com.example.secure_customer_api.observability.SqlStatementCountingPostProcessor;
+import io.micrometer.observation.ObservationRegistry;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Three embedded H2 shards plus an H2 primary holding customer_emails, each
+ * migrated by Flyway like the real databases.
+ */
+class ShardedCustomerStoreTest {
+
+    private static final int SHARDS = 3;
+
+    private CustomerShards shards;
+    private ShardedCustomerStore store;
+
+    @BeforeEach
+    void setUp() {
+        String run = UUID.randomUUID().toString();
+        DriverManagerDataSource primary = new DriverManagerDataSource(url("primary-" + run), "sa", "");
+        Flyway.configure().dataSource(primary).load().migrate();
+
+        List<String> urls = new ArrayList<>();
+        for (int i = 0; i < SHARDS; i++) {
+            urls.add(url("shard" + i + "-" + run));
+        }
+        SqlStatementCountingPostProcessor counting =
+                new SqlStatementCountingPostProcessor(Duration.ofMillis(200), () -> ObservationRegistry.NOOP);
+        shards = new CustomerShards(urls, "sa", "", 2, 4, (name, dataSource) -> counting.wrap(dataSource, name));
+        store = new ShardedCustomerStore(shards, new JdbcTemplate(primary));
+    }
+
+    @AfterEach
+    void tearDown() {
+        shards.close();
+    }
+
+    @Test
+    void pointReadsAndWritesStayOnTheCodesShard() {
+        CustomerShardRouter router = new CustomerShardRouter(SHARDS);
+        Set<Integer> used = new HashSet<>();
+        for (int i = 0; i < 30; i++) {
+            Customer saved = store.insert(customer("C" + i));
+            int shard = router.shardFor(saved.getCustomerCode());
+            used.add(shard);
+
+            assertThat(router.shardOf(saved.getId())).isEqualTo(shard);
+            assertThat(shards.jdbc(shard).getJdbcTemplate().queryForObject(
+                    "SELECT COUNT(*) FROM customers WHERE customer_code = ?", Integer.class, saved.getCustomerCode()))
+                    .isEqualTo(1);
+        }
+        assertThat(used).hasSize(SHARDS);
+
+        Customer found = store.findById(store.insert(customer("X1")).getId()).orElseThrow();
+        found.setFullName("Renamed");
+        store.update(found);
+        assertThat(store.findById(found.getId())).get().extracting(Customer::getFullName).isEqualTo("Renamed");
+
+        store.delete(found);
+        assertThat(store.findById(found.getId())).isEmpty();
+        assertThat(store.findById(0L)).isEmpty();
+    }
+
+    @Test
+    void emailIsUniqueAcrossShards() {
+        CustomerShardRouter router = new CustomerShardRouter(SHARDS);
+        Customer first = store.insert(customer("C1"));
+        // A code on another shard, so only the global directory can catch the clash
+        String otherCode = "C2";
+        for (int i = 3; router.shardFor(otherCode) == router.shardFor("C1"); i++) {
+            otherCode = "C" + i;
+        }
+        Customer clash = customer(otherCode);
+        clash.setEmail(first.getEmail());
+
+        assertThatThrownBy(() -> store.insert(clash)).isInstanceOf(DuplicateResourceException.class);
+        assertThat(store.existsByEmail(first.getEmail())).isTrue();
+
+        // Deleting frees the email; a duplicate code still fails on its shard and releases its reservation
+        store.delete(first);
+        assertThat(store.existsByEmail(first.getEmail())).isFalse();
+        store.insert(clash);
+        Customer sameCode = customer(otherCode);
+        assertThatThrownBy(() -> store.insert(sameCode)).isInstanceOf(DuplicateKeyException.class);
+        assertThat(store.existsByEmail(sameCode.getEmail())).isFalse();
+    }
+
+    @Test
+    void emailChangeMovesTheReservation() {
+        Customer customer = store.insert(customer("C1"));
+        Customer other = store.insert(customer("C2"));
+        String previous = customer.getEmail();
+
+        customer.setEmail("changed@example.com");
+        store.update(customer);
+        assertThat(store.existsByEmail(previous)).isFalse();
+        assertThat(store.existsByEmail("changed@example.com")).isTrue();
+
+        other.setEmail("changed@example.com");
+        assertThatThrownBy(() -> store.update(other)).isInstanceOf(DuplicateResourceException.class);
+    }
+
+    @Test
+    void failedShardUpdateLeavesTheEmailDirectoryAsItWas() {
+        Customer customer = store.insert(customer("C1"));
+        String previous = customer.getEmail();
+
+        customer.setEmail("changed@example.com");
+        // Too long for the shard's full_name column, so the shard write (done last) fails
+        customer.setFullName("x".repeat(200));
+        assertThatThrownBy(() -> store.update(customer)).isInstanceOf(DataAccessException.class);
+
+        assertThat(store.existsByEmail(previous)).isTrue();
+        assertThat(store.existsByEmail("changed@example.com")).isFalse();
+        assertThat(store.findById(customer.getId())).get().extracting(Customer::getEmail).isEqualTo(previous);
+    }
+
+    @Test
+    void pagesAreMergedAcrossShardsInSortOrder() {
+        for (int i = 0; i < 25; i++) {
+            store.insert(customer(String.format("C%02d", i)));
+        }
+
+        Page<Customer> page = store.findAll(PageRequest.of(1, 10, Sort.by(Sort.Direction.DESC, "customerCode")));
+
+        assertThat(page.getTotalElements()).isEqualTo(25);
+        assertThat(page.getTotalPages()).isEqualTo(3);
+        assertThat(page.getContent()).extracting(Customer::getCustomerCode)
+                .containsExactly("C14", "C13", "C12", "C11", "C10", "C09", "C08", "C07", "C06", "C05");
+    }
+
+    @Test
+    void filtersAndAggregatesGatherEveryShard() {
+        for (int i = 0; i < 12; i++) {
+            Customer customer = customer("C" + i);
+            customer.setStatus(i % 3 == 0 ? CustomerStatus.INACTIVE : CustomerStatus.ACTIVE);
+            store.insert(customer);
+        }
+
+        List<Customer> inactive = store.findByStatus(CustomerStatus.INACTIVE);
+        assertThat(inactive).extracting(Customer::getCustomerCode)
+                .containsExactlyInAnyOrder("C0", "C3", "C6", "C9");
+        assertThat(inactive).extracting(Customer::getId).isSorted();
+
+        assertThat(store.searchCustomers("c1")).extracting(Customer::getCustomerCode)
+                .containsExactlyInAnyOrder("C1", "C10", "C11");
+
+        Map<Object, Object> byStatus = store.countByStatus().stream()
+                .collect(Collectors.toMap(row -> row[0], row -> row[1]));
+        assertThat(byStatus).containsEntry(CustomerStatus.ACTIVE, 8L).containsEntry(CustomerStatus.INACTIVE, 4L);
+
+        List<Long> ids = inactive.stream().map(Customer::getId).toList();
+        assertThat(store.findAllById(ids)).hasSize(4);
+    }
+
+    @Test
+    void shardQueriesCountTowardTheCallersScope() {
+        for (int i = 0; i < 12; i++) {
+            Customer customer = customer("C" + i);
+            customer.setStatus(i % 3 == 0 ? CustomerStatus.INACTIVE : CustomerStatus.ACTIVE);
+            store.insert(customer);
+        }
+
+        // One statement per shard, run on the shard query threads
+        try (SqlStatementCounter.Capture capture = SqlStatementCounter.capture()) {
+            assertThat(store.findByStatus(CustomerStatus.INACTIVE)).hasSize(4);
+            assertThat(capture.statements()).isEqualTo(SHARDS);
+            assertThat(capture.rows()).isEqualTo(4);
+        }
+
+        // Point reads stay on the calling thread but also go through the proxy
+        Long id = store.findByStatus(CustomerStatus.ACTIVE).get(0).getId();
+        try (SqlStatementCounter.Capture capture = SqlStatementCounter.capture()) {
+            store.findById(id);
+            assertThat(capture.statements()).isEqualTo(1);
+        }
+    }
+
+    private static String url(String name) {
+        return "jdbc:h2:mem:" + name + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+    }
+
+    private static Customer customer(String code) {
+        return new Customer(code, "Customer " + code, code.toLowerCase() + "@example.com", null, null);
+    }
+}